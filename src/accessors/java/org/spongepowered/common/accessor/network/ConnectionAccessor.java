@@ -30,6 +30,7 @@
 import org.spongepowered.asm.mixin.gen.Accessor;
 
 import java.net.SocketAddress;
+import java.util.Queue;
 
 @Mixin(Connection.class)
 public interface ConnectionAccessor {
@@ -38,4 +39,10 @@ public interface ConnectionAccessor {
 
     @Accessor("address") void accessor$address(final SocketAddress address);
 
+    @Accessor("queue") Queue<Connection_PacketHolderAccessor> accessor$queue();
+
+    @Accessor("sentPackets") int accessor$sentPackets();
+
+    @Accessor("sentPackets") void accessor$sentPackets(final int sentPackets);
+
 }
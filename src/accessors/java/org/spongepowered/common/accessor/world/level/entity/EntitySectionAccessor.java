@@ -22,26 +22,16 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.accessor.world.phys;
+package org.spongepowered.common.accessor.world.level.entity;
 
-import net.minecraft.world.phys.AABB;
+import net.minecraft.util.ClassInstanceMultiMap;
+import net.minecraft.world.level.entity.EntitySection;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.Mutable;
 import org.spongepowered.asm.mixin.gen.Accessor;
 
-@Mixin(AABB.class)
-public interface AABBAccessor {
+@Mixin(EntitySection.class)
+public interface EntitySectionAccessor<T> {
 
-    @Accessor("minX") @Mutable void accessor$setMinX(double minX);
-
-    @Accessor("minY") @Mutable void accessor$setMinY(double minY);
-
-    @Accessor("minZ") @Mutable void accessor$setMinZ(double minZ);
-
-    @Accessor("maxX") @Mutable void accessor$setMaxX(double maxX);
-
-    @Accessor("maxY") @Mutable void accessor$setMaxY(double maxY);
-
-    @Accessor("maxZ") @Mutable void accessor$setMaxZ(double maxZ);
+    @Accessor("storage") ClassInstanceMultiMap<T> accessor$storage();
 
 }
@@ -25,6 +25,7 @@
 package org.spongepowered.common.accessor.world.level.entity;
 
 import net.minecraft.world.level.entity.EntityAccess;
+import net.minecraft.world.level.entity.EntityPersistentStorage;
 import net.minecraft.world.level.entity.EntitySectionStorage;
 import net.minecraft.world.level.entity.PersistentEntitySectionManager;
 import org.spongepowered.asm.mixin.Mixin;
@@ -35,4 +36,6 @@
 
     @Accessor("sectionStorage") EntitySectionStorage<T> accessor$sectionStorage();
 
+    @Accessor("permanentStorage") EntityPersistentStorage<T> accessor$permanentStorage();
+
 }
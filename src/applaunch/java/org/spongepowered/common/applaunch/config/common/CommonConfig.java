@@ -94,6 +94,14 @@ public final class CommonConfig implements Config {
     @Setting
     public final WorldCategory world = new WorldCategory();
 
+    @Setting
+    @Comment("Configuration options related to the scheduling and execution of plugin tasks")
+    public final SchedulerCategory scheduler = new SchedulerCategory();
+
+    @Setting
+    @Comment("Configuration options related to the built-in performance timings")
+    public final TimingsCategory timings = new TimingsCategory();
+
     public static ConfigurationTransformation transformation() {
         return ConfigurationTransformation.versionedBuilder()
                 .addVersion(2, CommonConfig.buildOneToTwo())
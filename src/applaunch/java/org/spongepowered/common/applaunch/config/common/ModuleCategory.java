@@ -39,6 +39,12 @@ public final class ModuleCategory {
     @Setting("entity-activation-range")
     public boolean entityActivationRange = true;
 
+    @Setting("block-entity-activation")
+    @Comment("Throttles block entities that are far away from every player.\n"
+             + "Ranges and tick rates are configured in the 'block-entity-activation'\n"
+             + "section of the global and world configs.")
+    public boolean blockEntityActivation = false;
+
     @Setting
     @Comment("Controls whether any exploit patches are applied.\n"
              + "If there are issues with any specific exploits, please\n"
@@ -66,6 +66,22 @@ public final class OptimizationCategory {
             + "should usually remain enabled.")
     public boolean enableLazyDFU = true;
 
+    @Setting("generated-event-dispatchers")
+    @Comment("If 'true', a dispatcher class is generated for frequently posted events\n"
+            + "which calls each of the event's listeners from its own call site.\n"
+            + "This lets the JVM inline the listeners of hot events, such as entity\n"
+            + "movement, instead of going through a single shared call site.\n"
+            + "Disable this if a plugin misbehaves when its listeners are called this way.")
+    public boolean generatedEventDispatchers = true;
+
+    @Setting("subscription-filtered-player-movement")
+    @Comment("If 'true', a player's movement only posts a move event when it crosses\n"
+            + "a region, block or chunk boundary that a plugin subscribed to. This\n"
+            + "avoids posting an event for nearly every movement packet, but must only\n"
+            + "be enabled if every plugin listening to player movement subscribes to\n"
+            + "the boundaries it cares about.")
+    public boolean subscriptionFilteredPlayerMovement = false;
+
     public OptimizationCategory() {
         // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
         // Because of how early this constructor gets called, we can't use SpongeImplHooks or even Game
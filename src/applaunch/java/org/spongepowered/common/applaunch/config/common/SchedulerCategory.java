@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.applaunch.config.common;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigSerializable
+public final class SchedulerCategory {
+
+    @Setting("task-profiling")
+    @Comment("If 'true', the execution time of every scheduled task is recorded per task\n"
+             + "and per plugin. The results can be viewed with '/sponge scheduler'.\n"
+             + "Profiling can also be toggled at runtime with '/sponge scheduler profiling'.")
+    public boolean taskProfiling = false;
+
+    @Setting("sync-tick-budget")
+    @Comment("The time, in milliseconds, the server scheduler may spend running due tasks\n"
+             + "in a single tick. Once exceeded, the remaining due tasks are deferred to the\n"
+             + "next tick, where they run before newly due tasks. Tasks of exempt plugins\n"
+             + "always run on time. Set to 0 to run all due tasks every tick.")
+    public double syncTickBudget = 0;
+
+    @Setting("sync-tick-budget-exempt-plugins")
+    @Comment("The ids of plugins whose tasks must always run in the tick they are due,\n"
+             + "regardless of 'sync-tick-budget'.")
+    public final List<String> syncTickBudgetExemptPlugins = new ArrayList<>();
+
+    @Setting("async-execution-mode")
+    @Comment("The mode used to execute asynchronous tasks. Supported values:\n"
+             + "  - PLATFORM: Run tasks on a pool of regular platform threads\n"
+             + "  - VIRTUAL: Run each task on its own virtual thread. This suits plugins\n"
+             + "    that block on I/O, but requires Java 21 or newer. Older runtimes\n"
+             + "    fall back to PLATFORM.")
+    public ExecutionMode asyncExecutionMode = ExecutionMode.PLATFORM;
+
+    @Setting("max-carrier-threads")
+    @Comment("The maximum number of carrier threads running virtual threads.\n"
+             + "Only applies if no virtual threads have been started before the scheduler\n"
+             + "and the 'jdk.virtualThreadScheduler.maxPoolSize' property is not set.\n"
+             + "Set to 0 to use the JVM default.")
+    public int maxCarrierThreads = 0;
+
+    @Setting("max-concurrent-tasks-per-plugin")
+    @Comment("The maximum number of asynchronous tasks a single plugin may run at the\n"
+             + "same time. Tasks over this limit are queued until a previous task of\n"
+             + "the plugin completes. Set to 0 to disable the limit.")
+    public int maxConcurrentTasksPerPlugin = 0;
+
+    @Setting("plugin-overrides")
+    @Comment("Per-plugin overrides of the asynchronous execution settings, keyed by plugin id.")
+    public final Map<String, PluginOverride> pluginOverrides = new HashMap<>();
+
+    public ExecutionMode executionMode(final String pluginId) {
+        final @Nullable PluginOverride override = this.pluginOverrides.get(pluginId);
+        if (override == null || override.executionMode == null) {
+            return this.asyncExecutionMode;
+        }
+        return override.executionMode;
+    }
+
+    public int maxConcurrentTasks(final String pluginId) {
+        final @Nullable PluginOverride override = this.pluginOverrides.get(pluginId);
+        if (override == null || override.maxConcurrentTasks < 0) {
+            return this.maxConcurrentTasksPerPlugin;
+        }
+        return override.maxConcurrentTasks;
+    }
+
+    @ConfigSerializable
+    public static final class PluginOverride {
+
+        @Setting("execution-mode")
+        @Comment("The execution mode for this plugin, or unset to use the global mode.")
+        public @Nullable ExecutionMode executionMode;
+
+        @Setting("max-concurrent-tasks")
+        @Comment("The maximum number of concurrent asynchronous tasks for this plugin.\n"
+                 + "Set to 0 to disable the limit, or -1 to use the global limit.")
+        public int maxConcurrentTasks = -1;
+    }
+
+    public enum ExecutionMode {
+        PLATFORM,
+        VIRTUAL
+    }
+}
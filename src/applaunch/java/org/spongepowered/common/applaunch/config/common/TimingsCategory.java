@@ -0,0 +1,56 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.applaunch.config.common;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+
+@ConfigSerializable
+public final class TimingsCategory {
+
+    @Setting("event-listeners")
+    @Comment("If 'true', the call count, execution time and cancellation rate of every\n"
+             + "event listener is recorded. The results can be viewed with '/sponge listeners'.\n"
+             + "Recording can also be toggled at runtime with '/sponge listeners timings'.")
+    public boolean eventListeners = false;
+
+    @Setting("slow-listener-threshold")
+    @Comment("The time, in milliseconds, after which a single call to an event listener\n"
+             + "is logged as slow while listener timings are enabled. Each listener is\n"
+             + "reported at most once every 10 seconds. Set to 0 to disable the log.")
+    public double slowListenerThreshold = 10;
+
+    @Setting("tick-timings")
+    @Comment("If 'true', the time spent ticking each entity, block entity, block and fluid\n"
+             + "type is recorded per world and per namespace, the namespaces being the same\n"
+             + "ones used in 'tracker.conf'. The results can be viewed with '/sponge timings'.\n"
+             + "Recording can also be toggled at runtime with '/sponge timings enable'.")
+    public boolean tickTimings = false;
+
+    @Setting("tick-timings-window")
+    @Comment("The length, in seconds, of the rolling window covered by tick timings reports.")
+    public int tickTimingsWindow = 300;
+}
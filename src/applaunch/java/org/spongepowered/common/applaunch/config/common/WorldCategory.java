@@ -56,6 +56,25 @@ public final class WorldCategory {
                                                      + "Note: If you are using SpongeForge, make sure to enter any mod fake player's UUID to this list.")
     public final List<UUID> invalidLookupUuids = new ArrayList<>();
 
+    @Setting(value = "incremental-apply-tick-budget")
+    @Comment("The time, in milliseconds, an incremental volume stream application may spend\n"
+             + "writing in a single tick. (Default: 10)")
+    public double incrementalApplyTickBudget = 10;
+
+    @Setting(value = "incremental-apply-max-elements-per-tick")
+    @Comment("The maximum number of elements an incremental volume stream application may\n"
+             + "write in a single tick. Set to 0 to only limit by time. (Default: 32768)")
+    public int incrementalApplyMaxElementsPerTick = 32768;
+
+    @Setting(value = "user-data-save-threads")
+    @Comment("The number of threads writing the data of offline users to disk. (Default: 2)")
+    public int userDataSaveThreads = 2;
+
+    @Setting(value = "user-data-save-queue-size")
+    @Comment("The number of offline users that may wait to be written to disk. Once reached,\n"
+             + "further users are written by the server thread itself. (Default: 1024)")
+    public int userDataSaveQueueSize = 1024;
+
     public WorldCategory() {
         this.invalidLookupUuids.add(UUID.fromString("00000000-0000-0000-0000-000000000000"));
         this.invalidLookupUuids.add(UUID.fromString("41c82c87-7afb-4024-ba57-13d2c99cae77")); // Forge FakePlayer
@@ -43,6 +43,7 @@
 import org.spongepowered.api.event.Cause;
 import org.spongepowered.api.event.EventContext;
 import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.applaunch.plugin.DummyPluginContainer;
 import org.spongepowered.common.bridge.server.MinecraftServerBridge;
 import org.spongepowered.common.data.SpongeDataManager;
@@ -54,6 +55,7 @@
 import org.spongepowered.common.event.lifecycle.RegisterFactoryEventImpl;
 import org.spongepowered.common.event.manager.SpongeEventManager;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TickTimings;
 import org.spongepowered.common.launch.Lifecycle;
 import org.spongepowered.common.network.channel.SpongeChannelManager;
 import org.spongepowered.common.profile.SpongeGameProfileManager;
@@ -187,6 +189,8 @@ public void establishServerFeatures() {
 
     @Override
     public void callConstructEvent() {
+        ((SpongeEventManager) this.game.eventManager()).setListenerTimingsEnabled(SpongeConfigs.getCommon().get().timings.eventListeners);
+        TickTimings.setEnabled(SpongeConfigs.getCommon().get().timings.tickTimings);
         for (final PluginContainer plugin : this.filterInternalPlugins(this.game.pluginManager().plugins())) {
             ((SpongeEventManager) this.game.eventManager()).postToPlugin(SpongeEventFactory.createConstructPluginEvent(Cause.of(EventContext.empty(),
                     this.game), this.game, plugin), plugin);
@@ -0,0 +1,210 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.adventure;
+
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.HoverEvent;
+import net.minecraft.network.chat.contents.TranslatableContents;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the per-locale rendering of components written to the network.
+ *
+ * <p>Components and serialized item names and lore are cached weakly by
+ * identity, since the same instances are sent over and over again, for
+ * example by inventory menus and scoreboards. Components are mutable, so a
+ * cached rendering is only reused while the hash of its source component is
+ * unchanged. Content without any translatable component is never rendered
+ * nor cached in the first place.</p>
+ */
+public final class ComponentRenderCache {
+
+    private static final int MAX_SIZE = 4096;
+    // Only serialized translatable components contain this key, other occurrences are escaped
+    private static final String TRANSLATE_KEY = "\"translate\"";
+
+    private static final ConcurrentMap<Component, Rendered> COMPONENTS = CacheBuilder.newBuilder()
+        .weakKeys()
+        .maximumSize(ComponentRenderCache.MAX_SIZE)
+        .<Component, Rendered>build()
+        .asMap();
+    // Unchanged renderings are stored as empty, a cached value must never strongly reference its weak key
+    private static final ConcurrentMap<String, Map<Locale, Optional<String>>> JSON = CacheBuilder.newBuilder()
+        .weakKeys()
+        .maximumSize(ComponentRenderCache.MAX_SIZE)
+        .<String, Map<Locale, Optional<String>>>build()
+        .asMap();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder SKIPPED = new LongAdder();
+
+    private ComponentRenderCache() {
+    }
+
+    public static Stats stats() {
+        return new Stats(ComponentRenderCache.HITS.sum(), ComponentRenderCache.MISSES.sum(), ComponentRenderCache.SKIPPED.sum());
+    }
+
+    public static void resetStats() {
+        ComponentRenderCache.HITS.reset();
+        ComponentRenderCache.MISSES.reset();
+        ComponentRenderCache.SKIPPED.reset();
+    }
+
+    /**
+     * Renders the component for the given locale like
+     * {@link NativeComponentRenderer#apply(Component, Locale)} does. The
+     * result must not be modified.
+     *
+     * @param input The component to render
+     * @param locale The locale to render for
+     * @return The rendered component, possibly the input itself
+     */
+    public static Component render(final Component input, final Locale locale) {
+        if (input instanceof AdventureTextComponent) {
+            // These keep their last rendering themselves
+            return NativeComponentRenderer.apply(input, locale);
+        }
+        if (!ComponentRenderCache.containsTranslatable(input)) {
+            ComponentRenderCache.SKIPPED.increment();
+            return input;
+        }
+        final int hash = input.hashCode();
+        final @Nullable Rendered cached = ComponentRenderCache.COMPONENTS.get(input);
+        if (cached != null && cached.hash == hash) {
+            final @Nullable Component rendered = cached.byLocale.get(locale);
+            if (rendered != null) {
+                ComponentRenderCache.HITS.increment();
+                return rendered;
+            }
+        }
+        ComponentRenderCache.MISSES.increment();
+        final Component rendered = NativeComponentRenderer.apply(input, locale);
+        final Rendered target = cached != null && cached.hash == hash
+            ? cached
+            : ComponentRenderCache.COMPONENTS.compute(input, (key, existing) -> existing != null && existing.hash == hash ? existing : new Rendered(hash));
+        target.byLocale.put(locale, rendered);
+        return rendered;
+    }
+
+    /**
+     * Renders a json serialized component for the given locale.
+     *
+     * @param json The serialized component
+     * @param locale The locale to render for
+     * @return The serialized rendered component, or the input itself if
+     *     rendering did not change anything
+     */
+    public static String renderJson(final String json, final Locale locale) {
+        if (!ComponentRenderCache.containsTranslatable(json)) {
+            ComponentRenderCache.SKIPPED.increment();
+            return json;
+        }
+        final Map<Locale, Optional<String>> byLocale = ComponentRenderCache.JSON.computeIfAbsent(json, key -> new ConcurrentHashMap<>());
+        final @Nullable Optional<String> cached = byLocale.get(locale);
+        if (cached != null) {
+            ComponentRenderCache.HITS.increment();
+            return cached.orElse(json);
+        }
+        ComponentRenderCache.MISSES.increment();
+        final @Nullable Component component = Component.Serializer.fromJson(json);
+        final Optional<String> rendered;
+        if (component == null) {
+            rendered = Optional.empty();
+        } else {
+            final Component renderedComponent = NativeComponentRenderer.apply(component, locale);
+            rendered = renderedComponent.equals(component) ? Optional.empty() : Optional.of(Component.Serializer.toJson(renderedComponent));
+        }
+        byLocale.put(locale, rendered);
+        return rendered.orElse(json);
+    }
+
+    /**
+     * Gets whether rendering the json serialized component could change it.
+     *
+     * @param json The serialized component to check
+     * @return Whether the component needs rendering
+     */
+    public static boolean containsTranslatable(final String json) {
+        return json.contains(ComponentRenderCache.TRANSLATE_KEY);
+    }
+
+    /**
+     * Gets whether rendering the component could change it, which is the case
+     * if it contains any translatable component, including in hover events.
+     *
+     * @param component The component to check
+     * @return Whether the component needs rendering
+     */
+    public static boolean containsTranslatable(final Component component) {
+        if (component instanceof AdventureTextComponent || component.getContents() instanceof TranslatableContents) {
+            return true;
+        }
+        final @Nullable HoverEvent hover = component.getStyle().getHoverEvent();
+        if (hover != null) {
+            final @Nullable Component text = hover.getValue(HoverEvent.Action.SHOW_TEXT);
+            if (text != null && ComponentRenderCache.containsTranslatable(text)) {
+                return true;
+            }
+            final HoverEvent.@Nullable EntityTooltipInfo entity = hover.getValue(HoverEvent.Action.SHOW_ENTITY);
+            if (entity != null && entity.name != null && ComponentRenderCache.containsTranslatable(entity.name)) {
+                return true;
+            }
+        }
+        for (final Component sibling : component.getSiblings()) {
+            if (ComponentRenderCache.containsTranslatable(sibling)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Rendered {
+
+        final int hash;
+        final Map<Locale, Component> byLocale = new ConcurrentHashMap<>();
+
+        Rendered(final int hash) {
+            this.hash = hash;
+        }
+    }
+
+    public record Stats(long hits, long misses, long skipped) {
+
+        public double hitRate() {
+            final long total = this.hits + this.misses;
+            return total == 0 ? 0 : (double) this.hits / total;
+        }
+    }
+}
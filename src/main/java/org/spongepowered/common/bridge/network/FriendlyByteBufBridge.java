@@ -33,4 +33,6 @@ public interface FriendlyByteBufBridge {
     void bridge$setLocale(final Locale locale);
 
     CompoundTag bridge$renderItemComponents(CompoundTag tag);
+
+    boolean bridge$isLocalized();
 }
@@ -47,4 +47,12 @@ public interface ServerLevelBridge {
     BlockSnapshot bridge$createSnapshot(int x, int y, int z);
 
     long[] bridge$recentTickTimes();
+
+    /**
+     * Holds back writing chunks, points of interest and entities to the
+     * region files of this world, or releases them.
+     *
+     * @param hold Whether to hold back writes
+     */
+    void bridge$holdWrites(boolean hold);
 }
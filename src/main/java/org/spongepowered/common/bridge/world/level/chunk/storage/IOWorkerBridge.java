@@ -30,4 +30,13 @@
 public interface IOWorkerBridge {
 
     void bridge$setDimension(ResourceKey<Level> dimension);
+
+    /**
+     * Holds back writing queued data to the region files, or releases it.
+     * Data queued while held stays readable from the worker and is written
+     * once released.
+     *
+     * @param hold Whether to hold back writes
+     */
+    void bridge$holdWrites(boolean hold);
 }
@@ -59,27 +59,39 @@
 import org.spongepowered.api.world.server.ServerLocation;
 import org.spongepowered.api.world.server.ServerWorld;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.SpongeServer;
 import org.spongepowered.common.accessor.world.level.LevelAccessor;
+import org.spongepowered.common.adventure.ComponentRenderCache;
 import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.server.level.ServerLevelBridge;
 import org.spongepowered.common.bridge.world.level.LevelBridge;
 import org.spongepowered.common.config.SpongeGameConfigs;
+import org.spongepowered.common.event.manager.ListenerTimings;
 import org.spongepowered.common.event.manager.SpongeEventManager;
 import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.TickTimings;
 import org.spongepowered.common.launch.Launch;
+import org.spongepowered.common.scheduler.AsyncExecutionPool;
+import org.spongepowered.common.scheduler.ServerScheduler;
+import org.spongepowered.common.scheduler.TaskProfiler;
+import org.spongepowered.common.user.UserDataWriter;
+import org.spongepowered.common.util.DurationHistogram;
 import org.spongepowered.common.util.JvmUtil;
 import org.spongepowered.plugin.PluginContainer;
 import org.spongepowered.plugin.metadata.PluginMetadata;
 import org.spongepowered.plugin.metadata.model.PluginContributor;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -101,6 +113,8 @@ public class SpongeCommand {
     protected static final TextColor RED = TextColor.color(0xC74242);
 
     private static final Component EMPTY = Component.text("Empty", TextColor.color(SpongeCommand.RED));
+    private static final Component TICK_TIMINGS_DISABLED = Component.text(
+            "Tick timings are disabled, enable them with '/sponge timings enable true'.", NamedTextColor.RED);
 
     private final Parameter.Key<PluginContainer> pluginContainerKey = Parameter.key("plugin", PluginContainer.class);
     private final Parameter.Key<CommandMapping> commandMappingKey = Parameter.key("command", CommandMapping.class);
@@ -198,6 +212,24 @@ public Command.Parameterized createSpongeCommand() {
 
         final Command.Parameterized infoCommand = this.infoSubcommand();
 
+        // /sponge scheduler
+        final Command.Parameterized schedulerCommand = this.schedulerSubcommand();
+
+        // /sponge listeners
+        final Command.Parameterized listenersCommand = this.listenersSubcommand();
+
+        // /sponge timings
+        final Command.Parameterized timingsCommand = this.timingsSubcommand();
+
+        // /sponge userdata
+        final Command.Parameterized userDataCommand = Command.builder()
+                .permission("sponge.command.userdata")
+                .shortDescription(Component.text("Displays statistics about the saving of offline user data"))
+                .executor(this::userDataSubcommandExecutor)
+                .build();
+
+        // /sponge textcache
+        final Command.Parameterized textCacheCommand = this.textCacheSubcommand();
 
         // /sponge
         final Command.Builder commandBuilder = Command.builder()
@@ -212,6 +244,11 @@ public Command.Parameterized createSpongeCommand() {
                 .addChild(whichCommand, "which")
                 .addChild(reloadCommand, "reload")
                 .addChild(infoCommand, "info")
+                .addChild(schedulerCommand, "scheduler")
+                .addChild(listenersCommand, "listeners")
+                .addChild(timingsCommand, "timings")
+                .addChild(userDataCommand, "userdata")
+                .addChild(textCacheCommand, "textcache")
             ;
 
         this.additionalActions(commandBuilder);
@@ -379,6 +416,310 @@ private Command.Parameterized infoSubcommand() {
             .build();
     }
 
+    private Command.Parameterized schedulerSubcommand() {
+        final Command.Parameterized pluginCommand = Command.builder()
+                .addParameter(Parameter.plugin().key(this.pluginContainerKey).build())
+                .shortDescription(Component.text("Displays the execution times of a plugin's scheduled tasks"))
+                .executor(context -> {
+                    final PluginContainer plugin = context.requireOne(this.pluginContainerKey);
+                    final List<Component> contents = new ArrayList<>();
+                    if (SpongeCommon.game().isServerAvailable()) {
+                        this.appendTaskReports(contents, "Sync", SpongeCommon.serverScheduler().profiler().taskReports(plugin));
+                    }
+                    this.appendTaskReports(contents, "Async", SpongeCommon.asyncScheduler().profiler().taskReports(plugin));
+                    this.sendPaginatedReport(context, "Scheduled tasks of " + plugin.metadata().id(), contents);
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized resetCommand = Command.builder()
+                .shortDescription(Component.text("Clears all collected task execution times"))
+                .executor(context -> {
+                    if (SpongeCommon.game().isServerAvailable()) {
+                        SpongeCommon.serverScheduler().profiler().reset();
+                    }
+                    SpongeCommon.asyncScheduler().profiler().reset();
+                    context.sendMessage(Identity.nil(), Component.text("Task execution times have been reset."));
+                    return CommandResult.success();
+                })
+                .build();
+        final Parameter.Value<Boolean> enabledParameter = Parameter.bool().key("enabled").build();
+        final Command.Parameterized profilingCommand = Command.builder()
+                .addParameter(enabledParameter)
+                .shortDescription(Component.text("Enables or disables the recording of task execution times"))
+                .executor(context -> {
+                    final boolean enabled = context.requireOne(enabledParameter);
+                    if (SpongeCommon.game().isServerAvailable()) {
+                        SpongeCommon.serverScheduler().profiler().setEnabled(enabled);
+                    }
+                    SpongeCommon.asyncScheduler().profiler().setEnabled(enabled);
+                    context.sendMessage(Identity.nil(), Component.text("Task profiling is now " + (enabled ? "enabled." : "disabled.")));
+                    return CommandResult.success();
+                })
+                .build();
+        return Command.builder()
+                .permission("sponge.command.scheduler")
+                .shortDescription(Component.text("Displays the execution times of scheduled tasks per plugin"))
+                .executor(context -> {
+                    final List<Component> contents = new ArrayList<>();
+                    if (SpongeCommon.game().isServerAvailable()) {
+                        final ServerScheduler serverScheduler = SpongeCommon.serverScheduler();
+                        this.appendTaskReports(contents, "Sync", serverScheduler.profiler().pluginReports());
+                        contents.add(LinearComponents.linear(
+                                this.key("Deferred sync tasks: "), this.value(serverScheduler.deferredTaskBacklog()),
+                                Component.text(" waiting, " + serverScheduler.deferredTaskCount() + " deferred over "
+                                        + serverScheduler.deferringTickCount() + " ticks", NamedTextColor.GRAY)));
+                    }
+                    this.appendTaskReports(contents, "Async", SpongeCommon.asyncScheduler().profiler().pluginReports());
+                    final AsyncExecutionPool.Metrics metrics = SpongeCommon.asyncScheduler().executionMetrics();
+                    contents.add(Component.newline());
+                    contents.add(LinearComponents.linear(
+                            this.key("Async tasks: "), this.value(metrics.activeTasks()), Component.text(" active, ", NamedTextColor.GRAY),
+                            this.value(metrics.queuedTasks()), Component.text(" queued, ", NamedTextColor.GRAY),
+                            this.value(metrics.peakActiveTasks()), Component.text(" peak", NamedTextColor.GRAY)));
+                    contents.add(LinearComponents.linear(
+                            this.key("Async threads: "), this.value(metrics.platformThreads()), Component.text(" platform (", NamedTextColor.GRAY),
+                            this.value(metrics.peakPlatformThreads()), Component.text(" peak)", NamedTextColor.GRAY),
+                            Component.text(metrics.virtualThreads() ? ", virtual threads enabled" : "", NamedTextColor.GRAY)));
+                    this.sendPaginatedReport(context, "Scheduled tasks per plugin", contents);
+                    return CommandResult.success();
+                })
+                .addChild(pluginCommand, "plugin")
+                .addChild(resetCommand, "reset")
+                .addChild(profilingCommand, "profiling")
+                .build();
+    }
+
+    private void appendTaskReports(final List<Component> contents, final String scheduler, final List<TaskProfiler.Report> reports) {
+        contents.add(this.title(scheduler + " (" + reports.size() + ")"));
+        for (final TaskProfiler.Report report : reports) {
+            final DurationHistogram.Snapshot durations = report.durations();
+            contents.add(Component.text()
+                    .append(SpongeCommand.INDENT_COMPONENT, this.hl(report.name()), Component.text(": ", NamedTextColor.GRAY))
+                    .append(Component.text(durations.count() + " runs, ", NamedTextColor.GRAY))
+                    .append(this.millis(durations.totalNanos()), Component.text(" total, p50 ", NamedTextColor.GRAY))
+                    .append(this.millis(durations.p50Nanos()), Component.text(", p99 ", NamedTextColor.GRAY))
+                    .append(this.millis(durations.p99Nanos()), Component.text(", max ", NamedTextColor.GRAY))
+                    .append(this.millis(durations.maxNanos()))
+                    .append(Component.text(", " + report.overruns() + " over tick budget",
+                            report.overruns() == 0 ? NamedTextColor.GRAY : NamedTextColor.RED))
+                    .build());
+        }
+    }
+
+    private Command.Parameterized listenersSubcommand() {
+        final Command.Parameterized resetCommand = Command.builder()
+                .shortDescription(Component.text("Clears all collected listener timings"))
+                .executor(context -> {
+                    final @Nullable ListenerTimings timings = ((SpongeEventManager) Sponge.eventManager()).listenerTimings();
+                    if (timings != null) {
+                        timings.reset();
+                    }
+                    context.sendMessage(Identity.nil(), Component.text("Listener timings have been reset."));
+                    return CommandResult.success();
+                })
+                .build();
+        final Parameter.Value<Boolean> enabledParameter = Parameter.bool().key("enabled").build();
+        final Command.Parameterized timingsCommand = Command.builder()
+                .addParameter(enabledParameter)
+                .shortDescription(Component.text("Enables or disables the recording of listener timings"))
+                .executor(context -> {
+                    final boolean enabled = context.requireOne(enabledParameter);
+                    ((SpongeEventManager) Sponge.eventManager()).setListenerTimingsEnabled(enabled);
+                    context.sendMessage(Identity.nil(), Component.text("Listener timings are now " + (enabled ? "enabled." : "disabled.")));
+                    return CommandResult.success();
+                })
+                .build();
+        return Command.builder()
+                .permission("sponge.command.listeners")
+                .shortDescription(Component.text("Displays the execution times of event listeners"))
+                .executor(context -> {
+                    final @Nullable ListenerTimings timings = ((SpongeEventManager) Sponge.eventManager()).listenerTimings();
+                    if (timings == null) {
+                        return CommandResult.error(Component.text(
+                                "Listener timings are disabled, enable them with '/sponge listeners timings true'.", NamedTextColor.RED));
+                    }
+                    final List<Component> contents = new ArrayList<>();
+                    for (final ListenerTimings.Report report : timings.reports()) {
+                        final DurationHistogram.Snapshot durations = report.durations();
+                        contents.add(Component.text()
+                                .append(this.hl(report.listener()), Component.text(" (" + report.plugin() + ", " + report.eventType() + ")",
+                                        NamedTextColor.GRAY))
+                                .build());
+                        contents.add(Component.text()
+                                .append(SpongeCommand.INDENT_COMPONENT, Component.text(durations.count() + " calls, ", NamedTextColor.GRAY))
+                                .append(this.millis(durations.totalNanos()), Component.text(" total, p50 ", NamedTextColor.GRAY))
+                                .append(this.millis(durations.p50Nanos()), Component.text(", p99 ", NamedTextColor.GRAY))
+                                .append(this.millis(durations.p99Nanos()), Component.text(", max ", NamedTextColor.GRAY))
+                                .append(this.millis(durations.maxNanos()))
+                                .append(Component.text(", " + SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(report.cancellationRate() * 100)
+                                        + "% cancelled, " + report.slowCalls() + " slow",
+                                        report.slowCalls() == 0 ? NamedTextColor.GRAY : NamedTextColor.RED))
+                                .build());
+                    }
+                    this.sendPaginatedReport(context, "Event listener timings", contents);
+                    return CommandResult.success();
+                })
+                .addChild(resetCommand, "reset")
+                .addChild(timingsCommand, "timings")
+                .build();
+    }
+
+    private Command.Parameterized timingsSubcommand() {
+        final Command.Parameterized resetCommand = Command.builder()
+                .shortDescription(Component.text("Clears all collected tick timings"))
+                .executor(context -> {
+                    final @Nullable TickTimings timings = TickTimings.get();
+                    if (timings != null) {
+                        timings.reset();
+                    }
+                    context.sendMessage(Identity.nil(), Component.text("Tick timings have been reset."));
+                    return CommandResult.success();
+                })
+                .build();
+        final Parameter.Value<Boolean> enabledParameter = Parameter.bool().key("enabled").build();
+        final Command.Parameterized enableCommand = Command.builder()
+                .addParameter(enabledParameter)
+                .shortDescription(Component.text("Enables or disables the recording of tick timings"))
+                .executor(context -> {
+                    final boolean enabled = context.requireOne(enabledParameter);
+                    TickTimings.setEnabled(enabled);
+                    context.sendMessage(Identity.nil(), Component.text("Tick timings are now " + (enabled ? "enabled." : "disabled.")));
+                    return CommandResult.success();
+                })
+                .build();
+        final Command.Parameterized exportCommand = Command.builder()
+                .shortDescription(Component.text("Writes the collected tick timings to a JSON file"))
+                .executor(context -> {
+                    final @Nullable TickTimings timings = TickTimings.get();
+                    if (timings == null) {
+                        return CommandResult.error(SpongeCommand.TICK_TIMINGS_DISABLED);
+                    }
+                    final Path file = SpongeCommon.gameDirectory().resolve("timings")
+                            .resolve("tick-timings-" + DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss").format(LocalDateTime.now()) + ".json");
+                    try {
+                        timings.export(file);
+                    } catch (final IOException e) {
+                        SpongeCommon.logger().error("Could not write tick timings to {}", file, e);
+                        return CommandResult.error(Component.text("Could not write tick timings, see the console for details.", NamedTextColor.RED));
+                    }
+                    context.sendMessage(Identity.nil(), Component.text("Tick timings written to: " + file.toAbsolutePath()));
+                    return CommandResult.success();
+                })
+                .build();
+        return Command.builder()
+                .permission("sponge.command.timings")
+                .shortDescription(Component.text("Displays the time spent ticking each entity, block entity, block and fluid type"))
+                .executor(context -> this.sendTickTimings(context, TickTimings.Grouping.TYPE))
+                .addChild(Command.builder()
+                        .shortDescription(Component.text("Displays tick timings per plugin or mod namespace"))
+                        .executor(context -> this.sendTickTimings(context, TickTimings.Grouping.NAMESPACE))
+                        .build(), "plugins")
+                .addChild(Command.builder()
+                        .shortDescription(Component.text("Displays tick timings per world"))
+                        .executor(context -> this.sendTickTimings(context, TickTimings.Grouping.WORLD))
+                        .build(), "worlds")
+                .addChild(resetCommand, "reset")
+                .addChild(enableCommand, "enable")
+                .addChild(exportCommand, "export")
+                .build();
+    }
+
+    private CommandResult sendTickTimings(final CommandContext context, final TickTimings.Grouping grouping) {
+        final @Nullable TickTimings timings = TickTimings.get();
+        if (timings == null) {
+            return CommandResult.error(SpongeCommand.TICK_TIMINGS_DISABLED);
+        }
+        final List<Component> contents = new ArrayList<>();
+        for (final TickTimings.Report report : timings.reports(grouping)) {
+            final TickTimings.Report.Id id = report.id();
+            final Component name = switch (grouping) {
+                case TYPE -> Component.text()
+                        .append(this.hl(id.type()), Component.text(" (" + id.category().name().toLowerCase(Locale.ROOT) + ", " + id.world() + ")",
+                                NamedTextColor.GRAY))
+                        .build();
+                case NAMESPACE -> this.hl(id.namespace());
+                case WORLD -> this.hl(id.world());
+            };
+            contents.add(name);
+            contents.add(Component.text()
+                    .append(SpongeCommand.INDENT_COMPONENT, Component.text(report.count() + " ticks, ", NamedTextColor.GRAY))
+                    .append(this.millis(report.totalNanos()), Component.text(" total, avg ", NamedTextColor.GRAY))
+                    .append(this.millis(report.averageNanos()), Component.text(", max ", NamedTextColor.GRAY))
+                    .append(this.millis(report.maxNanos()))
+                    .build());
+        }
+        this.sendPaginatedReport(context, "Tick timings over the last " + timings.windowSeconds() + " seconds", contents);
+        return CommandResult.success();
+    }
+
+    private CommandResult userDataSubcommandExecutor(final CommandContext context) {
+        if (!SpongeCommon.game().isServerAvailable()) {
+            context.sendMessage(Identity.nil(), Component.text("Server is not running."));
+            return CommandResult.success();
+        }
+        final UserDataWriter.Stats stats = ((SpongeServer) SpongeCommon.server()).userManager().dataWriter().stats();
+        final DurationHistogram.Snapshot latency = stats.latency();
+        context.sendMessage(Identity.nil(), Component.text()
+                .append(Component.text("Offline user data", NamedTextColor.WHITE), Component.newline())
+                .append(SpongeCommand.INDENT_COMPONENT, Component.text(stats.queued() + " queued, " + stats.written() + " written, ", NamedTextColor.GRAY))
+                .append(Component.text(stats.failed() + " failed", stats.failed() == 0 ? NamedTextColor.GRAY : NamedTextColor.RED), Component.newline())
+                .append(SpongeCommand.INDENT_COMPONENT, Component.text("Write latency p50 ", NamedTextColor.GRAY))
+                .append(this.millis(latency.p50Nanos()), Component.text(", p99 ", NamedTextColor.GRAY))
+                .append(this.millis(latency.p99Nanos()), Component.text(", max ", NamedTextColor.GRAY))
+                .append(this.millis(latency.maxNanos()), Component.newline())
+                .append(SpongeCommand.INDENT_COMPONENT, Component.text("Last save snapshotted " + stats.lastBatchSize() + " users in ", NamedTextColor.GRAY))
+                .append(this.millis(stats.lastSnapshotNanos()))
+                .build());
+        return CommandResult.success();
+    }
+
+    private Command.Parameterized textCacheSubcommand() {
+        final Command.Parameterized resetCommand = Command.builder()
+                .shortDescription(Component.text("Clears the collected text render cache statistics"))
+                .executor(context -> {
+                    ComponentRenderCache.resetStats();
+                    context.sendMessage(Identity.nil(), Component.text("Text render cache statistics have been reset."));
+                    return CommandResult.success();
+                })
+                .build();
+        return Command.builder()
+                .permission("sponge.command.textcache")
+                .shortDescription(Component.text("Displays statistics about the caching of rendered text sent to players"))
+                .executor(context -> {
+                    if (!SpongeCommon.game().isServerAvailable()) {
+                        context.sendMessage(Identity.nil(), Component.text("Server is not running."));
+                        return CommandResult.success();
+                    }
+                    final ComponentRenderCache.Stats stats = ComponentRenderCache.stats();
+                    context.sendMessage(Identity.nil(), Component.text()
+                            .append(Component.text("Text render cache", NamedTextColor.WHITE), Component.newline())
+                            .append(SpongeCommand.INDENT_COMPONENT, Component.text(stats.hits() + " hits, " + stats.misses() + " misses, ",
+                                    NamedTextColor.GRAY))
+                            .append(Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(stats.hitRate() * 100) + "%",
+                                    NamedTextColor.WHITE), Component.text(" hit rate", NamedTextColor.GRAY), Component.newline())
+                            .append(SpongeCommand.INDENT_COMPONENT, Component.text(stats.skipped() + " skipped without any translatable text",
+                                    NamedTextColor.GRAY))
+                            .build());
+                    return CommandResult.success();
+                })
+                .addChild(resetCommand, "reset")
+                .build();
+    }
+
+    private Component millis(final long nanos) {
+        return Component.text(SpongeCommand.THREE_DECIMAL_DIGITS_FORMATTER.format(nanos / 1_000_000.0) + "ms", NamedTextColor.WHITE);
+    }
+
+    private void sendPaginatedReport(final CommandContext context, final String title, final List<Component> contents) {
+        SpongeCommon.game().serviceProvider()
+                .paginationService()
+                .builder()
+                .contents(contents)
+                .title(Component.text(title, NamedTextColor.WHITE))
+                .padding(Component.text("-", NamedTextColor.WHITE))
+                .sendTo(context.cause().audience());
+    }
+
     private Command.Parameterized chunksSubcommand() {
         final Command.Parameterized globalCommand = Command.builder()
                 .executor(context -> {
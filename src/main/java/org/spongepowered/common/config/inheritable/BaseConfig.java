@@ -39,6 +39,10 @@ public abstract class BaseConfig implements Config {
     @Setting("entity-activation-range")
     public final EntityActivationRangeCategory entityActivationRange = new EntityActivationRangeCategory();
 
+    @Setting("block-entity-activation")
+    @Comment("Only used when the 'block-entity-activation' module is enabled.")
+    public final BlockEntityActivationCategory blockEntityActivation = new BlockEntityActivationCategory();
+
     @Setting("spawner")
     @Comment("Used to control spawn limits around a player's view distance.")
     public final SpawnerCategory spawner = new SpawnerCategory();
@@ -46,6 +46,11 @@ public final class EntityActivationRangeCategory {
     @Comment("If 'true', newly discovered entities will be added to this config with a default value.")
     public boolean autoPopulate = false;
 
+    @Setting("parallel-scan")
+    @Comment("If 'true', the per tick search for entities in range of players is split across the\n"
+             + "common worker pool when the players cover enough chunks to make it worthwhile.")
+    public boolean parallelScan = false;
+
     public EntityActivationRangeCategory() {
         this.globalRanges.put("ambient", 32);
         this.globalRanges.put("aquatic", 32);
@@ -0,0 +1,294 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.holder;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.DataProvider;
+import org.spongepowered.api.data.Key;
+import org.spongepowered.api.data.value.Value;
+import org.spongepowered.common.data.SpongeDataManager;
+import org.spongepowered.common.data.provider.AbstractDataProvider;
+import org.spongepowered.common.data.provider.DataProviderRegistry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Reads a fixed set of {@link Key}s from many {@link DataHolder}s.
+ *
+ * <p>Unlike {@link DataHolder#getValues()}, no {@link Value}s or sets are
+ * created: the raw elements are written into a reusable {@link Result}. The
+ * providers of the keys are resolved once per data holder type and reused
+ * for every following read, until another provider is registered.</p>
+ */
+public final class DataHolderReader {
+
+    // Readers of every key a data holder type has a provider for, used by SpongeDataHolder
+    private static final Map<Class<?>, DataHolderReader> ALL_KEYS = new ConcurrentHashMap<>();
+    private static volatile int allKeysGeneration;
+
+    private final Key<?>[] keys;
+    private final Map<Class<?>, DataProvider<?, ?>[]> providers = new ConcurrentHashMap<>();
+    private volatile int generation;
+
+    private DataHolderReader(final Key<?>[] keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Creates a reader for the given keys. The position of a key is its index
+     * in the {@link Result}.
+     *
+     * @param keys The keys to read
+     * @return The reader
+     */
+    public static DataHolderReader of(final Key<?>... keys) {
+        final Key<?>[] copy = keys.clone();
+        for (final Key<?> key : copy) {
+            requireNonNull(key, "key");
+        }
+        return new DataHolderReader(copy);
+    }
+
+    public static DataHolderReader of(final Collection<? extends Key<?>> keys) {
+        return DataHolderReader.of(keys.toArray(new Key<?>[0]));
+    }
+
+    /**
+     * Gets a reader of every key that has a provider for the data holder
+     * type, as used by {@link DataHolder#getKeys()} and
+     * {@link DataHolder#getValues()}.
+     *
+     * @param dataHolderType The data holder type
+     * @return The reader
+     */
+    static DataHolderReader allKeys(final Class<?> dataHolderType) {
+        final DataProviderRegistry registry = SpongeDataManager.getProviderRegistry();
+        final int generation = registry.generation();
+        if (DataHolderReader.allKeysGeneration != generation) {
+            DataHolderReader.ALL_KEYS.clear();
+            DataHolderReader.allKeysGeneration = generation;
+        }
+        final @Nullable DataHolderReader reader = DataHolderReader.ALL_KEYS.get(dataHolderType);
+        if (reader != null) {
+            return reader;
+        }
+        return DataHolderReader.ALL_KEYS.computeIfAbsent(dataHolderType, type -> DataHolderReader.of(
+                registry.getAllProviders(type).stream().map(DataProvider::key).toArray(Key<?>[]::new)));
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+
+    public Key<?> key(final int index) {
+        return this.keys[index];
+    }
+
+    public Result newResult() {
+        return new Result(this);
+    }
+
+    /**
+     * Reads all keys of this reader from the data holder, replacing the
+     * previous contents of the result.
+     *
+     * @param dataHolder The data holder to read from
+     * @param result The result to fill, must have been created by this reader
+     * @return The result
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Result read(final DataHolder dataHolder, final Result result) {
+        if (result.reader != this) {
+            throw new IllegalArgumentException("The result was not created by this reader");
+        }
+        final @Nullable Object[] elements = result.elements;
+        if (!(dataHolder instanceof SpongeDataHolder)) {
+            for (int i = 0; i < this.keys.length; i++) {
+                elements[i] = dataHolder.get((Key) this.keys[i]).orElse(null);
+            }
+            return result;
+        }
+        Arrays.fill(elements, null);
+        final boolean[] resolved = result.resolved;
+        Arrays.fill(resolved, false);
+        // Like SpongeDataHolder#impl$apply, the first delegate that supports a key provides its element
+        for (final DataHolder delegate : ((SpongeDataHolder) dataHolder).impl$delegateDataHolder()) {
+            final DataProvider<?, ?>[] providers = this.providers(delegate.getClass());
+            for (int i = 0; i < providers.length; i++) {
+                if (!resolved[i] && providers[i].isSupported(delegate)) {
+                    resolved[i] = true;
+                    elements[i] = DataHolderReader.element(providers[i], delegate);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads all keys of this reader from a single data holder, without
+     * consulting its delegates.
+     *
+     * @param dataHolder The data holder to read from
+     * @param result The result to fill, must have been created by this reader
+     * @return The result
+     */
+    Result readDirect(final DataHolder dataHolder, final Result result) {
+        final DataProvider<?, ?>[] providers = this.providers(dataHolder.getClass());
+        for (int i = 0; i < providers.length; i++) {
+            result.elements[i] = DataHolderReader.element(providers[i], dataHolder);
+        }
+        return result;
+    }
+
+    /**
+     * Constructs the value of an element read by {@link #readDirect}.
+     *
+     * @param dataHolder The data holder the element was read from
+     * @param index The index of the key
+     * @param element The element
+     * @return The value, or null if the provider no longer has one
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Nullable Value<?> value(final DataHolder dataHolder, final int index, final Object element) {
+        final DataProvider provider = this.providers(dataHolder.getClass())[index];
+        if (provider instanceof AbstractDataProvider.DirectAccess) {
+            return ((AbstractDataProvider.DirectAccess) provider).valueOf(dataHolder, element);
+        }
+        return (Value<?>) provider.value(dataHolder).orElse(null);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static @Nullable Object element(final DataProvider provider, final DataHolder dataHolder) {
+        if (provider instanceof AbstractDataProvider.DirectAccess) {
+            return ((AbstractDataProvider.DirectAccess) provider).getOrNull(dataHolder);
+        }
+        return provider.get(dataHolder).orElse(null);
+    }
+
+    /**
+     * Reads all keys from each of the data holders into a single result,
+     * which is passed to the consumer after every read.
+     *
+     * @param dataHolders The data holders to read from
+     * @param consumer The consumer of the results
+     */
+    public void readAll(final Iterable<? extends DataHolder> dataHolders, final Consumer<Result> consumer) {
+        final Result result = this.newResult();
+        for (final DataHolder dataHolder : dataHolders) {
+            consumer.accept(this.read(dataHolder, result));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DataProvider<?, ?>[] providers(final Class<?> dataHolderType) {
+        final DataProviderRegistry registry = SpongeDataManager.getProviderRegistry();
+        final int generation = registry.generation();
+        if (this.generation != generation) {
+            // A data provider was registered, the resolved providers may be stale
+            this.providers.clear();
+            this.generation = generation;
+        }
+        final DataProvider<?, ?> @Nullable [] providers = this.providers.get(dataHolderType);
+        if (providers != null) {
+            return providers;
+        }
+        return this.providers.computeIfAbsent(dataHolderType, type -> {
+            final DataProvider<?, ?>[] resolved = new DataProvider<?, ?>[this.keys.length];
+            for (int i = 0; i < this.keys.length; i++) {
+                resolved[i] = registry.getProvider((Key) this.keys[i], type);
+            }
+            return resolved;
+        });
+    }
+
+    /**
+     * The elements read from a single data holder. A result is reused by the
+     * reader that created it, so it must be copied if it is kept around.
+     */
+    public static final class Result {
+
+        final DataHolderReader reader;
+        final @Nullable Object[] elements;
+        final boolean[] resolved;
+
+        Result(final DataHolderReader reader) {
+            this.reader = reader;
+            this.elements = new Object[reader.keys.length];
+            this.resolved = new boolean[reader.keys.length];
+        }
+
+        public int size() {
+            return this.elements.length;
+        }
+
+        public boolean isPresent(final int index) {
+            return this.elements[index] != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <E> @Nullable E get(final int index) {
+            return (E) this.elements[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        public <E> Optional<E> get(final Key<? extends Value<E>> key) {
+            final Key<?>[] keys = this.reader.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return Optional.ofNullable((E) this.elements[i]);
+                }
+            }
+            throw new IllegalArgumentException("The key " + key.key() + " is not read by this reader");
+        }
+
+        public int getInt(final int index, final int defaultValue) {
+            final @Nullable Object element = this.elements[index];
+            return element == null ? defaultValue : ((Number) element).intValue();
+        }
+
+        public long getLong(final int index, final long defaultValue) {
+            final @Nullable Object element = this.elements[index];
+            return element == null ? defaultValue : ((Number) element).longValue();
+        }
+
+        public double getDouble(final int index, final double defaultValue) {
+            final @Nullable Object element = this.elements[index];
+            return element == null ? defaultValue : ((Number) element).doubleValue();
+        }
+
+        public boolean getBoolean(final int index, final boolean defaultValue) {
+            final @Nullable Object element = this.elements[index];
+            return element == null ? defaultValue : (Boolean) element;
+        }
+    }
+}
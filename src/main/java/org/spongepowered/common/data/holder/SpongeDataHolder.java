@@ -28,6 +28,7 @@
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.data.DataHolder;
 import org.spongepowered.api.data.DataProvider;
 import org.spongepowered.api.data.Key;
@@ -38,9 +39,9 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -103,29 +104,47 @@ default <E, V extends Value<E>> Optional<V> getValue(final Key<V> key) {
     }
 
     default Map<Key<?>, Object> impl$getMappedValues() {
-        return this.impl$delegateDataHolder().stream()
-                .flatMap(dh -> this.impl$getAllProviders(dh).stream()
-                        .map(provider -> provider.value(dh).orElse(null))
-                        .filter(Objects::nonNull)
-                        .map(Value::asImmutable))
-                .collect(ImmutableMap.toImmutableMap(Value::key, Value::get));
+        final ImmutableMap.Builder<Key<?>, Object> values = ImmutableMap.builder();
+        this.impl$readValues((key, value) -> values.put(key, value.get()));
+        return values.build();
     }
 
     @Override
     default Set<Key<?>> getKeys() {
-        return this.impl$delegateDataHolder().stream()
-                .flatMap(dh -> this.impl$getAllProviders(dh).stream()
-                        .filter(provider -> provider.get(dh).isPresent()).map(DataProvider::key))
-                .collect(ImmutableSet.toImmutableSet());
+        final ImmutableSet.Builder<Key<?>> keys = ImmutableSet.builder();
+        for (final DataHolder dataHolder : this.impl$delegateDataHolder()) {
+            final DataHolderReader reader = DataHolderReader.allKeys(dataHolder.getClass());
+            final DataHolderReader.Result result = reader.readDirect(dataHolder, reader.newResult());
+            for (int i = 0; i < result.size(); i++) {
+                if (result.isPresent(i)) {
+                    keys.add(reader.key(i));
+                }
+            }
+        }
+        return keys.build();
     }
 
     @Override
     default Set<Value.Immutable<?>> getValues() {
-        return this.impl$delegateDataHolder().stream()
-                .flatMap(dh -> this.impl$getAllProviders(dh).stream()
-                        .map(provider -> provider.value(dh).orElse(null))
-                        .filter(Objects::nonNull)
-                        .map(Value::asImmutable))
-                .collect(ImmutableSet.toImmutableSet());
+        final ImmutableSet.Builder<Value.Immutable<?>> values = ImmutableSet.builder();
+        this.impl$readValues((key, value) -> values.add(value));
+        return values.build();
+    }
+
+    private void impl$readValues(final BiConsumer<Key<?>, Value.Immutable<?>> consumer) {
+        for (final DataHolder dataHolder : this.impl$delegateDataHolder()) {
+            // Reads the elements without Optionals and only constructs values for the present ones
+            final DataHolderReader reader = DataHolderReader.allKeys(dataHolder.getClass());
+            final DataHolderReader.Result result = reader.readDirect(dataHolder, reader.newResult());
+            for (int i = 0; i < result.size(); i++) {
+                final @Nullable Object element = result.get(i);
+                if (element != null) {
+                    final @Nullable Value<?> value = reader.value(dataHolder, i, element);
+                    if (value != null) {
+                        consumer.accept(value.key(), value.asImmutable());
+                    }
+                }
+            }
+        }
     }
 }
@@ -40,11 +40,15 @@
 
 import java.lang.reflect.Type;
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
 import java.util.function.Supplier;
 
 public final class SpongeKey<V extends Value<E>, E> extends AbstractResourceKeyed implements Key<V> {
 
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id = SpongeKey.NEXT_ID.getAndIncrement();
     private final Type valueType;
     private final Type elementType;
     private final Comparator<? super E> elementComparator;
@@ -105,6 +109,16 @@ public EmptyDataProvider<V, E> getEmptyDataProvider() {
         return this.emptyDataProvider;
     }
 
+    /**
+     * Gets the id of this key. Ids are dense and assigned in creation order,
+     * starting at 0, so they can be used to index lookup arrays.
+     *
+     * @return The id
+     */
+    public int id() {
+        return this.id;
+    }
+
     @Override
     public String toString() {
         return "SpongeKey{" +
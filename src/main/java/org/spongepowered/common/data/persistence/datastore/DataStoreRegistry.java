@@ -28,18 +28,20 @@
 import com.google.common.collect.Multimap;
 import io.leangen.geantyref.GenericTypeReflector;
 import io.leangen.geantyref.TypeToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.ResourceKey;
 import org.spongepowered.api.data.DataHolder;
 import org.spongepowered.api.data.Key;
 import org.spongepowered.api.data.persistence.DataStore;
+import org.spongepowered.common.data.key.SpongeKey;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -51,7 +53,8 @@ public final class DataStoreRegistry {
     private final Multimap<ResourceKey, DataStore> dataStoreByDataStoreKey = HashMultimap.create();
     private final List<DataStore> allDataStores = new ArrayList<>();
 
-    private final Map<LookupKey, DataStore> dataStoreCache = new ConcurrentHashMap<>();
+    // The data stores per holder type, indexed by key id. Arrays are copied on write.
+    private final Map<Type, @Nullable DataStore[]> dataStoreCache = new ConcurrentHashMap<>();
     private final Multimap<Type, DataStore> dataStoreByTokenCache = HashMultimap.create();
 
     public void register(final DataStore dataStore, Iterable<Key<?>> keys) {
@@ -74,7 +77,23 @@ public DataStore getDataStore(final Key<?> dataKey, final TypeToken<? extends Da
     }
 
     public DataStore getDataStore(final Key<?> dataKey, final Type holderType) {
-        return this.dataStoreCache.computeIfAbsent(new LookupKey(holderType, dataKey), this::loadDataStore);
+        final int id = ((SpongeKey<?, ?>) dataKey).id();
+        final @Nullable DataStore @Nullable [] dataStores = this.dataStoreCache.get(holderType);
+        if (dataStores != null && id < dataStores.length) {
+            final @Nullable DataStore dataStore = dataStores[id];
+            if (dataStore != null) {
+                return dataStore;
+            }
+        }
+        final DataStore dataStore = this.loadDataStore(dataKey, holderType);
+        this.dataStoreCache.compute(holderType, (type, existing) -> {
+            final @Nullable DataStore[] updated = existing == null
+                    ? new DataStore[id + 1]
+                    : Arrays.copyOf(existing, Math.max(existing.length, id + 1));
+            updated[id] = dataStore;
+            return updated;
+        });
+        return dataStore;
     }
 
     public Optional<DataStore> getDataStore(final ResourceKey key, final Type holderType) {
@@ -86,10 +105,10 @@ public Optional<DataStore> getDataStore(final ResourceKey key, final Type holder
         return dataStores.stream().findAny();
     }
 
-    private DataStore loadDataStore(final LookupKey lookupKey) {
-        final List<DataStore> dataStores = filterDataStoreCandidates(this.dataStoreByValueKey.get(lookupKey.key), lookupKey.holderType);
+    private DataStore loadDataStore(final Key<?> dataKey, final Type holderType) {
+        final List<DataStore> dataStores = filterDataStoreCandidates(this.dataStoreByValueKey.get(dataKey), holderType);
         if (dataStores.size() > 1) {
-            throw new IllegalStateException("Multiple data-stores registered for the same data-key (" + lookupKey.key.key() + ") and data-holder " + lookupKey.holderType.toString());
+            throw new IllegalStateException("Multiple data-stores registered for the same data-key (" + dataKey.key() + ") and data-holder " + holderType.toString());
         }
         if (dataStores.isEmpty()) {
             dataStores.add(this.NO_OP_DATASTORE);
@@ -114,34 +133,4 @@ public Collection<DataStore> getDataStoresForType(Class<? extends DataHolder> ho
         return this.dataStoreByTokenCache.get(holderType);
     }
 
-    private static class LookupKey {
-
-        private final Type holderType;
-        private final Key<?> key;
-
-        public LookupKey(final Type holderType, final Key<?> key) {
-            this.holderType = holderType;
-            this.key = key;
-        }
-
-        @Override
-        public boolean equals(final Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || this.getClass() != o.getClass()) {
-                return false;
-            }
-            final LookupKey lookupKey = (LookupKey) o;
-            return this.holderType.equals(lookupKey.holderType) &&
-                    this.key.equals(lookupKey.key);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.holderType, this.key);
-        }
-
-    }
-
 }
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.data.provider;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.data.DataHolder;
 import org.spongepowered.api.data.DataProvider;
 import org.spongepowered.api.data.Key;
@@ -51,4 +52,31 @@ interface KnownHolderType {
 
         Class<?> getHolderType();
     }
+
+    /**
+     * A provider that can read its element, and construct a value from
+     * an element it read, without wrapping either in an {@link java.util.Optional}.
+     *
+     * @param <V> The value type
+     * @param <E> The element type
+     */
+    public interface DirectAccess<V extends Value<E>, E> {
+
+        /**
+         * Gets the element from the data holder.
+         *
+         * @param dataHolder The data holder
+         * @return The element, or null if the data holder is unsupported or has none
+         */
+        @Nullable E getOrNull(DataHolder dataHolder);
+
+        /**
+         * Constructs the value of an element previously read from the data holder.
+         *
+         * @param dataHolder The data holder the element was read from
+         * @param element The element
+         * @return The value
+         */
+        V valueOf(DataHolder dataHolder, E element);
+    }
 }
@@ -25,6 +25,7 @@
 package org.spongepowered.common.data.provider;
 
 import com.google.common.collect.ImmutableMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.data.DataProvider;
 import org.spongepowered.api.data.Key;
 import org.spongepowered.api.data.value.Value;
@@ -36,9 +37,17 @@
 public final class DataProviderLookup {
 
     private final Map<Key<?>, DataProvider<?, ?>> providerMap;
+    // The providers indexed by key id, so the lookup doesn't need to hash
+    private final @Nullable DataProvider<?, ?>[] providers;
 
     DataProviderLookup(Map<Key<?>, DataProvider<?, ?>> providerMap) {
         this.providerMap = ImmutableMap.copyOf(providerMap);
+        int size = 0;
+        for (final Key<?> key : this.providerMap.keySet()) {
+            size = Math.max(size, ((SpongeKey<?, ?>) key).id() + 1);
+        }
+        this.providers = new DataProvider<?, ?>[size];
+        this.providerMap.forEach((key, provider) -> this.providers[((SpongeKey<?, ?>) key).id()] = provider);
     }
 
     /**
@@ -60,6 +69,14 @@ public final class DataProviderLookup {
      */
     @SuppressWarnings("unchecked")
     public <V extends Value<E>, E> DataProvider<V, E> getProvider(Key<V> key) {
-        return (DataProvider<V, E>) this.providerMap.getOrDefault(key, ((SpongeKey<V, E>) key).getEmptyDataProvider());
+        final SpongeKey<V, E> spongeKey = (SpongeKey<V, E>) key;
+        final int id = spongeKey.id();
+        if (id < this.providers.length) {
+            final @Nullable DataProvider<?, ?> provider = this.providers[id];
+            if (provider != null) {
+                return (DataProvider<V, E>) provider;
+            }
+        }
+        return spongeKey.getEmptyDataProvider();
     }
 }
@@ -347,6 +347,11 @@ protected Optional<E> getFrom(final H dataHolder) {
                     return Optional.ofNullable(registration.get.apply(dataHolder));
                 }
 
+                @Override
+                protected @Nullable E getNullableFrom(final H dataHolder) {
+                    return registration.get == null ? null : registration.get.apply(dataHolder);
+                }
+
                 @Override
                 protected boolean set(final H dataHolder, final E value) {
                     if (registration.setAnd != null) {
@@ -499,6 +504,11 @@ protected Optional<E> getFrom(final H dataHolder) {
                     return Optional.ofNullable(registration.get.apply(dataHolder));
                 }
 
+                @Override
+                protected @Nullable E getNullableFrom(final H dataHolder) {
+                    return registration.get == null ? null : registration.get.apply(dataHolder);
+                }
+
                 @Override
                 protected Optional<H> set(final H dataHolder, final E value) {
                     if (registration.set == null) {
@@ -46,7 +46,6 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -54,38 +53,9 @@
 
 public final class DataProviderRegistry {
 
-    private static class LookupKey {
-
-        final Class<?> holderType;
-
-        final Key<?> key;
-        private LookupKey(final Class<?> holderType, final Key<?> key) {
-            this.holderType = holderType;
-            this.key = key;
-        }
-
-        @Override
-        public boolean equals(final Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || this.getClass() != o.getClass()) {
-                return false;
-            }
-            final LookupKey lookupKey = (LookupKey) o;
-            return this.holderType.equals(lookupKey.holderType) &&
-                    this.key.equals(lookupKey.key);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.holderType, this.key);
-        }
-
-    }
     private final Multimap<Key<?>, DataProvider<?,?>> dataProviders = HashMultimap.create();
-    private final Map<LookupKey, DataProvider<?,?>> dataProviderCache = new ConcurrentHashMap<>();
     private final Map<Class<?>, DataProviderLookup> dataProviderLookupCache = new ConcurrentHashMap<>();
+    private volatile int generation;
 
     private static boolean filterHolderType(final DataProvider<?,?> provider, final Class<?> holderType) {
         // Filter out data providers of which we know that they will never be relevant.
@@ -96,15 +66,10 @@ private static boolean filterHolderType(final DataProvider<?,?> provider, final
         return true;
     }
 
-    @SuppressWarnings("unchecked")
-    private DataProvider<?,?> loadProvider(final LookupKey key) {
-        return this.buildDelegate((Key<Value<Object>>) key.key, provider -> DataProviderRegistry.filterHolderType(provider, key.holderType));
-    }
-
     @SuppressWarnings(value = {"unchecked", "rawtypes"})
     private DataProviderLookup loadProviderLookup(final Class<?> holderType) {
         final Stream<DataProvider> stream = this.dataProviders.keySet().stream()
-                .map(key -> this.getProvider((Key) key, holderType))
+                .map(key -> this.buildDelegate((Key) key, provider -> DataProviderRegistry.filterHolderType((DataProvider) provider, holderType)))
                 .filter(provider -> !(provider instanceof EmptyDataProvider));
         final Map<Key<?>, DataProvider<?, ?>> map = stream.collect(Collectors.toMap(p -> (Key<?>) p.key(), p -> (DataProvider<?, ?>) p));
         return new DataProviderLookup(map);
@@ -191,9 +156,8 @@ public Collection<DataProvider<?,?>> getAllProviders(final Class<?> dataHolderTy
      * @param <E> The element type of the value
      * @return The delegate data provider
      */
-    @SuppressWarnings({"unchecked"})
     public <V extends Value<E>, E> DataProvider<V, E> getProvider(final Key<V> key, final Class<?> dataHolderType) {
-        return (DataProvider<V, E>) this.dataProviderCache.computeIfAbsent(new LookupKey(dataHolderType, key), this::loadProvider);
+        return this.getProviderLookup(dataHolderType).getProvider(key);
     }
 
     /**
@@ -203,8 +167,18 @@ public <V extends Value<E>, E> DataProvider<V, E> getProvider(final Key<V> key,
      */
     public void register(final DataProvider<?,?> provider) {
         this.dataProviders.put(provider.key(), provider);
-        this.dataProviderCache.clear();
         this.dataProviderLookupCache.clear();
+        this.generation++;
+    }
+
+    /**
+     * Gets a number that changes whenever a {@link DataProvider} is
+     * registered, so caches of resolved providers know to clear themselves.
+     *
+     * @return The generation of the registered providers
+     */
+    public int generation() {
+        return this.generation;
     }
 
     public void registerDefaultProviders() {
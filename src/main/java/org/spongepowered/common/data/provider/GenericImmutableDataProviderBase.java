@@ -25,6 +25,7 @@
 package org.spongepowered.common.data.provider;
 
 import io.leangen.geantyref.GenericTypeReflector;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.data.DataHolder;
 import org.spongepowered.api.data.Key;
 import org.spongepowered.api.data.value.Value;
@@ -35,7 +36,7 @@
 
 @SuppressWarnings("unchecked")
 public abstract class GenericImmutableDataProviderBase<H, V extends Value<E>, E> extends ImmutableDataProvider<V, E> implements
-        AbstractDataProvider.KnownHolderType {
+        AbstractDataProvider.KnownHolderType, AbstractDataProvider.DirectAccess<V, E> {
 
     private final Class<H> holderType;
 
@@ -77,6 +78,18 @@ protected boolean supports(final H dataHolder) {
      */
     protected abstract Optional<E> getFrom(H dataHolder);
 
+    /**
+     * Attempts to get data from the target data holder, without wrapping
+     * it in an {@link Optional}. Providers that read a plain field should
+     * override this.
+     *
+     * @param dataHolder The data holder
+     * @return The element, or null if not present
+     */
+    protected @Nullable E getNullableFrom(final H dataHolder) {
+        return this.getFrom(dataHolder).orElse(null);
+    }
+
     /**
      * Attempts to set data for the target data holder.
      *
@@ -115,6 +128,19 @@ public final Optional<E> get(final DataHolder dataHolder) {
         return this.getFrom((H) dataHolder);
     }
 
+    @Override
+    public final @Nullable E getOrNull(final DataHolder dataHolder) {
+        if (!this.isSupported(dataHolder)) {
+            return null;
+        }
+        return this.getNullableFrom((H) dataHolder);
+    }
+
+    @Override
+    public final V valueOf(final DataHolder dataHolder, final E element) {
+        return this.constructValue((H) dataHolder, element);
+    }
+
     @Override
     public Optional<V> value(final DataHolder dataHolder) {
         return this.get(dataHolder).map(e -> this.constructValue((H) dataHolder, e));
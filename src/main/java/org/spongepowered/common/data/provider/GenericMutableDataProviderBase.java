@@ -25,6 +25,7 @@
 package org.spongepowered.common.data.provider;
 
 import io.leangen.geantyref.GenericTypeReflector;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.data.DataHolder;
 import org.spongepowered.api.data.DataTransactionResult;
 import org.spongepowered.api.data.Key;
@@ -38,7 +39,7 @@
 
 @SuppressWarnings("unchecked")
 public abstract class GenericMutableDataProviderBase<H, V extends Value<E>, E> extends MutableDataProvider<V, E>
-        implements AbstractDataProvider.KnownHolderType {
+        implements AbstractDataProvider.KnownHolderType, AbstractDataProvider.DirectAccess<V, E> {
 
     private final Class<H> holderType;
 
@@ -88,6 +89,18 @@ protected boolean supports(final H dataHolder) {
      */
     protected abstract Optional<E> getFrom(H dataHolder);
 
+    /**
+     * Attempts to get data from the target data holder, without wrapping
+     * it in an {@link Optional}. Providers that read a plain field should
+     * override this.
+     *
+     * @param dataHolder The data holder
+     * @return The element, or null if not present
+     */
+    protected @Nullable E getNullableFrom(final H dataHolder) {
+        return this.getFrom(dataHolder).orElse(null);
+    }
+
     /**
      * Attempts to get data as a value from the target data holder
      *
@@ -198,6 +211,19 @@ public final Optional<E> get(final DataHolder dataHolder) {
         return this.getFrom((H) dataHolder);
     }
 
+    @Override
+    public final @Nullable E getOrNull(final DataHolder dataHolder) {
+        if (!this.isSupported(dataHolder)) {
+            return null;
+        }
+        return this.getNullableFrom((H) dataHolder);
+    }
+
+    @Override
+    public final V valueOf(final DataHolder dataHolder, final E element) {
+        return this.constructValue((H) dataHolder, element);
+    }
+
     @Override
     public final DataTransactionResult offerValue(final DataHolder.Mutable dataHolder, final V value) {
         if (!this.isSupported(dataHolder)) {
@@ -88,8 +88,8 @@
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
@@ -416,14 +416,28 @@ public void markDirty() {
         ((SpongeServer) SpongeCommon.server()).userManager().markDirty(this);
     }
 
+    public Path dataFile() {
+        final LevelStorageSource.LevelStorageAccess storageSource = ((MinecraftServerAccessor) Sponge.server()).accessor$storageSource();
+        return storageSource.getLevelPath(LevelResource.PLAYER_DATA_DIR).resolve(this.uniqueId() + ".dat");
+    }
+
+    /**
+     * Writes the current state of this user to a copy of its compound, which
+     * can then be saved from any thread.
+     *
+     * @return The snapshot
+     */
+    public synchronized CompoundTag snapshot() {
+        this.writeCompound(this.compound);
+        return this.compound.copy();
+    }
+
     public void save() throws IOException {
         synchronized (this) {
             final SpongeUserManager userManager = ((SpongeServer) SpongeCommon.server()).userManager();
-            final LevelStorageSource.LevelStorageAccess storageSource = ((MinecraftServerAccessor) Sponge.server()).accessor$storageSource();
-            final File file = storageSource.getLevelPath(LevelResource.PLAYER_DATA_DIR).resolve(this.uniqueId() + ".dat").toFile();
-            this.writeCompound(this.compound);
-            try (final FileOutputStream out = new FileOutputStream(file)) {
-                NbtIo.writeCompressed(this.compound, out);
+            final Path file = this.dataFile();
+            try {
+                userManager.dataWriter().write(this.uniqueId(), file, this.snapshot());
                 userManager.unmarkDirty(this);
             } catch (final IOException e) {
                 // We log the message here because the error may be swallowed by a completable future.
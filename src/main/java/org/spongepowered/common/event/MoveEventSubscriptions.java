@@ -0,0 +1,314 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.util.AABB;
+import org.spongepowered.api.world.server.ServerWorld;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Boundaries plugins are interested in when players move.
+ *
+ * <p>With {@code optimizations.subscription-filtered-player-movement}
+ * enabled, a player's movement packet only builds and posts a
+ * {@link org.spongepowered.api.event.entity.MoveEntityEvent} if the movement
+ * crosses the boundary of a subscribed region, or any block or chunk
+ * boundary while such interest is subscribed. Otherwise every movement is
+ * posted as before and subscriptions have no effect.</p>
+ *
+ * <p>Subscriptions change rarely compared to how often players move, so
+ * every change rebuilds an immutable index that movement checks read
+ * without locking. Regions are indexed by the chunks they overlap.</p>
+ */
+public final class MoveEventSubscriptions {
+
+    // Regions spanning more chunks than this are checked against every movement in their world instead
+    private static final int MAX_INDEXED_CHUNKS = 1024;
+    private static final int MAX_SPANNED_CHUNKS = 4;
+
+    private static final List<Subscription> SUBSCRIPTIONS = new ArrayList<>();
+    private static volatile Index INDEX = Index.EMPTY;
+
+    private MoveEventSubscriptions() {
+    }
+
+    /**
+     * Subscribes to players entering, leaving or passing through the region.
+     *
+     * @param plugin The plugin owning the subscription
+     * @param world The world the region is in
+     * @param region The region
+     * @return The subscription
+     */
+    public static Subscription subscribeRegion(final PluginContainer plugin, final ServerWorld world, final AABB region) {
+        return MoveEventSubscriptions.subscribe(new Subscription(Objects.requireNonNull(plugin, "plugin"), Kind.REGION,
+            Objects.requireNonNull(world, "world").key(), Objects.requireNonNull(region, "region")));
+    }
+
+    /**
+     * Subscribes to players crossing any block boundary.
+     *
+     * @param plugin The plugin owning the subscription
+     * @return The subscription
+     */
+    public static Subscription subscribeBlockBoundaries(final PluginContainer plugin) {
+        return MoveEventSubscriptions.subscribe(new Subscription(Objects.requireNonNull(plugin, "plugin"), Kind.BLOCK_BOUNDARIES, null, null));
+    }
+
+    /**
+     * Subscribes to players crossing any chunk boundary.
+     *
+     * @param plugin The plugin owning the subscription
+     * @return The subscription
+     */
+    public static Subscription subscribeChunkBoundaries(final PluginContainer plugin) {
+        return MoveEventSubscriptions.subscribe(new Subscription(Objects.requireNonNull(plugin, "plugin"), Kind.CHUNK_BOUNDARIES, null, null));
+    }
+
+    public static boolean isFiltering() {
+        return SpongeConfigs.getCommon().get().optimizations.subscriptionFilteredPlayerMovement;
+    }
+
+    /**
+     * Gets whether a move event should be posted for the player moving from
+     * its current position to the given one.
+     *
+     * @param player The moving player
+     * @param toX The destination x
+     * @param toY The destination y
+     * @param toZ The destination z
+     * @return Whether to post a move event
+     */
+    public static boolean shouldPost(final net.minecraft.server.level.ServerPlayer player, final double toX, final double toY, final double toZ) {
+        if (!MoveEventSubscriptions.isFiltering()) {
+            return true;
+        }
+        return MoveEventSubscriptions.crosses(((ServerWorld) player.getLevel()).key(), player.getX(), player.getY(), player.getZ(), toX, toY,
+            toZ);
+    }
+
+    static boolean crosses(final ResourceKey world, final double fromX, final double fromY, final double fromZ, final double toX,
+        final double toY, final double toZ
+    ) {
+        return MoveEventSubscriptions.INDEX.crosses(world, fromX, fromY, fromZ, toX, toY, toZ);
+    }
+
+    private static Subscription subscribe(final Subscription subscription) {
+        synchronized (MoveEventSubscriptions.SUBSCRIPTIONS) {
+            MoveEventSubscriptions.SUBSCRIPTIONS.add(subscription);
+            MoveEventSubscriptions.INDEX = new Index(MoveEventSubscriptions.SUBSCRIPTIONS);
+        }
+        return subscription;
+    }
+
+    private static void unsubscribe(final Subscription subscription) {
+        synchronized (MoveEventSubscriptions.SUBSCRIPTIONS) {
+            if (MoveEventSubscriptions.SUBSCRIPTIONS.remove(subscription)) {
+                MoveEventSubscriptions.INDEX = new Index(MoveEventSubscriptions.SUBSCRIPTIONS);
+            }
+        }
+    }
+
+    private enum Kind {
+        REGION,
+        BLOCK_BOUNDARIES,
+        CHUNK_BOUNDARIES
+    }
+
+    public static final class Subscription {
+
+        private final PluginContainer plugin;
+        private final Kind kind;
+        private final @Nullable ResourceKey world;
+        private final @Nullable AABB region;
+
+        private Subscription(final PluginContainer plugin, final Kind kind, final @Nullable ResourceKey world, final @Nullable AABB region) {
+            this.plugin = plugin;
+            this.kind = kind;
+            this.world = world;
+            this.region = region;
+        }
+
+        public PluginContainer plugin() {
+            return this.plugin;
+        }
+
+        public boolean isActive() {
+            synchronized (MoveEventSubscriptions.SUBSCRIPTIONS) {
+                return MoveEventSubscriptions.SUBSCRIPTIONS.contains(this);
+            }
+        }
+
+        public void cancel() {
+            MoveEventSubscriptions.unsubscribe(this);
+        }
+
+        @Override
+        public String toString() {
+            return "Subscription{plugin=" + this.plugin.metadata().id() + ", kind=" + this.kind
+                + (this.region == null ? "" : ", world=" + this.world + ", region=" + this.region) + "}";
+        }
+    }
+
+    private static final class Region {
+
+        final double minX;
+        final double minY;
+        final double minZ;
+        final double maxX;
+        final double maxY;
+        final double maxZ;
+
+        Region(final AABB aabb) {
+            this.minX = aabb.min().x();
+            this.minY = aabb.min().y();
+            this.minZ = aabb.min().z();
+            this.maxX = aabb.max().x();
+            this.maxY = aabb.max().y();
+            this.maxZ = aabb.max().z();
+        }
+
+        boolean contains(final double x, final double y, final double z) {
+            return x >= this.minX && x < this.maxX && y >= this.minY && y < this.maxY && z >= this.minZ && z < this.maxZ;
+        }
+
+        boolean crossedBy(final double fromX, final double fromY, final double fromZ, final double toX, final double toY, final double toZ) {
+            final boolean from = this.contains(fromX, fromY, fromZ);
+            if (from != this.contains(toX, toY, toZ)) {
+                return true;
+            }
+            if (from) {
+                return false;
+            }
+            // Neither end is inside, but the movement may still cut through the region
+            return Math.min(fromX, toX) < this.maxX && Math.max(fromX, toX) >= this.minX
+                && Math.min(fromY, toY) < this.maxY && Math.max(fromY, toY) >= this.minY
+                && Math.min(fromZ, toZ) < this.maxZ && Math.max(fromZ, toZ) >= this.minZ;
+        }
+    }
+
+    private static final class WorldIndex {
+
+        final Long2ObjectOpenHashMap<List<Region>> byChunk = new Long2ObjectOpenHashMap<>();
+        final List<Region> unindexed = new ArrayList<>();
+
+        void add(final Region region) {
+            final int minChunkX = Mth.floor(region.minX) >> 4;
+            final int minChunkZ = Mth.floor(region.minZ) >> 4;
+            final int maxChunkX = Mth.floor(region.maxX) >> 4;
+            final int maxChunkZ = Mth.floor(region.maxZ) >> 4;
+            if ((long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1) > MoveEventSubscriptions.MAX_INDEXED_CHUNKS) {
+                this.unindexed.add(region);
+                return;
+            }
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    this.byChunk.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), key -> new ArrayList<>()).add(region);
+                }
+            }
+        }
+    }
+
+    private static final class Index {
+
+        static final Index EMPTY = new Index(List.of());
+
+        private final boolean blockBoundaries;
+        private final boolean chunkBoundaries;
+        private final Map<ResourceKey, WorldIndex> worlds = new HashMap<>();
+
+        Index(final List<Subscription> subscriptions) {
+            boolean blockBoundaries = false;
+            boolean chunkBoundaries = false;
+            for (final Subscription subscription : subscriptions) {
+                switch (subscription.kind) {
+                    case BLOCK_BOUNDARIES -> blockBoundaries = true;
+                    case CHUNK_BOUNDARIES -> chunkBoundaries = true;
+                    case REGION -> this.worlds.computeIfAbsent(subscription.world, key -> new WorldIndex()).add(new Region(subscription.region));
+                }
+            }
+            this.blockBoundaries = blockBoundaries;
+            this.chunkBoundaries = chunkBoundaries;
+        }
+
+        boolean crosses(final ResourceKey world, final double fromX, final double fromY, final double fromZ, final double toX, final double toY,
+            final double toZ
+        ) {
+            final int fromBlockX = Mth.floor(fromX);
+            final int fromBlockZ = Mth.floor(fromZ);
+            final int toBlockX = Mth.floor(toX);
+            final int toBlockZ = Mth.floor(toZ);
+            if (this.chunkBoundaries && (fromBlockX >> 4 != toBlockX >> 4 || fromBlockZ >> 4 != toBlockZ >> 4)) {
+                return true;
+            }
+            if (this.blockBoundaries && (fromBlockX != toBlockX || fromBlockZ != toBlockZ || Mth.floor(fromY) != Mth.floor(toY))) {
+                return true;
+            }
+            final @Nullable WorldIndex index = this.worlds.get(world);
+            if (index == null) {
+                return false;
+            }
+            for (final Region region : index.unindexed) {
+                if (region.crossedBy(fromX, fromY, fromZ, toX, toY, toZ)) {
+                    return true;
+                }
+            }
+            final int minChunkX = Math.min(fromBlockX, toBlockX) >> 4;
+            final int minChunkZ = Math.min(fromBlockZ, toBlockZ) >> 4;
+            final int maxChunkX = Math.max(fromBlockX, toBlockX) >> 4;
+            final int maxChunkZ = Math.max(fromBlockZ, toBlockZ) >> 4;
+            if (maxChunkX - minChunkX > MoveEventSubscriptions.MAX_SPANNED_CHUNKS || maxChunkZ - minChunkZ > MoveEventSubscriptions.MAX_SPANNED_CHUNKS) {
+                // Far too long for a regular movement, rather post than walk the index
+                return true;
+            }
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    final @Nullable List<Region> regions = index.byChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+                    if (regions == null) {
+                        continue;
+                    }
+                    for (final Region region : regions) {
+                        if (region.crossedBy(fromX, fromY, fromZ, toX, toY, toZ)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+
+/**
+ * Posts an event to the complete, ordered list of listeners of a single
+ * event type. Implementations are generated by {@link EventDispatcherFactory}
+ * and contain one call site per listener.
+ *
+ * <p>The static helpers mirror the body of the dispatch loop in
+ * {@link SpongeEventManager}, generated dispatchers must keep behaving the
+ * same way as the loop does.</p>
+ */
+abstract class EventDispatcher {
+
+    abstract void dispatch(Event event);
+
+    static void order(final Event event, final @Nullable Order order) {
+        if (event instanceof AbstractEvent) {
+            ((AbstractEvent) event).currentOrder = order;
+        }
+    }
+
+    /**
+     * Prepares the cause stack and the phase context for a listener.
+     *
+     * @param handler The listener about to be called
+     * @param event The event being posted
+     * @return The frame to close after the listener was called, or null if
+     *     the listener must be skipped
+     */
+    static @Nullable Frame enter(final RegisteredListener<?> handler, final Event event) {
+        final CauseStackManager.StackFrame stackFrame = PhaseTracker.getCauseStackManager().pushCauseFrame();
+        final Frame frame = new Frame(handler, stackFrame, SpongeEventManager.createListenerContext(handler.getPlugin()));
+        try {
+            stackFrame.pushCause(handler.getPlugin());
+            if (frame.context != null) {
+                frame.context.buildAndSwitch();
+            }
+        } catch (final Throwable e) {
+            frame.fail(event, e);
+            frame.close(event);
+            return null;
+        }
+        return frame;
+    }
+
+    static final class Frame {
+
+        private final RegisteredListener<?> handler;
+        private final CauseStackManager.StackFrame stackFrame;
+        final @Nullable PhaseContext<@NonNull ?> context;
+
+        Frame(final RegisteredListener<?> handler, final CauseStackManager.StackFrame stackFrame,
+                final @Nullable PhaseContext<@NonNull ?> context) {
+            this.handler = handler;
+            this.stackFrame = stackFrame;
+            this.context = context;
+        }
+
+        void fail(final Event event, final Throwable e) {
+            SpongeCommon.logger().error("Could not pass {} to {}", event.getClass().getSimpleName(), this.handler.getPlugin().metadata().id(), e);
+        }
+
+        void close(final Event event) {
+            // Same closing order as the dispatch loop: the phase context first, then the cause frame
+            try (this.stackFrame; this.context) {
+                // nothing to do but close
+            } catch (final Throwable e) {
+                this.fail(event, e);
+            }
+        }
+    }
+}
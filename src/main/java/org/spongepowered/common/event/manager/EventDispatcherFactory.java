@@ -0,0 +1,257 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACONST_NULL;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.IFNULL;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V11;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.common.event.gen.LoaderClassWriter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates an {@link EventDispatcher} for the baked listeners of an event
+ * type.
+ *
+ * <p>The generated {@code dispatch} method unrolls the dispatch loop of
+ * {@link SpongeEventManager}: every listener gets its own call site, so each
+ * call site only ever sees a single listener class and can be inlined by the
+ * JIT, instead of going through the single megamorphic call in
+ * {@link RegisteredListener#handle(Event)}. Each call is prepared in the
+ * same order as the loop does: the cause frame and phase context first,
+ * then the current {@link Order} of the listener.</p>
+ */
+final class EventDispatcherFactory {
+
+    /**
+     * The number of posts to a baked event type before a dispatcher is
+     * generated, rarely posted events keep using the dispatch loop.
+     */
+    static final int GENERATION_THRESHOLD = 64;
+
+    /**
+     * Upper bound on the number of unrolled listeners, keeps the generated
+     * method well below the bytecode size limit.
+     */
+    private static final int MAX_LISTENERS = 512;
+
+    private static final String DISPATCHER = Type.getInternalName(EventDispatcher.class);
+    private static final String FRAME = Type.getInternalName(EventDispatcher.Frame.class);
+    private static final String FRAME_DESCRIPTOR = Type.getDescriptor(EventDispatcher.Frame.class);
+    private static final String EVENT_DESCRIPTOR = Type.getDescriptor(Event.class);
+    private static final String ORDER_DESCRIPTOR = Type.getDescriptor(Order.class);
+    private static final String HANDLER = Type.getInternalName(RegisteredListener.class);
+    private static final String HANDLER_DESCRIPTOR = Type.getDescriptor(RegisteredListener.class);
+    private static final String LISTENER = Type.getInternalName(EventListener.class);
+    private static final String LISTENER_DESCRIPTOR = Type.getDescriptor(EventListener.class);
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private EventDispatcherFactory() {
+    }
+
+    /**
+     * Generates a dispatcher for the given listeners.
+     *
+     * @param eventType The event type the listeners were baked for
+     * @param listeners The ordered listeners
+     * @return The dispatcher, or null if the dispatch loop should be used
+     */
+    static @Nullable EventDispatcher create(final EventType<?> eventType, final List<RegisteredListener<?>> listeners) {
+        if (listeners.isEmpty() || listeners.size() > EventDispatcherFactory.MAX_LISTENERS
+                || !SpongeConfigs.getCommon().get().optimizations.generatedEventDispatchers) {
+            return null;
+        }
+        final RegisteredListener<?>[] handlers = listeners.toArray(new RegisteredListener<?>[0]);
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(
+                EventDispatcherFactory.generateClass(eventType, handlers), true);
+            return (EventDispatcher) lookup.findConstructor(
+                lookup.lookupClass(),
+                MethodType.methodType(void.class, RegisteredListener[].class)
+            ).invoke(handlers);
+        } catch (final Throwable e) {
+            SpongeCommon.logger().error("Failed to generate an event dispatcher for {}, falling back to the dispatch loop", eventType, e);
+            return null;
+        }
+    }
+
+    private static byte[] generateClass(final EventType<?> eventType, final RegisteredListener<?>[] handlers) {
+        final String name = EventDispatcherFactory.DISPATCHER + '_' + EventDispatcherFactory.sanitize(eventType.getType())
+            + '_' + EventDispatcherFactory.COUNTER.incrementAndGet();
+
+        final ClassWriter cw = new LoaderClassWriter(EventDispatcherFactory.class.getClassLoader(),
+            ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        MethodVisitor mv;
+
+        cw.visit(V11, ACC_FINAL + ACC_SUPER, name, null, EventDispatcherFactory.DISPATCHER, null);
+
+        for (int i = 0; i < handlers.length; i++) {
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "handler" + i, EventDispatcherFactory.HANDLER_DESCRIPTOR, null, null).visitEnd();
+            cw.visitField(ACC_PRIVATE + ACC_FINAL, "listener" + i, EventDispatcherFactory.LISTENER_DESCRIPTOR, null, null).visitEnd();
+        }
+        {
+            mv = cw.visitMethod(0, "<init>", "([" + EventDispatcherFactory.HANDLER_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, EventDispatcherFactory.DISPATCHER, "<init>", "()V", false);
+            for (int i = 0; i < handlers.length; i++) {
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitLdcInsn(i);
+                mv.visitInsn(AALOAD);
+                mv.visitFieldInsn(PUTFIELD, name, "handler" + i, EventDispatcherFactory.HANDLER_DESCRIPTOR);
+                mv.visitVarInsn(ALOAD, 0);
+                mv.visitVarInsn(ALOAD, 1);
+                mv.visitLdcInsn(i);
+                mv.visitInsn(AALOAD);
+                mv.visitMethodInsn(INVOKEVIRTUAL, EventDispatcherFactory.HANDLER, "getListener",
+                    "()" + EventDispatcherFactory.LISTENER_DESCRIPTOR, false);
+                mv.visitFieldInsn(PUTFIELD, name, "listener" + i, EventDispatcherFactory.LISTENER_DESCRIPTOR);
+            }
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        {
+            mv = cw.visitMethod(0, "dispatch", '(' + EventDispatcherFactory.EVENT_DESCRIPTOR + ")V", null, null);
+            mv.visitCode();
+            for (int i = 0; i < handlers.length; i++) {
+                EventDispatcherFactory.visitListenerCall(mv, name, i, handlers[i].getOrder());
+            }
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitInsn(ACONST_NULL);
+            mv.visitMethodInsn(INVOKESTATIC, EventDispatcherFactory.DISPATCHER, "order",
+                '(' + EventDispatcherFactory.EVENT_DESCRIPTOR + EventDispatcherFactory.ORDER_DESCRIPTOR + ")V", false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+
+        return cw.toByteArray();
+    }
+
+    /**
+     * Gets the last part of the binary name of the class, with everything
+     * that isn't valid in a class name of its own replaced. Anonymous, local
+     * and hidden classes don't have a usable simple name.
+     */
+    private static String sanitize(final Class<?> type) {
+        final String name = type.getName();
+        final StringBuilder builder = new StringBuilder();
+        for (int i = name.lastIndexOf('.') + 1; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            builder.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    // final Frame frame = EventDispatcher.enter(this.handlerN, event);
+    // if (frame != null) {
+    //     EventDispatcher.order(event, Order.N);
+    //     try {
+    //         this.listenerN.handle(event);
+    //     } catch (final Throwable e) {
+    //         frame.fail(event, e);
+    //     }
+    //     frame.close(event);
+    // }
+    private static void visitListenerCall(final MethodVisitor mv, final String name, final int index, final Order order) {
+        final Label start = new Label();
+        final Label end = new Label();
+        final Label handler = new Label();
+        final Label close = new Label();
+        final Label next = new Label();
+        mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, name, "handler" + index, EventDispatcherFactory.HANDLER_DESCRIPTOR);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKESTATIC, EventDispatcherFactory.DISPATCHER, "enter",
+            '(' + EventDispatcherFactory.HANDLER_DESCRIPTOR + EventDispatcherFactory.EVENT_DESCRIPTOR + ')'
+                + EventDispatcherFactory.FRAME_DESCRIPTOR, false);
+        mv.visitVarInsn(ASTORE, 2);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitJumpInsn(IFNULL, next);
+
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitFieldInsn(GETSTATIC, Type.getInternalName(Order.class), order.name(), EventDispatcherFactory.ORDER_DESCRIPTOR);
+        mv.visitMethodInsn(INVOKESTATIC, EventDispatcherFactory.DISPATCHER, "order",
+            '(' + EventDispatcherFactory.EVENT_DESCRIPTOR + EventDispatcherFactory.ORDER_DESCRIPTOR + ")V", false);
+
+        mv.visitLabel(start);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, name, "listener" + index, EventDispatcherFactory.LISTENER_DESCRIPTOR);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKEINTERFACE, EventDispatcherFactory.LISTENER, "handle",
+            '(' + EventDispatcherFactory.EVENT_DESCRIPTOR + ")V", true);
+        mv.visitLabel(end);
+        mv.visitJumpInsn(GOTO, close);
+
+        mv.visitLabel(handler);
+        mv.visitVarInsn(ASTORE, 3);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ALOAD, 3);
+        mv.visitMethodInsn(INVOKEVIRTUAL, EventDispatcherFactory.FRAME, "fail",
+            '(' + EventDispatcherFactory.EVENT_DESCRIPTOR + "Ljava/lang/Throwable;)V", false);
+
+        mv.visitLabel(close);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKEVIRTUAL, EventDispatcherFactory.FRAME, "close", '(' + EventDispatcherFactory.EVENT_DESCRIPTOR + ")V", false);
+        mv.visitLabel(next);
+    }
+}
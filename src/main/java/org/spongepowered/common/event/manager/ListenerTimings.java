@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+import org.spongepowered.common.util.DurationHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the execution time and cancellation rate of each
+ * {@link RegisteredListener}.
+ *
+ * <p>An instance only exists while timings are enabled, the event manager
+ * dispatches straight to the listeners otherwise.</p>
+ */
+public final class ListenerTimings {
+
+    private static final long SLOW_REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final Map<RegisteredListener<?>, Stats> stats = new ConcurrentHashMap<>();
+
+    ListenerTimings() {
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void handle(final RegisteredListener handler, final Event event) throws Exception {
+        final boolean wasCancelled = event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        final long start = System.nanoTime();
+        try {
+            handler.handle(event);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            final boolean cancelled = !wasCancelled && event instanceof Cancellable && ((Cancellable) event).isCancelled();
+            final Stats stats = this.stats.computeIfAbsent(handler, k -> new Stats());
+            stats.record(elapsed, cancelled);
+            this.checkSlow(handler, event, stats, elapsed);
+        }
+    }
+
+    private void checkSlow(final RegisteredListener<?> handler, final Event event, final Stats stats, final long elapsed) {
+        final double threshold = SpongeConfigs.getCommon().get().timings.slowListenerThreshold;
+        if (threshold <= 0 || elapsed < threshold * 1_000_000L) {
+            return;
+        }
+        stats.slowCalls.increment();
+        final long last = stats.lastSlowReport.get();
+        final long now = System.nanoTime();
+        if (last != 0 && now - last < ListenerTimings.SLOW_REPORT_INTERVAL) {
+            return;
+        }
+        if (stats.lastSlowReport.compareAndSet(last, now)) {
+            SpongeCommon.logger().warn("Listener {} of plugin '{}' took {}ms to handle {} ({} slow calls so far)",
+                    handler.getName(), handler.getPlugin().metadata().id(), String.format("%.3f", elapsed / 1_000_000.0),
+                    event.getClass().getSimpleName(), stats.slowCalls.sum());
+        }
+    }
+
+    /**
+     * Gets a report for every listener that has been called, ordered by
+     * descending total execution time.
+     *
+     * @return The listener reports
+     */
+    public List<Report> reports() {
+        final List<Report> reports = new ArrayList<>(this.stats.size());
+        this.stats.forEach((handler, stats) -> reports.add(new Report(handler.getPlugin().metadata().id(), handler.getName(),
+                handler.getEventType().toString(), stats.durations.snapshot(), stats.cancellations.sum(), stats.slowCalls.sum())));
+        reports.sort(Comparator.comparingLong((Report report) -> report.durations().totalNanos()).reversed());
+        return reports;
+    }
+
+    void remove(final RegisteredListener<?> handler) {
+        this.stats.remove(handler);
+    }
+
+    /**
+     * Clears all timings recorded so far.
+     */
+    public void reset() {
+        this.stats.clear();
+    }
+
+    static final class Stats {
+
+        final DurationHistogram durations = new DurationHistogram();
+        final LongAdder cancellations = new LongAdder();
+        final LongAdder slowCalls = new LongAdder();
+        final AtomicLong lastSlowReport = new AtomicLong();
+
+        void record(final long nanos, final boolean cancelled) {
+            this.durations.record(nanos);
+            if (cancelled) {
+                this.cancellations.increment();
+            }
+        }
+    }
+
+    /**
+     * The timings of a single listener.
+     *
+     * @param plugin The id of the plugin owning the listener
+     * @param listener The name of the listener
+     * @param eventType The event type the listener is registered for
+     * @param durations The execution durations
+     * @param cancellations The number of calls that cancelled the event
+     * @param slowCalls The number of calls over the slow listener threshold
+     */
+    public record Report(String plugin, String listener, String eventType, DurationHistogram.Snapshot durations,
+            long cancellations, long slowCalls) {
+
+        public double cancellationRate() {
+            return this.durations.count() == 0 ? 0 : (double) this.cancellations / this.durations.count();
+        }
+    }
+}
@@ -26,6 +26,7 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.EventListener;
 import org.spongepowered.api.event.Order;
@@ -49,13 +50,17 @@
 
     private final boolean beforeModifications;
 
+    private final String name;
+
     RegisteredListener(
-            final PluginContainer plugin, final EventType<T> eventType, final Order order, final EventListener<? super T> listener, final boolean beforeModifications) {
+            final PluginContainer plugin, final EventType<T> eventType, final Order order, final EventListener<? super T> listener,
+            final boolean beforeModifications, final String name) {
         this.plugin = checkNotNull(plugin, "plugin");
         this.eventType = checkNotNull(eventType, "eventType");
         this.order = checkNotNull(order, "order");
         this.listener = checkNotNull(listener, "listener");
         this.beforeModifications = beforeModifications;
+        this.name = checkNotNull(name, "name");
     }
 
     public PluginContainer getPlugin() {
@@ -74,6 +79,20 @@ public boolean isBeforeModifications() {
         return this.beforeModifications;
     }
 
+    /**
+     * Gets a human readable name of this listener, such as the declaring
+     * class and method of an annotated listener.
+     *
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    EventListener<? super T> getListener() {
+        return this.listener;
+    }
+
     @Override
     public Object getHandle() {
         if (this.listener instanceof SpongeEventListener) {
@@ -95,12 +114,16 @@ public int compareTo(final RegisteredListener<?> handler) {
 
     public static final class Cache {
 
+        private final EventType<?> eventType;
         private final List<RegisteredListener<?>> listeners;
         private final List<RegisteredListener<?>> beforeModifications = new ArrayList<>();
         private final List<RegisteredListener<?>> afterModifications = new ArrayList<>();
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
+        private @Nullable EventDispatcher dispatcher;
+        private int posts;
 
-        Cache(final List<RegisteredListener<?>> listeners) {
+        Cache(final EventType<?> eventType, final List<RegisteredListener<?>> listeners) {
+            this.eventType = eventType;
             this.listeners = listeners;
 
             this.listenersByOrder = new EnumMap<>(Order.class);
@@ -135,6 +158,22 @@ public List<RegisteredListener<?>> afterModifications() {
             return Collections.unmodifiableList(this.afterModifications);
         }
 
+        /**
+         * Gets the generated dispatcher of these listeners, generating it
+         * once this event type was posted often enough.
+         *
+         * @return The dispatcher, or null if the dispatch loop should be used
+         */
+        @Nullable EventDispatcher dispatcher() {
+            final @Nullable EventDispatcher dispatcher = this.dispatcher;
+            if (dispatcher != null || this.posts == EventDispatcherFactory.GENERATION_THRESHOLD
+                    || ++this.posts < EventDispatcherFactory.GENERATION_THRESHOLD) {
+                return dispatcher;
+            }
+            // Racing threads may both generate a dispatcher, either one is fine to use
+            return this.dispatcher = EventDispatcherFactory.create(this.eventType, this.listeners);
+        }
+
     }
 
 }
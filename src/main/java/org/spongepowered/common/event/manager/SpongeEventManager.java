@@ -24,10 +24,7 @@
  */
 package org.spongepowered.common.event.manager;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.ImmutableList;
 import io.leangen.geantyref.GenericTypeReflector;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -57,19 +54,20 @@
 
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
-import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -81,45 +79,31 @@ public abstract class SpongeEventManager implements EventManager {
 
     public final ListenerChecker checker;
     private final Object lock;
-    private final Multimap<Class<?>, RegisteredListener<?>> handlersByEvent;
+    /**
+     * The registered listeners per raw event type. The lists are immutable,
+     * and are replaced as a whole while holding the {@link #lock}, so that
+     * baking never has to acquire the lock.
+     */
+    private final Map<Class<?>, List<RegisteredListener<?>>> handlersByEvent;
+    /**
+     * Incremented every time the registered listeners change, used to detect
+     * handler caches that were baked concurrently with a change.
+     */
+    private final AtomicLong handlersVersion = new AtomicLong();
     /**
      * A cache of all the handlers for an event type for quick event posting.
-     * <p>The cache is currently entirely invalidated if handlers are added or
-     * removed.</p>
+     * <p>When handlers are added or removed, only the cached event types that
+     * are subtypes of the changed event type are invalidated.</p>
      */
-    protected final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
-            Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
+    protected final Map<EventType<?>, RegisteredListener.Cache> handlersCache = new ConcurrentHashMap<>(150);
     private final Set<Object> registeredListeners;
+    private volatile @Nullable ListenerTimings listenerTimings;
 
     public SpongeEventManager() {
         this.lock = new Object();
-        this.handlersByEvent = HashMultimap.create();
+        this.handlersByEvent = new ConcurrentHashMap<>();
         this.registeredListeners = new ReferenceOpenHashSet<>();
         this.checker = new ListenerChecker(ShouldFire.class);
-
-        // Caffeine offers no control over the concurrency level of the
-        // ConcurrentHashMap which backs the cache. By default this concurrency
-        // level is 16. We replace the backing map before any use can occur
-        // a new ConcurrentHashMap with a concurrency level of 1
-        try {
-            // Cache impl class is UnboundedLocalLoadingCache which extends
-            // UnboundedLocalManualCache
-
-            // UnboundedLocalManualCache has a field 'cache' with an
-            // UnboundedLocalCache which contains the actual backing map
-            final Field innerCache = this.handlersCache.getClass().getSuperclass().getDeclaredField("cache");
-            innerCache.setAccessible(true);
-            final Object innerCacheValue = innerCache.get(this.handlersCache);
-            final Class<?> innerCacheClass = innerCacheValue.getClass(); // UnboundedLocalCache
-            final Field cacheData = innerCacheClass.getDeclaredField("data");
-            cacheData.setAccessible(true);
-            final ConcurrentHashMap<Class<? extends Event>, RegisteredListener.Cache> newBackingData =
-                    new ConcurrentHashMap<>(150, 0.75f, 1);
-            cacheData.set(innerCacheValue, newBackingData);
-        } catch (final NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-            SpongeCommon.logger().warn("Failed to set event cache backing array, type was " + this.handlersCache.getClass().getName());
-            SpongeCommon.logger().warn("  Caused by: " + e.getClass().getName() + ": " + e.getMessage());
-        }
     }
 
     private static @Nullable String getHandlerErrorOrNull(final ListenerClassVisitor.DiscoveredMethod method) throws
@@ -150,13 +134,13 @@ public SpongeEventManager() {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static <T extends Event> RegisteredListener<T> createRegistration(final PluginContainer plugin, final Type eventType,
-            final Order order, final boolean beforeModifications, final EventListener<? super T> handler) {
+            final Order order, final boolean beforeModifications, final EventListener<? super T> handler, final String name) {
         @Nullable Type genericType = null;
         final Class<?> erased = GenericTypeReflector.erase(eventType);
         if (GenericEvent.class.isAssignableFrom(erased)) {
             genericType = TypeTokenUtil.typeArgumentFromSupertype(eventType, GenericEvent.class, 0);
         }
-        return new RegisteredListener(plugin, new EventType(erased, genericType), order, handler, beforeModifications);
+        return new RegisteredListener(plugin, new EventType(erased, genericType), order, handler, beforeModifications, name);
     }
 
     <T extends Event> RegisteredListener.Cache bakeHandlers(final EventType<T> eventType) {
@@ -167,60 +151,90 @@ <T extends Event> RegisteredListener.Cache bakeHandlers(final EventType<T> event
 
         // TODO: Move @Includes and @Excludes from filters to the baking process, this simplifies the generated
         //       filter code and makes the filter baking target more specific handlers.
-        synchronized (this.lock) {
-            for (final Iterator<? extends Class<?>> it = types.iterator(); it.hasNext(); ) {
-                final Class<?> type = it.next();
-                final Collection<RegisteredListener<?>> listeners = this.handlersByEvent.get(type);
-                if (GenericEvent.class.isAssignableFrom(type)) {
-                    final Type genericType = Objects.requireNonNull(eventType.getGenericType());
-                    for (final RegisteredListener<?> listener : listeners) {
-                        final Type genericType1 = Objects.requireNonNull(listener.getEventType().getGenericType());
-                        if (TypeTokenUtil.isAssignable(genericType, genericType1)) {
-                            handlers.add(listener);
-                        }
+        for (final Iterator<? extends Class<?>> it = types.iterator(); it.hasNext(); ) {
+            final Class<?> type = it.next();
+            final List<RegisteredListener<?>> listeners = this.handlersByEvent.getOrDefault(type, Collections.emptyList());
+            if (GenericEvent.class.isAssignableFrom(type)) {
+                final Type genericType = Objects.requireNonNull(eventType.getGenericType());
+                for (final RegisteredListener<?> listener : listeners) {
+                    final Type genericType1 = Objects.requireNonNull(listener.getEventType().getGenericType());
+                    if (TypeTokenUtil.isAssignable(genericType, genericType1)) {
+                        handlers.add(listener);
                     }
-                } else {
-                    handlers.addAll(listeners);
                 }
+            } else {
+                handlers.addAll(listeners);
             }
         }
 
         Collections.sort(handlers);
-        return new RegisteredListener.Cache(handlers);
+        return new RegisteredListener.Cache(eventType, handlers);
     }
 
-    private void register(final List<RegisteredListener<? extends Event>> handlers) {
-        boolean changed = false;
+    private RegisteredListener.Cache getOrBakeHandlers(final EventType<?> eventType) {
+        final RegisteredListener.@Nullable Cache cached = this.handlersCache.get(eventType);
+        if (cached != null) {
+            return cached;
+        }
+        final long version = this.handlersVersion.get();
+        final RegisteredListener.Cache baked = this.bakeHandlers(eventType);
+        final RegisteredListener.@Nullable Cache existing = this.handlersCache.putIfAbsent(eventType, baked);
+        if (existing != null) {
+            return existing;
+        }
+        // The listeners changed while baking, the invalidation may have run
+        // before our cache was stored, so don't keep it around.
+        if (this.handlersVersion.get() != version) {
+            this.handlersCache.remove(eventType, baked);
+        }
+        return baked;
+    }
 
-        synchronized (this.lock) {
-            for (final RegisteredListener<?> handler : handlers) {
-                final Class<?> raw = handler.getEventType().getType();
-                if (this.handlersByEvent.put(raw, handler)) {
-                    changed = true;
-                    this.checker.registerListenerFor(raw);
+    /**
+     * Invalidates the cached handlers of every event type that may receive
+     * events for one of the changed types. Must be called after the changes
+     * to {@link #handlersByEvent} have been published.
+     *
+     * @param changedTypes The raw event types whose listeners changed
+     */
+    private void invalidateHandlers(final Set<Class<?>> changedTypes) {
+        this.handlersVersion.incrementAndGet();
+        this.handlersCache.keySet().removeIf(eventType -> {
+            for (final Class<?> changedType : changedTypes) {
+                if (changedType.isAssignableFrom(eventType.getType())) {
+                    return true;
                 }
             }
-        }
-
-        if (changed) {
-            this.handlersCache.invalidateAll();
-        }
+            return false;
+        });
     }
 
-    private void register(final RegisteredListener<? extends Event> handler) {
-        boolean changed = false;
+    private void register(final List<RegisteredListener<? extends Event>> handlers) {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        final Set<Class<?>> changedTypes = new HashSet<>();
 
         synchronized (this.lock) {
-            final Class<?> raw = handler.getEventType().getType();
-            if (this.handlersByEvent.put(raw, handler)) {
-                changed = true;
+            final Map<Class<?>, List<RegisteredListener<?>>> added = new HashMap<>();
+            for (final RegisteredListener<?> handler : handlers) {
+                final Class<?> raw = handler.getEventType().getType();
+                added.computeIfAbsent(raw, k -> new ArrayList<>()).add(handler);
                 this.checker.registerListenerFor(raw);
             }
+            for (final Map.Entry<Class<?>, List<RegisteredListener<?>>> entry : added.entrySet()) {
+                this.handlersByEvent.compute(entry.getKey(), (raw, existing) -> existing == null
+                        ? ImmutableList.copyOf(entry.getValue())
+                        : ImmutableList.<RegisteredListener<?>>builder().addAll(existing).addAll(entry.getValue()).build());
+                changedTypes.add(entry.getKey());
+            }
         }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
-        }
+        this.invalidateHandlers(changedTypes);
+    }
+
+    private void register(final RegisteredListener<? extends Event> handler) {
+        this.register(Collections.singletonList(handler));
     }
 
     protected abstract MethodHandles.@Nullable Lookup getLookup(final PluginContainer plugin, final Class<?> handle);
@@ -269,7 +283,7 @@ private void registerListener(final PluginContainer plugin, final Object listene
                     }
 
                     handlers.add(SpongeEventManager.createRegistration(plugin, eventType, listener.order(), listener.beforeModifications(),
-                        handler));
+                        handler, handle.getName() + "#" + method.methodName()));
                 } else {
                     methodErrors.put(method, error);
                 }
@@ -319,7 +333,8 @@ private void registerListener(final PluginContainer plugin, final Object listene
     public <E extends Event> EventManager registerListener(final EventListenerRegistration<E> registration) {
         Objects.requireNonNull(registration, "registration");
         final RegisteredListener<E> handler = SpongeEventManager.createRegistration(registration.plugin(),
-                registration.eventType(), registration.order(), registration.beforeModifications(), registration.listener());
+                registration.eventType(), registration.order(), registration.beforeModifications(), registration.listener(),
+                registration.listener().getClass().getName());
         this.register(handler);
         return this;
     }
@@ -347,23 +362,36 @@ public SpongeEventManager registerListeners(final PluginContainer plugin, final
     }
 
     private void unregister(final Predicate<RegisteredListener<?>> unregister) {
-        boolean changed = false;
+        final Set<Class<?>> changedTypes = new HashSet<>();
+        final @Nullable ListenerTimings timings = this.listenerTimings;
 
         synchronized (this.lock) {
-            final Iterator<RegisteredListener<?>> itr = this.handlersByEvent.values().iterator();
-            while (itr.hasNext()) {
-                final RegisteredListener<?> handler = itr.next();
-                if (unregister.test(handler)) {
-                    itr.remove();
-                    changed = true;
-                    this.checker.unregisterListenerFor(handler.getEventType().getType());
-                    this.registeredListeners.remove(handler.getHandle());
+            for (final Map.Entry<Class<?>, List<RegisteredListener<?>>> entry : this.handlersByEvent.entrySet()) {
+                final List<RegisteredListener<?>> remaining = new ArrayList<>(entry.getValue().size());
+                for (final RegisteredListener<?> handler : entry.getValue()) {
+                    if (unregister.test(handler)) {
+                        this.checker.unregisterListenerFor(handler.getEventType().getType());
+                        this.registeredListeners.remove(handler.getHandle());
+                        if (timings != null) {
+                            timings.remove(handler);
+                        }
+                    } else {
+                        remaining.add(handler);
+                    }
+                }
+                if (remaining.size() != entry.getValue().size()) {
+                    changedTypes.add(entry.getKey());
+                    if (remaining.isEmpty()) {
+                        this.handlersByEvent.remove(entry.getKey());
+                    } else {
+                        this.handlersByEvent.put(entry.getKey(), ImmutableList.copyOf(remaining));
+                    }
                 }
             }
         }
 
-        if (changed) {
-            this.handlersCache.invalidateAll();
+        if (!changedTypes.isEmpty()) {
+            this.invalidateHandlers(changedTypes);
         }
     }
 
@@ -387,11 +415,38 @@ protected RegisteredListener.Cache getHandlerCache(final Event event) {
         } else {
             eventType = new EventType(eventClass, null);
         }
-        return this.handlersCache.get(eventType);
+        return this.getOrBakeHandlers(eventType);
+    }
+
+    /**
+     * Gets the timings of the registered listeners, if they are being
+     * recorded.
+     *
+     * @return The listener timings, or null if disabled
+     */
+    public @Nullable ListenerTimings listenerTimings() {
+        return this.listenerTimings;
+    }
+
+    /**
+     * Enables or disables the recording of listener timings. Disabling
+     * discards all timings recorded so far.
+     *
+     * @param enabled Whether timings should be recorded
+     */
+    public void setListenerTimingsEnabled(final boolean enabled) {
+        if (enabled) {
+            if (this.listenerTimings == null) {
+                this.listenerTimings = new ListenerTimings();
+            }
+        } else {
+            this.listenerTimings = null;
+        }
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected final boolean post(final Event event, final List<RegisteredListener<?>> handlers) {
+        final @Nullable ListenerTimings timings = this.listenerTimings;
         for (final RegisteredListener handler : handlers) {
             try (
                     final CauseStackManager.StackFrame frame = PhaseTracker.getCauseStackManager().pushCauseFrame();
@@ -404,7 +459,11 @@ protected final boolean post(final Event event, final List<RegisteredListener<?>
                 if (event instanceof AbstractEvent) {
                     ((AbstractEvent) event).currentOrder = handler.getOrder();
                 }
-                handler.handle(event);
+                if (timings == null) {
+                    handler.handle(event);
+                } else {
+                    timings.handle(handler, event);
+                }
             } catch (final Throwable e) {
                 SpongeCommon.logger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin().metadata().id(), e);
             }
@@ -434,7 +493,13 @@ public boolean post(final Event event) {
             // Allow the client thread by default so devs can actually
             // call their own events inside the init events. Only allowing
             // this as long that there is no server available
-            return this.post(event, this.getHandlerCache(event).getListeners());
+            final RegisteredListener.Cache cache = this.getHandlerCache(event);
+            final @Nullable EventDispatcher dispatcher = this.listenerTimings == null ? cache.dispatcher() : null;
+            if (dispatcher == null) {
+                return this.post(event, cache.getListeners());
+            }
+            dispatcher.dispatch(event);
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
         }
     }
 
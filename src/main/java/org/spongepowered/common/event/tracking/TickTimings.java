@@ -0,0 +1,334 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.tracking;
+
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the time spent ticking entities, block entities, blocks and
+ * fluids over a rolling window, keyed by type and world. The namespace of
+ * each type is the same one used by the {@code tracker.conf} categories,
+ * which makes it possible to attribute the time to the owning plugin or mod.
+ *
+ * <p>An instance only exists while tick timings are enabled, callers check
+ * {@link #get()} for {@code null} before reading the clock so the disabled
+ * cost is a single field read per tick.</p>
+ */
+public final class TickTimings {
+
+    private static final int SLICES = 10;
+
+    private static volatile @Nullable TickTimings instance;
+
+    private final long sliceNanos;
+    private final Slice[] slices = new Slice[TickTimings.SLICES];
+    private final Map<Category, Map<ResourceKey<Level>, Map<Object, Key>>> keys = new EnumMap<>(Category.class);
+
+    private TickTimings(final long windowNanos) {
+        this.sliceNanos = Math.max(1, windowNanos / TickTimings.SLICES);
+        for (int i = 0; i < TickTimings.SLICES; i++) {
+            this.slices[i] = new Slice();
+        }
+        for (final Category category : Category.values()) {
+            this.keys.put(category, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static @Nullable TickTimings get() {
+        return TickTimings.instance;
+    }
+
+    public static boolean isEnabled() {
+        return TickTimings.instance != null;
+    }
+
+    /**
+     * Enables or disables the recording of tick timings. Enabling discards
+     * any previously recorded timings and picks up the configured window.
+     *
+     * @param enabled Whether timings should be recorded
+     */
+    public static synchronized void setEnabled(final boolean enabled) {
+        if (!enabled) {
+            TickTimings.instance = null;
+        } else if (TickTimings.instance == null) {
+            final long window = Math.max(1, SpongeConfigs.getCommon().get().timings.tickTimingsWindow);
+            TickTimings.instance = new TickTimings(TimeUnit.SECONDS.toNanos(window));
+        }
+    }
+
+    public void record(final Category category, final Object type, final ResourceKey<Level> world, final long start) {
+        final long now = System.nanoTime();
+        final long epoch = now / this.sliceNanos;
+        final Slice slice = this.slices[(int) (epoch % TickTimings.SLICES)];
+        if (slice.epoch != epoch) {
+            slice.rotate(epoch);
+        }
+        final Key key = this.key(category, type, world);
+        @Nullable Stats stats = slice.stats.get(key);
+        if (stats == null) {
+            stats = slice.stats.computeIfAbsent(key, k -> new Stats());
+        }
+        stats.record(now - start);
+    }
+
+    /**
+     * Gets the interned key of a type within a world. The key resolves the
+     * registry names once, so the tick path neither allocates nor queries
+     * the registries after the first tick of a type.
+     */
+    private Key key(final Category category, final Object type, final ResourceKey<Level> world) {
+        final Map<ResourceKey<Level>, Map<Object, Key>> byWorld = this.keys.get(category);
+        @Nullable Map<Object, Key> byType = byWorld.get(world);
+        if (byType == null) {
+            byType = byWorld.computeIfAbsent(world, k -> new ConcurrentHashMap<>());
+        }
+        @Nullable Key key = byType.get(type);
+        if (key == null) {
+            key = byType.computeIfAbsent(type, t -> new Key(category, TickTimings.key(category.registry, t), world.location().toString()));
+        }
+        return key;
+    }
+
+    /**
+     * Gets the timings recorded within the window, grouped as requested and
+     * ordered by descending total time.
+     *
+     * @param grouping How the recorded timings are grouped
+     * @return The reports
+     */
+    public List<Report> reports(final Grouping grouping) {
+        final long oldest = System.nanoTime() / this.sliceNanos - TickTimings.SLICES + 1;
+        final Map<Report.Id, long[]> merged = new HashMap<>();
+        for (final Slice slice : this.slices) {
+            if (slice.epoch < oldest) {
+                continue;
+            }
+            slice.stats.forEach((key, stats) -> {
+                final long[] values = merged.computeIfAbsent(grouping.id(key), k -> new long[3]);
+                values[0] += stats.count.sum();
+                values[1] += stats.total.sum();
+                values[2] = Math.max(values[2], stats.max.get());
+            });
+        }
+        final List<Report> reports = new ArrayList<>(merged.size());
+        merged.forEach((id, values) -> reports.add(new Report(id, values[0], values[1], values[2])));
+        reports.sort(Comparator.comparingLong(Report::totalNanos).reversed());
+        return reports;
+    }
+
+    /**
+     * Gets the length of the rolling window that reports cover.
+     *
+     * @return The window length, in seconds
+     */
+    public long windowSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(this.sliceNanos * TickTimings.SLICES);
+    }
+
+    /**
+     * Clears all timings recorded so far.
+     */
+    public void reset() {
+        for (final Slice slice : this.slices) {
+            slice.rotate(Long.MIN_VALUE);
+        }
+        this.keys.values().forEach(Map::clear);
+    }
+
+    /**
+     * Writes every report within the window, ungrouped, to the given file.
+     *
+     * @param file The target file
+     * @throws IOException If the file could not be written
+     */
+    public void export(final Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (final JsonWriter writer = new JsonWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("generated").value(Instant.now().toString());
+            writer.name("windowSeconds").value(this.windowSeconds());
+            writer.name("timings").beginArray();
+            for (final Report report : this.reports(Grouping.TYPE)) {
+                writer.beginObject();
+                writer.name("category").value(report.id().category().name().toLowerCase(Locale.ROOT));
+                writer.name("type").value(report.id().type());
+                writer.name("namespace").value(report.id().namespace());
+                writer.name("world").value(report.id().world());
+                writer.name("count").value(report.count());
+                writer.name("totalNanos").value(report.totalNanos());
+                writer.name("maxNanos").value(report.maxNanos());
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+
+    private static ResourceLocation key(final Registry<?> registry, final Object type) {
+        @SuppressWarnings("unchecked")
+        final @Nullable ResourceLocation key = ((Registry<Object>) registry).getKey(type);
+        return key == null ? new ResourceLocation("unknown", "unknown") : key;
+    }
+
+    public enum Category {
+        ENTITY(BuiltInRegistries.ENTITY_TYPE),
+        BLOCK_ENTITY(BuiltInRegistries.BLOCK_ENTITY_TYPE),
+        BLOCK(BuiltInRegistries.BLOCK),
+        RANDOM_BLOCK(BuiltInRegistries.BLOCK),
+        FLUID(BuiltInRegistries.FLUID),
+        RANDOM_FLUID(BuiltInRegistries.FLUID);
+
+        final Registry<?> registry;
+
+        Category(final Registry<?> registry) {
+            this.registry = registry;
+        }
+    }
+
+    public enum Grouping {
+        /**
+         * One report per category, type and world.
+         */
+        TYPE {
+            @Override
+            Report.Id id(final Key key) {
+                return new Report.Id(key.category, key.type, key.namespace, key.world);
+            }
+        },
+        /**
+         * One report per namespace, that is per owning plugin or mod.
+         */
+        NAMESPACE {
+            @Override
+            Report.Id id(final Key key) {
+                return new Report.Id(null, null, key.namespace, null);
+            }
+        },
+        /**
+         * One report per world.
+         */
+        WORLD {
+            @Override
+            Report.Id id(final Key key) {
+                return new Report.Id(null, null, null, key.world);
+            }
+        };
+
+        abstract Report.Id id(Key key);
+    }
+
+    /**
+     * An interned key, compared by identity.
+     */
+    static final class Key {
+
+        final Category category;
+        final String type;
+        final String namespace;
+        final String world;
+
+        Key(final Category category, final ResourceLocation type, final String world) {
+            this.category = category;
+            this.type = type.toString();
+            this.namespace = type.getNamespace();
+            this.world = world;
+        }
+    }
+
+    static final class Slice {
+
+        final Map<Key, Stats> stats = new ConcurrentHashMap<>();
+        volatile long epoch = Long.MIN_VALUE;
+
+        synchronized void rotate(final long epoch) {
+            if (this.epoch != epoch) {
+                this.stats.clear();
+                this.epoch = epoch;
+            }
+        }
+    }
+
+    static final class Stats {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder total = new LongAdder();
+        final AtomicLong max = new AtomicLong();
+
+        void record(final long nanos) {
+            this.count.increment();
+            this.total.add(nanos);
+            long currentMax;
+            while (nanos > (currentMax = this.max.get())) {
+                if (this.max.compareAndSet(currentMax, nanos)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * The aggregated timings of a group.
+     *
+     * @param id The group, fields not covered by the grouping are {@code null}
+     * @param count The number of ticks
+     * @param totalNanos The total time spent ticking
+     * @param maxNanos The longest single tick
+     */
+    public record Report(Id id, long count, long totalNanos, long maxNanos) {
+
+        public long averageNanos() {
+            return this.count == 0 ? 0 : this.totalNanos / this.count;
+        }
+
+        public record Id(@Nullable Category category, @Nullable String type, @Nullable String namespace, @Nullable String world) {
+        }
+    }
+}
@@ -121,7 +121,12 @@ public static void tickEntity(final Consumer<net.minecraft.world.entity.Entity>
             }
             context.buildAndSwitch();
             PhaseTracker.LOGGER.trace(TrackingUtil.ENTITY_TICK, () -> "Wrapping Entity Tick: " + entity.toString());
+            final @Nullable TickTimings timings = TickTimings.get();
+            final long start = timings == null ? 0 : System.nanoTime();
             consumer.accept(entity);
+            if (timings != null) {
+                timings.record(TickTimings.Category.ENTITY, entity.getType(), entity.level.dimension(), start);
+            }
             if (ShouldFire.MOVE_ENTITY_EVENT) {
                 SpongeCommonEventFactory.callNaturalMoveEntityEvent(entity);
             }
@@ -179,7 +184,12 @@ public static void tickTileEntity(final TrackedWorldBridge mixinWorldServer, fin
             phaseContext.buildAndSwitch();
 
             PhaseTracker.LOGGER.trace(TrackingUtil.BLOCK_ENTITY_TICK, () -> "Wrapping Entity Tick: " + tile.toString());
+            final @Nullable TickTimings timings = TickTimings.get();
+            final long start = timings == null ? 0 : System.nanoTime();
             tile.tick();
+            if (timings != null) {
+                timings.record(TickTimings.Category.BLOCK_ENTITY, blockEntity.getType(), blockEntity.getLevel().dimension(), start);
+            }
 
             // If we know the viewers force broadcast now to associate the inventory change with its blockentity
             // otherwise the viewing players update this during their ticking
@@ -225,7 +235,12 @@ public static void updateTickBlock(
         try (final PhaseContext<@NonNull ?> context = phaseContext) {
             context.buildAndSwitch();
             PhaseTracker.LOGGER.trace(TrackingUtil.BLOCK_TICK, () -> "Wrapping Block Tick: " + block.toString());
+            final @Nullable TickTimings timings = TickTimings.get();
+            final long start = timings == null ? 0 : System.nanoTime();
             block.tick(world, pos, random);
+            if (timings != null) {
+                timings.record(TickTimings.Category.BLOCK, block.getBlock(), world.dimension(), start);
+            }
         } catch (final Exception | NoClassDefFoundError e) {
             PhasePrinter.printExceptionFromPhase(PhaseTracker.getInstance().stack, e, phaseContext);
 
@@ -261,7 +276,12 @@ public static void updateTickFluid(
         try (final PhaseContext<?> context = phaseContext) {
             context.buildAndSwitch();
             PhaseTracker.LOGGER.trace(TrackingUtil.FLUID_TICK, () -> "Wrapping Fluid Tick: " + fluidState.toString());
+            final @Nullable TickTimings timings = TickTimings.get();
+            final long start = timings == null ? 0 : System.nanoTime();
             fluidState.tick(world, pos);
+            if (timings != null) {
+                timings.record(TickTimings.Category.FLUID, fluidState.getType(), world.dimension(), start);
+            }
         } catch (final Exception | NoClassDefFoundError e) {
             PhasePrinter.printExceptionFromPhase(PhaseTracker.getInstance().stack, e, phaseContext);
 
@@ -299,7 +319,12 @@ public static void randomTickBlock(final TrackedWorldBridge mixinWorld,
         try (final PhaseContext<@NonNull ?> context = phaseContext) {
             context.buildAndSwitch();
             PhaseTracker.LOGGER.trace(TrackingUtil.BLOCK_TICK, "Wrapping Random Block Tick: {}", state);
+            final @Nullable TickTimings timings = TickTimings.get();
+            final long start = timings == null ? 0 : System.nanoTime();
             state.randomTick(world, pos, random);
+            if (timings != null) {
+                timings.record(TickTimings.Category.RANDOM_BLOCK, state.getBlock(), world.dimension(), start);
+            }
         } catch (final Exception | NoClassDefFoundError e) {
             PhasePrinter.printExceptionFromPhase(PhaseTracker.getInstance().stack, e, phaseContext);
         }
@@ -338,7 +363,12 @@ public static void randomTickFluid(final TrackedWorldBridge mixinWorld,
         try (final PhaseContext<@NonNull ?> context = phaseContext) {
             context.buildAndSwitch();
             PhaseTracker.LOGGER.trace(TrackingUtil.FLUID_TICK, () -> "Wrapping Random Fluid Tick: " + state.toString());
+            final @Nullable TickTimings timings = TickTimings.get();
+            final long start = timings == null ? 0 : System.nanoTime();
             state.randomTick(world, pos, random);
+            if (timings != null) {
+                timings.record(TickTimings.Category.RANDOM_FLUID, state.getType(), world.dimension(), start);
+            }
         } catch (final Exception | NoClassDefFoundError e) {
             PhasePrinter.printExceptionFromPhase(PhaseTracker.getInstance().stack, e, phaseContext);
         }
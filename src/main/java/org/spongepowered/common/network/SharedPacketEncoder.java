@@ -0,0 +1,199 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import net.minecraft.network.Connection;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.network.protocol.game.ClientboundBossEventPacket;
+import net.minecraft.network.protocol.game.ClientboundSetActionBarTextPacket;
+import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
+import net.minecraft.network.protocol.game.ClientboundSetPlayerTeamPacket;
+import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
+import net.minecraft.network.protocol.game.ClientboundSetSubtitleTextPacket;
+import net.minecraft.network.protocol.game.ClientboundSetTitleTextPacket;
+import net.minecraft.network.protocol.game.ClientboundSetTitlesAnimationPacket;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.network.protocol.game.ClientboundTabListPacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.util.locale.Locales;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.accessor.network.ConnectionAccessor;
+import org.spongepowered.common.accessor.server.network.ServerGamePacketListenerImplAccessor;
+import org.spongepowered.common.adventure.SpongeAdventure;
+import org.spongepowered.common.bridge.network.FriendlyByteBufBridge;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sends the same packet to many players while encoding it only once per
+ * distinct locale, or only once in total if it does not contain anything
+ * translatable.
+ *
+ * <p>The pre-encoded packet id and body are written to each channel as a
+ * retained duplicate, where the remaining outbound handlers frame, compress
+ * and encrypt them per connection like any other packet. The write is
+ * counted and fails the connection the same way a regular send does.</p>
+ */
+public final class SharedPacketEncoder {
+
+    // Same limit as PacketEncoder, anything larger takes the regular path to fail there
+    private static final int MAX_PACKET_SIZE = 8388608;
+
+    private SharedPacketEncoder() {
+    }
+
+    /**
+     * Sends the packet to every player in the collection.
+     *
+     * @param packet The packet to send
+     * @param players The players to send to
+     */
+    public static void send(final Packet<?> packet, final Collection<ServerPlayer> players) {
+        if (players.size() < 2 || !SharedPacketEncoder.isShareable(packet)) {
+            for (final ServerPlayer player : players) {
+                player.connection.send(packet);
+            }
+            return;
+        }
+        final List<ServerGamePacketListenerImpl> listeners = new ArrayList<>(players.size());
+        for (final ServerPlayer player : players) {
+            listeners.add(player.connection);
+        }
+        SharedPacketEncoder.send(packet, listeners, SharedPacketEncoder::encode);
+    }
+
+    static void send(final Packet<?> packet, final Collection<ServerGamePacketListenerImpl> listeners, final Encoder encoder) {
+        final Map<Locale, ByteBuf> encoded = new HashMap<>();
+        @Nullable ByteBuf shared = null;
+        boolean encodable = true;
+        try {
+            for (final ServerGamePacketListenerImpl listener : listeners) {
+                final Connection connection = ((ServerGamePacketListenerImplAccessor) listener).accessor$connection();
+                final ConnectionAccessor connectionAccessor = (ConnectionAccessor) connection;
+                final Channel channel = connectionAccessor.accessor$channel();
+                // Anything the connection would queue or drop takes the regular path, which also keeps queued packets in order
+                if (!encodable || !connection.isConnected() || !connectionAccessor.accessor$queue().isEmpty()
+                        || channel.attr(Connection.ATTRIBUTE_PROTOCOL).get() != ConnectionProtocol.PLAY) {
+                    listener.send(packet);
+                    continue;
+                }
+                @Nullable ByteBuf buffer = shared;
+                if (buffer == null) {
+                    final @Nullable Locale channelLocale = channel.attr(SpongeAdventure.CHANNEL_LOCALE).get();
+                    final Locale locale = channelLocale == null ? Locales.DEFAULT : channelLocale;
+                    buffer = encoded.get(locale);
+                    if (buffer == null) {
+                        buffer = encoder.encode(packet, locale);
+                        if (buffer == null) {
+                            encodable = false;
+                            listener.send(packet);
+                            continue;
+                        }
+                        encoded.put(locale, buffer);
+                        if (!((FriendlyByteBufBridge) buffer).bridge$isLocalized()) {
+                            shared = buffer;
+                        }
+                    }
+                }
+                // Same as Connection#sendPacket, a failed write closes the connection like it does for any other packet
+                connectionAccessor.accessor$sentPackets(connectionAccessor.accessor$sentPackets() + 1);
+                channel.writeAndFlush(buffer.retainedDuplicate()).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+            }
+        } finally {
+            for (final ByteBuf buffer : encoded.values()) {
+                buffer.release();
+            }
+        }
+    }
+
+    /**
+     * Gets whether the packet is a broadcast only carrying text or scoreboard
+     * state, without any per connection side effects when sent.
+     */
+    static boolean isShareable(final Packet<?> packet) {
+        return packet instanceof ClientboundSystemChatPacket
+            || packet instanceof ClientboundSetTitleTextPacket
+            || packet instanceof ClientboundSetSubtitleTextPacket
+            || packet instanceof ClientboundSetActionBarTextPacket
+            || packet instanceof ClientboundSetTitlesAnimationPacket
+            || packet instanceof ClientboundBossEventPacket
+            || packet instanceof ClientboundSetObjectivePacket
+            || packet instanceof ClientboundSetDisplayObjectivePacket
+            || packet instanceof ClientboundSetScorePacket
+            || packet instanceof ClientboundSetPlayerTeamPacket
+            || packet instanceof ClientboundTabListPacket;
+    }
+
+    private static @Nullable FriendlyByteBuf encode(final Packet<?> packet, final Locale locale) {
+        final int id = ConnectionProtocol.PLAY.getPacketId(PacketFlow.CLIENTBOUND, packet);
+        if (id < 0) {
+            return null;
+        }
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        ((FriendlyByteBufBridge) buffer).bridge$setLocale(locale);
+        try {
+            buffer.writeVarInt(id);
+            packet.write(buffer);
+        } catch (final RuntimeException e) {
+            SpongeCommon.logger().debug("Failed to encode {} for broadcast, sending it per connection instead", packet.getClass().getName(), e);
+            buffer.release();
+            return null;
+        }
+        if (buffer.readableBytes() > SharedPacketEncoder.MAX_PACKET_SIZE) {
+            buffer.release();
+            return null;
+        }
+        return buffer;
+    }
+
+    @FunctionalInterface
+    interface Encoder {
+
+        /**
+         * Encodes the packet id and body for the given locale.
+         *
+         * @param packet The packet
+         * @param locale The locale to render text in
+         * @return The encoded packet, or null if it has to be sent per
+         *     connection
+         */
+        @Nullable ByteBuf encode(Packet<?> packet, Locale locale);
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.common.SchedulerCategory;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The executors backing the {@link AsyncScheduler}.
+ *
+ * <p>Tasks are run either on a pool of platform threads, or on virtual
+ * threads when the runtime supports them and the plugin is configured to use
+ * them. Each plugin may additionally be limited in the number of tasks it
+ * runs at the same time, further tasks being queued until a slot frees
+ * up.</p>
+ */
+public final class AsyncExecutionPool {
+
+    private static final String CARRIER_PARALLELISM_PROPERTY = "jdk.virtualThreadScheduler.parallelism";
+    private static final String CARRIER_MAX_POOL_SIZE_PROPERTY = "jdk.virtualThreadScheduler.maxPoolSize";
+
+    private final SchedulerCategory config;
+    private final ThreadPoolExecutor platformExecutor = (ThreadPoolExecutor) Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("Sponge-AsyncScheduler-%d")
+            .build());
+    private final @Nullable ExecutorService virtualExecutor;
+    private final Map<String, PluginLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private final AtomicInteger peakActiveTasks = new AtomicInteger();
+    private final LongAdder completedTasks = new LongAdder();
+
+    AsyncExecutionPool(final SchedulerCategory config) {
+        this.config = config;
+        this.virtualExecutor = this.usesVirtualThreads() ? AsyncExecutionPool.createVirtualExecutor(config.maxCarrierThreads) : null;
+    }
+
+    private boolean usesVirtualThreads() {
+        if (this.config.asyncExecutionMode == SchedulerCategory.ExecutionMode.VIRTUAL) {
+            return true;
+        }
+        for (final SchedulerCategory.PluginOverride override : this.config.pluginOverrides.values()) {
+            if (override.executionMode == SchedulerCategory.ExecutionMode.VIRTUAL) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static @Nullable ExecutorService createVirtualExecutor(final int maxCarrierThreads) {
+        if (maxCarrierThreads > 0 && System.getProperty(AsyncExecutionPool.CARRIER_MAX_POOL_SIZE_PROPERTY) == null) {
+            // Only read once the first virtual thread is started by the JVM
+            System.setProperty(AsyncExecutionPool.CARRIER_MAX_POOL_SIZE_PROPERTY, Integer.toString(maxCarrierThreads));
+            if (System.getProperty(AsyncExecutionPool.CARRIER_PARALLELISM_PROPERTY) == null) {
+                final int parallelism = Math.min(maxCarrierThreads, Runtime.getRuntime().availableProcessors());
+                System.setProperty(AsyncExecutionPool.CARRIER_PARALLELISM_PROPERTY, Integer.toString(parallelism));
+            }
+        }
+        try {
+            // Virtual threads are only available from Java 21 onwards, while we compile against Java 17
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "Sponge-AsyncScheduler-Virtual-", 0L);
+            final ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            SpongeCommon.logger().warn("Virtual threads were requested for asynchronous tasks, but are not supported by Java {}. "
+                    + "Falling back to platform threads.", Runtime.version().feature());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the executor used for asynchronous work that is not owned by a
+     * specific plugin.
+     *
+     * @return The common executor
+     */
+    Executor commonExecutor() {
+        if (this.virtualExecutor != null && this.config.asyncExecutionMode == SchedulerCategory.ExecutionMode.VIRTUAL) {
+            return this.virtualExecutor;
+        }
+        return this.platformExecutor;
+    }
+
+    void execute(final PluginContainer plugin, final Runnable runnable) {
+        this.limiters.computeIfAbsent(plugin.metadata().id(), this::createLimiter).submit(runnable);
+    }
+
+    private PluginLimiter createLimiter(final String pluginId) {
+        final int limit = this.config.maxConcurrentTasks(pluginId);
+        final Executor executor = this.virtualExecutor != null && this.config.executionMode(pluginId) == SchedulerCategory.ExecutionMode.VIRTUAL
+                ? this.virtualExecutor
+                : this.platformExecutor;
+        return new PluginLimiter(executor, limit <= 0 ? Integer.MAX_VALUE : limit);
+    }
+
+    Metrics metrics() {
+        int queued = 0;
+        for (final PluginLimiter limiter : this.limiters.values()) {
+            queued += limiter.queued.get();
+        }
+        return new Metrics(this.activeTasks.get(), this.peakActiveTasks.get(), queued, this.completedTasks.sum(),
+                this.platformExecutor.getPoolSize(), this.platformExecutor.getLargestPoolSize(), this.virtualExecutor != null);
+    }
+
+    Map<String, PluginMetrics> pluginMetrics() {
+        final Map<String, PluginMetrics> metrics = new ConcurrentHashMap<>();
+        this.limiters.forEach((id, limiter) -> metrics.put(id, new PluginMetrics(limiter.active.get(), limiter.queued.get(),
+                limiter.limit == Integer.MAX_VALUE ? 0 : limiter.limit, limiter.executor == this.virtualExecutor)));
+        return metrics;
+    }
+
+    void shutdown() {
+        this.platformExecutor.shutdown();
+        if (this.virtualExecutor != null) {
+            this.virtualExecutor.shutdown();
+        }
+    }
+
+    boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!this.platformExecutor.awaitTermination(timeout, unit)) {
+            return false;
+        }
+        return this.virtualExecutor == null || this.virtualExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    void shutdownNow() {
+        this.platformExecutor.shutdownNow();
+        if (this.virtualExecutor != null) {
+            this.virtualExecutor.shutdownNow();
+        }
+    }
+
+    private void onTaskStart() {
+        final int active = this.activeTasks.incrementAndGet();
+        this.peakActiveTasks.accumulateAndGet(active, Math::max);
+    }
+
+    private void onTaskEnd() {
+        this.activeTasks.decrementAndGet();
+        this.completedTasks.increment();
+    }
+
+    /**
+     * Limits the number of tasks a plugin runs at the same time, without
+     * ever blocking the submitting thread.
+     */
+    private final class PluginLimiter {
+
+        final Executor executor;
+        final int limit;
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger queued = new AtomicInteger();
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+        PluginLimiter(final Executor executor, final int limit) {
+            this.executor = executor;
+            this.limit = limit;
+        }
+
+        void submit(final Runnable runnable) {
+            this.pending.add(runnable);
+            this.queued.incrementAndGet();
+            this.drain();
+        }
+
+        private void drain() {
+            while (!this.pending.isEmpty()) {
+                final int current = this.active.get();
+                if (current >= this.limit) {
+                    // A running task will drain the queue once it completes
+                    return;
+                }
+                if (!this.active.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                final @Nullable Runnable next = this.pending.poll();
+                if (next == null) {
+                    this.active.decrementAndGet();
+                    continue;
+                }
+                this.queued.decrementAndGet();
+                try {
+                    this.executor.execute(() -> this.run(next));
+                } catch (final RejectedExecutionException e) {
+                    // The task never started, so it won't release its slot itself
+                    this.active.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+
+        private void run(final Runnable runnable) {
+            AsyncExecutionPool.this.onTaskStart();
+            try {
+                runnable.run();
+            } finally {
+                AsyncExecutionPool.this.onTaskEnd();
+                this.active.decrementAndGet();
+                this.drain();
+            }
+        }
+    }
+
+    /**
+     * A snapshot of the saturation of the asynchronous executors.
+     *
+     * @param activeTasks The number of tasks currently running
+     * @param peakActiveTasks The highest number of tasks that ran at the same time
+     * @param queuedTasks The number of tasks waiting on their plugin's concurrency limit
+     * @param completedTasks The total number of completed tasks
+     * @param platformThreads The number of threads in the platform pool
+     * @param peakPlatformThreads The highest number of threads in the platform pool
+     * @param virtualThreads Whether virtual threads are in use
+     */
+    public record Metrics(int activeTasks, int peakActiveTasks, int queuedTasks, long completedTasks,
+            int platformThreads, int peakPlatformThreads, boolean virtualThreads) {
+    }
+
+    /**
+     * A snapshot of the asynchronous tasks of a single plugin.
+     *
+     * @param activeTasks The number of tasks currently running
+     * @param queuedTasks The number of tasks waiting on the concurrency limit
+     * @param limit The concurrency limit, or 0 if unlimited
+     * @param virtualThreads Whether the tasks run on virtual threads
+     */
+    public record PluginMetrics(int activeTasks, int queuedTasks, int limit, boolean virtualThreads) {
+    }
+}
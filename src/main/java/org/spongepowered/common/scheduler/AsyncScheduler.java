@@ -24,18 +24,17 @@
  */
 package org.spongepowered.common.scheduler;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.Level;
 import org.spongepowered.api.scheduler.ScheduledTask;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.util.PrettyPrinter;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
@@ -48,15 +47,12 @@ public final class AsyncScheduler extends SpongeScheduler {
     private final Lock lock = new ReentrantLock();
     private final Condition condition = this.lock.newCondition();
     private final AtomicBoolean stateChanged = new AtomicBoolean(false);
-    // The dynamic thread pooling executor of asynchronous tasks.
-    private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
-                                                                                   .setNameFormat("Sponge-AsyncScheduler-%d")
-                                                                                   .build());
+    // The executors of asynchronous tasks, either platform or virtual threads.
+    private final AsyncExecutionPool executor = new AsyncExecutionPool(SpongeConfigs.getCommon().get().scheduler);
     private volatile boolean running = true;
 
     // Adjustable timeout for pending Tasks
     private long minimumTimeout = Long.MAX_VALUE;
-    private long lastProcessingTimestamp;
 
     public AsyncScheduler() {
         super("A");
@@ -68,7 +64,6 @@ public AsyncScheduler() {
     }
 
     private void mainLoop() {
-        this.lastProcessingTimestamp = System.nanoTime();
         while (this.running) {
             this.recalibrateMinimumTimeout();
             this.runTick();
@@ -78,40 +73,9 @@ private void mainLoop() {
     private void recalibrateMinimumTimeout() {
         this.lock.lock();
         try {
-            final Set<ScheduledTask> tasks = this.tasks();
-            this.minimumTimeout = Long.MAX_VALUE;
-            final long now = System.nanoTime();
-            for (final ScheduledTask tmpTask : tasks) {
-                final SpongeScheduledTask task = (SpongeScheduledTask) tmpTask;
-                if (task.state() == SpongeScheduledTask.ScheduledTaskState.EXECUTING) {
-                    // bail out for this task. We'll signal when we complete the task.
-                    continue;
-                }
-                // Recalibrate the wait delay for processing tasks before new
-                // tasks cause the scheduler to process pending tasks.
-                if (task.task.delay == 0 && task.task.interval == 0) {
-                    this.minimumTimeout = 0;
-                }
-                // The time since the task last executed or was added to the map
-                final long timeSinceLast = now - task.timestamp();
-
-                if (task.task.delay > 0 && task.state() == SpongeScheduledTask.ScheduledTaskState.WAITING) {
-                    // There is an delay and the task hasn't run yet
-                    this.minimumTimeout = Math.min(task.task.delay - timeSinceLast, this.minimumTimeout);
-                }
-                if (task.task.interval > 0 && task.state().isActive) {
-                    // The task repeats and has run after the initial delay
-                    this.minimumTimeout = Math.min(task.task.interval - timeSinceLast, this.minimumTimeout);
-                }
-                if (this.minimumTimeout <= 0) {
-                    break;
-                }
-            }
-            if (!tasks.isEmpty()) {
-                final long latency = System.nanoTime() - this.lastProcessingTimestamp;
-                this.minimumTimeout -= (latency <= 0) ? 0 : latency;
-                this.minimumTimeout = (this.minimumTimeout < 0) ? 0 : this.minimumTimeout;
-            }
+            // Recalibrate the wait delay for processing tasks before new
+            // tasks cause the scheduler to process pending tasks.
+            this.minimumTimeout = this.nanosUntilNextTask();
         } finally {
             this.lock.unlock();
         }
@@ -122,6 +86,7 @@ protected void addTask(final SpongeScheduledTask task) {
         this.lock.lock();
         try {
             super.addTask(task);
+            this.stateChanged.set(true);
             this.condition.signalAll();
         } finally {
             this.lock.unlock();
@@ -147,11 +112,6 @@ protected void preTick() {
         }
     }
 
-    @Override
-    protected void postTick() {
-        this.lastProcessingTimestamp = System.nanoTime();
-    }
-
     @Override
     protected void finallyPostTick() {
         this.lock.unlock();
@@ -171,12 +131,31 @@ protected void onTaskCompletion(final SpongeScheduledTask task) {
     }
 
     @Override
-    protected void executeRunnable(final Runnable runnable) {
-        this.executor.submit(runnable);
+    protected void executeRunnable(final SpongeScheduledTask task, final Runnable runnable) {
+        this.executor.execute(task.task().plugin(), runnable);
     }
 
     public <T> CompletableFuture<T> submit(final Callable<T> callable) {
-        return this.asyncFailableFuture(callable, this.executor);
+        return this.asyncFailableFuture(callable, this.executor.commonExecutor());
+    }
+
+    /**
+     * Gets a snapshot of the saturation of the asynchronous executors.
+     *
+     * @return The executor metrics
+     */
+    public AsyncExecutionPool.Metrics executionMetrics() {
+        return this.executor.metrics();
+    }
+
+    /**
+     * Gets a snapshot of the asynchronous tasks of each plugin that has
+     * submitted tasks, keyed by plugin id.
+     *
+     * @return The per-plugin executor metrics
+     */
+    public Map<String, AsyncExecutionPool.PluginMetrics> pluginExecutionMetrics() {
+        return this.executor.pluginMetrics();
     }
 
     private <T> CompletableFuture<T> asyncFailableFuture(Callable<T> call, Executor exec) {
@@ -25,10 +25,14 @@
 package org.spongepowered.common.scheduler;
 
 import org.spongepowered.api.Sponge;
+import org.spongepowered.api.scheduler.ScheduledTask;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.bridge.world.entity.player.PlayerInventoryBridge;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.tick.EntityTickContext;
 import org.spongepowered.common.event.tracking.phase.tick.TickPhase;
+import org.spongepowered.common.launch.Launch;
+import org.spongepowered.plugin.PluginContainer;
 
 public final class ServerScheduler extends SyncScheduler {
 
@@ -36,6 +40,36 @@ public ServerScheduler() {
         super("S");
     }
 
+    /**
+     * Marks the task to always run in the tick it is due, even if the tick
+     * budget of this scheduler has been exhausted.
+     *
+     * @param task The task to exempt
+     */
+    public void exemptFromTickBudget(final ScheduledTask task) {
+        if (task.scheduler() != this) {
+            throw new IllegalArgumentException("Task " + task.name() + " was not scheduled by this scheduler");
+        }
+        ((SpongeScheduledTask) task).budgetExempt = true;
+    }
+
+    @Override
+    protected void addTask(final SpongeScheduledTask task) {
+        final PluginContainer plugin = task.task().plugin();
+        // Sponge's own tasks are usually required for the game to progress
+        if (plugin == Launch.instance().commonPlugin()
+                || SpongeConfigs.getCommon().get().scheduler.syncTickBudgetExemptPlugins.contains(plugin.metadata().id())) {
+            task.budgetExempt = true;
+        }
+        super.addTask(task);
+    }
+
+    @Override
+    protected long tickBudget() {
+        final double budget = SpongeConfigs.getCommon().get().scheduler.syncTickBudget;
+        return budget > 0 ? (long) (budget * 1_000_000L) : 0L;
+    }
+
     @Override
     public void tick() {
         super.tick();
@@ -25,6 +25,7 @@
 package org.spongepowered.common.scheduler;
 
 import com.google.common.base.MoreObjects;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.scheduler.ScheduledTask;
 import org.spongepowered.api.scheduler.Scheduler;
 import org.spongepowered.api.scheduler.Task;
@@ -45,6 +46,20 @@ public final class SpongeScheduledTask implements ScheduledTask {
     private ScheduledTaskState state;
     private boolean isCancelled = false;
 
+    // Intrusive links, maintained by the TimingWheel the task is scheduled in
+    @Nullable SpongeScheduledTask wheelPrev;
+    @Nullable SpongeScheduledTask wheelNext;
+    @Nullable TimingWheel wheelOwner;
+    int wheelBucket = -1;
+    long wheelDeadline;
+
+    // Whether the task must run in the tick it is due, regardless of the tick budget
+    volatile boolean budgetExempt;
+
+    // Execution statistics, only present if the task ran while profiling.
+    // Written by the executing thread and cleared by profiler resets from any thread.
+    volatile TaskProfiler.@Nullable Stats profile;
+
     SpongeScheduledTask(final SpongeScheduler scheduler, final SpongeTask task, final String name) {
         this.scheduler = scheduler;
         this.task = task;
@@ -79,7 +94,10 @@ public boolean cancel() {
         final boolean success = this.state() == ScheduledTaskState.RUNNING
                 || this.state() == ScheduledTaskState.EXECUTING;
         this.state = ScheduledTaskState.CANCELED;
-        this.isCancelled = true;
+        if (!this.isCancelled) {
+            this.isCancelled = true;
+            this.scheduler.onTaskCancelled(this);
+        }
         return success;
     }
 
@@ -31,20 +31,25 @@
 import org.spongepowered.api.scheduler.Scheduler;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 import org.spongepowered.common.launch.Launch;
 import org.spongepowered.plugin.PluginContainer;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +63,7 @@ public abstract class SpongeScheduler implements Scheduler {
 
     private static final int TICK_DURATION_MS = 50;
     static final long TICK_DURATION_NS = TimeUnit.NANOSECONDS.convert(SpongeScheduler.TICK_DURATION_MS, TimeUnit.MILLISECONDS);
+    private static final long TIME_WHEEL_RESOLUTION_NS = TimeUnit.MICROSECONDS.toNanos(1);
 
     private final String tag;
 
@@ -65,8 +71,36 @@ public abstract class SpongeScheduler implements Scheduler {
     private final Map<UUID, SpongeScheduledTask> tasks = new ConcurrentHashMap<>();
     private long sequenceNumber = 0L;
 
+    // Tasks may be submitted and cancelled from any thread, they are handed
+    // over to the timing wheels at the start of the next tick.
+    private final Queue<SpongeScheduledTask> submitted = new ConcurrentLinkedQueue<>();
+    private final Queue<SpongeScheduledTask> cancelled = new ConcurrentLinkedQueue<>();
+    // Only accessed by the ticking thread
+    private final TimingWheel tickWheel = new TimingWheel(SpongeScheduler.TICK_DURATION_NS, 0L);
+    private final TimingWheel timeWheel = new TimingWheel(SpongeScheduler.TIME_WHEEL_RESOLUTION_NS, System.nanoTime());
+    private final List<SpongeScheduledTask> expired = new ArrayList<>();
+    // Tasks that are due, but still executing their previous occurrence
+    private final List<SpongeScheduledTask> blocked = new ArrayList<>();
+    // Tasks that are due, but did not fit in the tick budget of a previous tick
+    private final List<SpongeScheduledTask> deferred = new ArrayList<>();
+    // Written by the ticking thread, read by commands on other threads
+    private volatile long deferredTasks;
+    private volatile long deferringTicks;
+    private final TaskProfiler profiler;
+
     SpongeScheduler(final String tag) {
         this.tag = tag;
+        this.profiler = new TaskProfiler(this, SpongeConfigs.getCommon().get().scheduler.taskProfiling);
+    }
+
+    /**
+     * Gets the profiler recording the execution times of this scheduler's
+     * tasks.
+     *
+     * @return The task profiler
+     */
+    public TaskProfiler profiler() {
+        return this.profiler;
     }
 
     /**
@@ -84,6 +118,16 @@ protected long timestamp(final boolean tickBased) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets whether {@link #timestamp(boolean)} provides a distinct timestamp
+     * for tick based tasks.
+     *
+     * @return True if tick based timestamps are supported
+     */
+    protected boolean supportsTickTimestamps() {
+        return false;
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
      * next call to {@link #runTick}.
@@ -93,6 +137,78 @@ protected long timestamp(final boolean tickBased) {
     protected void addTask(final SpongeScheduledTask task) {
         task.setTimestamp(this.timestamp(task.task.tickBasedDelay));
         this.tasks.put(task.uniqueId(), task);
+        this.submitted.add(task);
+    }
+
+    /**
+     * Marks the task to be removed on the next call to {@link #runTick}.
+     *
+     * @param task The cancelled task
+     */
+    void onTaskCancelled(final SpongeScheduledTask task) {
+        this.cancelled.add(task);
+    }
+
+    /**
+     * Gets the time, in nanoseconds, that may be spent running due tasks in
+     * a single call to {@link #runTick}. Due tasks that do not fit in the
+     * budget are deferred to the next call.
+     *
+     * @return The tick budget, or 0 if unlimited
+     */
+    protected long tickBudget() {
+        return 0L;
+    }
+
+    /**
+     * Gets the total number of times a due task was deferred because the
+     * tick budget was exhausted.
+     *
+     * @return The number of deferred task runs
+     */
+    public long deferredTaskCount() {
+        return this.deferredTasks;
+    }
+
+    /**
+     * Gets the number of ticks in which at least one due task was deferred.
+     *
+     * @return The number of deferring ticks
+     */
+    public long deferringTickCount() {
+        return this.deferringTicks;
+    }
+
+    /**
+     * Gets the number of due tasks currently waiting on the tick budget.
+     *
+     * @return The number of deferred tasks
+     */
+    public int deferredTaskBacklog() {
+        return this.deferred.size();
+    }
+
+    /**
+     * Gets whether there are tasks that have to be looked at on the next call
+     * to {@link #runTick}, regardless of their deadline.
+     *
+     * @return True if work is pending
+     */
+    protected boolean hasPendingChanges() {
+        return !this.submitted.isEmpty() || !this.cancelled.isEmpty();
+    }
+
+    /**
+     * Gets the nanoseconds until the next real time based task may be due.
+     * Must only be called by the ticking thread.
+     *
+     * @return The nanoseconds until the next task, or {@link Long#MAX_VALUE}
+     */
+    protected long nanosUntilNextTask() {
+        if (this.hasPendingChanges()) {
+            return 0;
+        }
+        return this.timeWheel.nanosUntilNextEvent(System.nanoTime());
     }
 
     /**
@@ -176,18 +292,91 @@ public SpongeScheduledTask submit(Task task, String name) {
     }
 
     /**
-     * Process all tasks in the map.
+     * Process all tasks that are due.
      */
     final void runTick() {
         this.preTick();
         try {
-            this.tasks.values().forEach(this::processTask);
+            this.drainSubmitted();
+            this.drainCancelled();
+            // Tasks deferred by a previous tick run before newly due tasks
+            this.expired.addAll(this.deferred);
+            this.deferred.clear();
+            this.processBlocked();
+            this.tickWheel.advance(this.timestamp(true), this.expired);
+            this.timeWheel.advance(this.timestamp(false), this.expired);
+            // Expired tasks are processed after advancing so that a task
+            // rescheduled by this tick can't be picked up twice.
+            final long budget = this.tickBudget();
+            final long start = budget > 0 ? System.nanoTime() : 0L;
+            for (int i = 0; i < this.expired.size(); i++) {
+                final SpongeScheduledTask task = this.expired.get(i);
+                if (budget > 0 && !task.budgetExempt && task.state() != SpongeScheduledTask.ScheduledTaskState.CANCELED
+                        && System.nanoTime() - start >= budget) {
+                    this.deferred.add(task);
+                    continue;
+                }
+                this.processTask(task);
+            }
+            if (!this.deferred.isEmpty()) {
+                this.deferredTasks += this.deferred.size();
+                this.deferringTicks++;
+            }
             this.postTick();
         } finally {
+            this.expired.clear();
             this.finallyPostTick();
         }
     }
 
+    private void drainSubmitted() {
+        @Nullable SpongeScheduledTask task;
+        while ((task = this.submitted.poll()) != null) {
+            if (task.state() == SpongeScheduledTask.ScheduledTaskState.CANCELED) {
+                this.removeTask(task);
+            } else {
+                this.scheduleTask(task);
+            }
+        }
+    }
+
+    private void drainCancelled() {
+        @Nullable SpongeScheduledTask task;
+        while ((task = this.cancelled.poll()) != null) {
+            if (!this.tickWheel.remove(task)) {
+                this.timeWheel.remove(task);
+            }
+            this.removeTask(task);
+        }
+    }
+
+    private void processBlocked() {
+        if (this.blocked.isEmpty()) {
+            return;
+        }
+        this.expired.addAll(this.blocked);
+        this.blocked.clear();
+    }
+
+    /**
+     * Schedules the task in the wheel matching its current threshold.
+     *
+     * @param task The task to schedule
+     */
+    private void scheduleTask(final SpongeScheduledTask task) {
+        final long threshold;
+        final boolean tickBased;
+        if (task.state() == SpongeScheduledTask.ScheduledTaskState.WAITING) {
+            threshold = task.task.delay;
+            tickBased = task.task.tickBasedDelay;
+        } else {
+            threshold = task.task.interval;
+            tickBased = task.task.tickBasedInterval;
+        }
+        final TimingWheel wheel = tickBased && this.supportsTickTimestamps() ? this.tickWheel : this.timeWheel;
+        wheel.schedule(task, TimingWheel.saturatedAdd(task.timestamp(), threshold));
+    }
+
     /**
      * Fired when the scheduler begins to tick, before any tasks are processed.
      */
@@ -221,7 +410,9 @@ private void processTask(final SpongeScheduledTask task) {
         }
         // If the task is already being processed, we wait for the previous
         // occurrence to terminate.
-        if (task.state() == SpongeScheduledTask.ScheduledTaskState.EXECUTING) {
+        if (task.state() == SpongeScheduledTask.ScheduledTaskState.EXECUTING
+                || task.state() == SpongeScheduledTask.ScheduledTaskState.SWITCHING) {
+            this.blocked.add(task);
             return;
         }
         final long threshold;
@@ -252,9 +443,13 @@ private void processTask(final SpongeScheduledTask task) {
             task.setTimestamp(this.timestamp(task.task.tickBasedInterval));
             this.startTask(task);
             // If task is one time shot, remove it from the map.
-            if (task.task.interval == 0L) {
+            if (task.task.interval == 0L || task.isCancelled()) {
                 this.removeTask(task);
+            } else {
+                this.scheduleTask(task);
             }
+        } else {
+            this.scheduleTask(task);
         }
     }
 
@@ -264,17 +459,23 @@ private void processTask(final SpongeScheduledTask task) {
      * @param task The task to start
      */
     private void startTask(final SpongeScheduledTask task) {
-        this.executeRunnable(() -> {
+        this.executeRunnable(task, () -> {
             task.setState(SpongeScheduledTask.ScheduledTaskState.EXECUTING);
             try (final @Nullable PhaseContext<@NonNull ?> context = this.createContext(task, task.task().plugin())) {
                 if (context != null) {
                     context.buildAndSwitch();
                 }
+                final boolean profiling = this.profiler.enabled();
+                final long start = profiling ? System.nanoTime() : 0L;
                 try {
                     task.task.executor().accept(task);
                 } catch (final Throwable t) {
                     SpongeCommon.logger().error("The Scheduler tried to run the task '{}' owned by '{}' but an error occurred.",
                             task.name(), task.task().plugin().metadata().id(), t);
+                } finally {
+                    if (profiling) {
+                        this.profiler.record(task, System.nanoTime() - start);
+                    }
                 }
             } finally {
                 if (!task.isCancelled()) {
@@ -299,7 +500,7 @@ protected void onTaskCompletion(final SpongeScheduledTask task) {
         // no-op for sync methods.
     }
 
-    protected void executeRunnable(final Runnable runnable) {
+    protected void executeRunnable(final SpongeScheduledTask task, final Runnable runnable) {
         runnable.run();
     }
 
@@ -50,4 +50,9 @@ protected long timestamp(final boolean tickBased) {
         }
         return super.timestamp(false);
     }
+
+    @Override
+    protected boolean supportsTickTimestamps() {
+        return true;
+    }
 }
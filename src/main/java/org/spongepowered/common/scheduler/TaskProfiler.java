@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.scheduler.ScheduledTask;
+import org.spongepowered.common.util.DurationHistogram;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the execution times of the tasks run by a
+ * {@link SpongeScheduler}, per task and per owning plugin.
+ *
+ * <p>Statistics of a task are kept for as long as the task is scheduled,
+ * statistics of a plugin are kept until the profiler is reset.</p>
+ */
+public final class TaskProfiler {
+
+    private final SpongeScheduler scheduler;
+    private final Map<String, Stats> plugins = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    TaskProfiler(final SpongeScheduler scheduler, final boolean enabled) {
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+    }
+
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Clears all statistics collected so far.
+     */
+    public void reset() {
+        this.plugins.clear();
+        for (final ScheduledTask task : this.scheduler.tasks()) {
+            ((SpongeScheduledTask) task).profile = null;
+        }
+    }
+
+    void record(final SpongeScheduledTask task, final long nanos) {
+        @Nullable Stats taskStats = task.profile;
+        if (taskStats == null) {
+            // A task is never executed concurrently with itself, a racing reset at worst drops this sample
+            taskStats = new Stats();
+            task.profile = taskStats;
+        }
+        taskStats.record(nanos);
+        this.plugins.computeIfAbsent(task.task().plugin().metadata().id(), id -> new Stats()).record(nanos);
+    }
+
+    /**
+     * Gets a report for every plugin that had tasks executed, ordered by
+     * descending total execution time.
+     *
+     * @return The plugin reports
+     */
+    public List<Report> pluginReports() {
+        final List<Report> reports = new ArrayList<>(this.plugins.size());
+        this.plugins.forEach((id, stats) -> reports.add(stats.report(id)));
+        reports.sort(Report.BY_TOTAL_TIME);
+        return reports;
+    }
+
+    /**
+     * Gets a report for every currently scheduled task of the plugin that
+     * has been executed, ordered by descending total execution time.
+     *
+     * @param plugin The plugin
+     * @return The task reports
+     */
+    public List<Report> taskReports(final PluginContainer plugin) {
+        Objects.requireNonNull(plugin, "plugin");
+        final List<Report> reports = new ArrayList<>();
+        for (final ScheduledTask task : this.scheduler.tasks(plugin)) {
+            final @Nullable Stats stats = ((SpongeScheduledTask) task).profile;
+            if (stats != null) {
+                reports.add(stats.report(task.name()));
+            }
+        }
+        reports.sort(Report.BY_TOTAL_TIME);
+        return reports;
+    }
+
+    static final class Stats {
+
+        private final DurationHistogram histogram = new DurationHistogram();
+        private final LongAdder overruns = new LongAdder();
+
+        void record(final long nanos) {
+            this.histogram.record(nanos);
+            if (nanos > SpongeScheduler.TICK_DURATION_NS) {
+                this.overruns.increment();
+            }
+        }
+
+        Report report(final String name) {
+            return new Report(name, this.histogram.snapshot(), this.overruns.sum());
+        }
+    }
+
+    /**
+     * The execution statistics of a task or plugin.
+     *
+     * @param name The task name or plugin id
+     * @param durations The execution durations
+     * @param overruns The number of executions that took longer than a tick
+     */
+    public record Report(String name, DurationHistogram.Snapshot durations, long overruns) {
+
+        static final Comparator<Report> BY_TOTAL_TIME = Comparator.comparingLong((Report report) -> report.durations.totalNanos()).reversed();
+    }
+}
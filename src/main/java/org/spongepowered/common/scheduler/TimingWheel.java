@@ -0,0 +1,307 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel holding the pending {@link SpongeScheduledTask}s
+ * of a single timestamp domain (either ticks or real time).
+ *
+ * <p>Deadlines are expressed in wheel units of {@link #resolution}
+ * nanoseconds, relative to {@link #origin}. Each level of the wheel has
+ * {@link #WHEEL_SIZE} slots, the lowest level covering a single unit per slot
+ * and each successive level covering {@link #WHEEL_SIZE} times the range of
+ * the previous one. Tasks are cascaded down the levels as time approaches
+ * their deadline, so advancing the wheel only touches tasks that are due or
+ * about to be due, rather than every pending task.</p>
+ *
+ * <p>The wheel is not thread safe, it must only be accessed by the thread
+ * ticking the owning scheduler. Tasks are linked intrusively through the
+ * {@code wheel*} fields of {@link SpongeScheduledTask}. Each slot is kept in
+ * insertion order, and cascading keeps that order, so tasks with the same
+ * deadline expire in the order they were scheduled.</p>
+ */
+final class TimingWheel {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << TimingWheel.WHEEL_BITS;
+    private static final int WHEEL_MASK = TimingWheel.WHEEL_SIZE - 1;
+    // Enough levels to address every non-negative long deadline
+    private static final int LEVELS = (Long.SIZE + TimingWheel.WHEEL_BITS - 1) / TimingWheel.WHEEL_BITS;
+    // Tasks whose deadline has already passed when they were scheduled
+    private static final int OVERDUE_BUCKET = TimingWheel.LEVELS * TimingWheel.WHEEL_SIZE;
+
+    private final long resolution;
+    private final long origin;
+    private final @Nullable SpongeScheduledTask[] buckets = new SpongeScheduledTask[TimingWheel.OVERDUE_BUCKET + 1];
+    private final @Nullable SpongeScheduledTask[] tails = new SpongeScheduledTask[TimingWheel.OVERDUE_BUCKET + 1];
+    // A bitmap per level of the slots that currently hold at least one task
+    private final long[] occupied = new long[TimingWheel.LEVELS];
+
+    // The last unit that has been processed
+    private long current;
+    private int size;
+
+    TimingWheel(final long resolution, final long origin) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("Resolution must be greater than zero!");
+        }
+        this.resolution = resolution;
+        this.origin = origin;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Schedules the task to expire once the given timestamp has been reached.
+     * The task must not currently be linked to any wheel.
+     *
+     * @param task The task to schedule
+     * @param timestamp The timestamp at which the task is due
+     */
+    void schedule(final SpongeScheduledTask task, final long timestamp) {
+        if (task.wheelBucket != -1) {
+            throw new IllegalStateException("Task " + task.name() + " is already scheduled");
+        }
+        final long deadline = this.toDeadline(timestamp);
+        task.wheelDeadline = deadline;
+        this.link(task, this.bucketFor(deadline));
+        this.size++;
+    }
+
+    /**
+     * Removes the task from this wheel, if it is currently scheduled.
+     *
+     * @param task The task to remove
+     * @return True if the task was scheduled in this wheel
+     */
+    boolean remove(final SpongeScheduledTask task) {
+        if (task.wheelBucket == -1 || task.wheelOwner != this) {
+            return false;
+        }
+        this.unlink(task);
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel up to the given timestamp, collecting every task
+     * whose deadline has been reached. Collected tasks are no longer linked
+     * to the wheel.
+     *
+     * @param timestamp The current timestamp
+     * @param expired The list to collect the expired tasks in
+     */
+    void advance(final long timestamp, final List<SpongeScheduledTask> expired) {
+        this.drain(TimingWheel.OVERDUE_BUCKET, expired);
+        final long target = this.toUnits(timestamp);
+        while (this.current < target) {
+            final long next = this.nextEvent();
+            if (next > target) {
+                this.current = target;
+                break;
+            }
+            this.current = next;
+            // Higher levels first, so that cascaded tasks due right now are
+            // re-linked into the lowest level before it is drained.
+            for (int level = TimingWheel.LEVELS - 1; level > 0; level--) {
+                final int slot = TimingWheel.slot(next, level);
+                if ((this.occupied[level] & (1L << slot)) != 0) {
+                    this.cascade(level * TimingWheel.WHEEL_SIZE + slot, expired);
+                }
+            }
+            this.drain(TimingWheel.slot(next, 0), expired);
+        }
+    }
+
+    /**
+     * Gets the amount of time, in nanoseconds, until the wheel next has to
+     * be advanced. This may be earlier than the next task deadline, as
+     * the wheel may need to cascade tasks between levels.
+     *
+     * @param timestamp The current timestamp
+     * @return The nanoseconds to wait, or {@link Long#MAX_VALUE} if the wheel is empty
+     */
+    long nanosUntilNextEvent(final long timestamp) {
+        if (this.buckets[TimingWheel.OVERDUE_BUCKET] != null) {
+            return 0;
+        }
+        final long next = this.nextEvent();
+        if (next == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        final long nextTimestamp = TimingWheel.saturatedAdd(this.origin,
+                next > Long.MAX_VALUE / this.resolution ? Long.MAX_VALUE : next * this.resolution);
+        return Math.max(0, TimingWheel.saturatedAdd(nextTimestamp, -timestamp));
+    }
+
+    private long nextEvent() {
+        // Slots at lower levels always come before slots at higher levels
+        for (int level = 0; level < TimingWheel.LEVELS; level++) {
+            final int group = TimingWheel.slot(this.current, level);
+            final long bits = this.occupied[level] & (group == TimingWheel.WHEEL_MASK ? 0L : -1L << (group + 1));
+            if (bits != 0) {
+                final int shift = (level + 1) * TimingWheel.WHEEL_BITS;
+                final long base = shift >= Long.SIZE ? 0L : (this.current >>> shift) << shift;
+                return base | ((long) Long.numberOfTrailingZeros(bits) << (level * TimingWheel.WHEEL_BITS));
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private void cascade(final int bucket, final List<SpongeScheduledTask> expired) {
+        @Nullable SpongeScheduledTask task = this.detach(bucket);
+        while (task != null) {
+            final @Nullable SpongeScheduledTask next = task.wheelNext;
+            task.wheelNext = null;
+            if (task.wheelDeadline <= this.current) {
+                this.size--;
+                expired.add(task);
+            } else {
+                this.link(task, this.bucketFor(task.wheelDeadline));
+            }
+            task = next;
+        }
+    }
+
+    private void drain(final int bucket, final List<SpongeScheduledTask> expired) {
+        @Nullable SpongeScheduledTask task = this.detach(bucket);
+        while (task != null) {
+            final @Nullable SpongeScheduledTask next = task.wheelNext;
+            task.wheelNext = null;
+            this.size--;
+            expired.add(task);
+            task = next;
+        }
+    }
+
+    private @Nullable SpongeScheduledTask detach(final int bucket) {
+        final @Nullable SpongeScheduledTask head = this.buckets[bucket];
+        this.buckets[bucket] = null;
+        this.tails[bucket] = null;
+        if (bucket != TimingWheel.OVERDUE_BUCKET) {
+            this.occupied[bucket / TimingWheel.WHEEL_SIZE] &= ~(1L << (bucket & TimingWheel.WHEEL_MASK));
+        }
+        for (@Nullable SpongeScheduledTask task = head; task != null; task = task.wheelNext) {
+            task.wheelPrev = null;
+            task.wheelBucket = -1;
+            task.wheelOwner = null;
+        }
+        return head;
+    }
+
+    private int bucketFor(final long deadline) {
+        if (deadline <= this.current) {
+            return TimingWheel.OVERDUE_BUCKET;
+        }
+        final int level = (63 - Long.numberOfLeadingZeros(deadline ^ this.current)) / TimingWheel.WHEEL_BITS;
+        final int slot = TimingWheel.slot(deadline, level);
+        this.occupied[level] |= 1L << slot;
+        return level * TimingWheel.WHEEL_SIZE + slot;
+    }
+
+    private void link(final SpongeScheduledTask task, final int bucket) {
+        final @Nullable SpongeScheduledTask tail = this.tails[bucket];
+        task.wheelPrev = tail;
+        task.wheelNext = null;
+        task.wheelBucket = bucket;
+        task.wheelOwner = this;
+        if (tail == null) {
+            this.buckets[bucket] = task;
+        } else {
+            tail.wheelNext = task;
+        }
+        this.tails[bucket] = task;
+    }
+
+    private void unlink(final SpongeScheduledTask task) {
+        final int bucket = task.wheelBucket;
+        final @Nullable SpongeScheduledTask prev = task.wheelPrev;
+        final @Nullable SpongeScheduledTask next = task.wheelNext;
+        if (prev == null) {
+            this.buckets[bucket] = next;
+            if (next == null && bucket != TimingWheel.OVERDUE_BUCKET) {
+                this.occupied[bucket / TimingWheel.WHEEL_SIZE] &= ~(1L << (bucket & TimingWheel.WHEEL_MASK));
+            }
+        } else {
+            prev.wheelNext = next;
+        }
+        if (next == null) {
+            this.tails[bucket] = prev;
+        } else {
+            next.wheelPrev = prev;
+        }
+        task.wheelPrev = null;
+        task.wheelNext = null;
+        task.wheelBucket = -1;
+        task.wheelOwner = null;
+    }
+
+    /**
+     * Converts a timestamp to the first unit at, or after, the timestamp so
+     * that a task is never considered expired before its deadline.
+     */
+    private long toDeadline(final long timestamp) {
+        final long relative = TimingWheel.saturatedAdd(timestamp, -this.origin);
+        if (relative <= 0) {
+            return 0;
+        }
+        return (relative - 1) / this.resolution + 1;
+    }
+
+    /**
+     * Converts a timestamp to the last unit at, or before, the timestamp.
+     */
+    private long toUnits(final long timestamp) {
+        final long relative = TimingWheel.saturatedAdd(timestamp, -this.origin);
+        if (relative <= 0) {
+            return 0;
+        }
+        return relative / this.resolution;
+    }
+
+    private static int slot(final long units, final int level) {
+        final int shift = level * TimingWheel.WHEEL_BITS;
+        return (int) (units >>> shift) & TimingWheel.WHEEL_MASK;
+    }
+
+    static long saturatedAdd(final long a, final long b) {
+        final long result = a + b;
+        // Overflow only happens if both operands have the same sign, and the result's sign differs
+        if (((a ^ result) & (b ^ result)) < 0) {
+            return result < 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return result;
+    }
+}
@@ -108,15 +108,15 @@ public MemorySubjectData subjectData() {
         }
 
         @Override
-        public Tristate permissionValue(final String permission, final Cause cause) {
-            Tristate ret = super.permissionValue(permission, cause);
+        protected Tristate resolvePermissionValue(final String permission, final String[] parts) {
+            Tristate ret = super.resolvePermissionValue(permission, parts);
 
             if (ret == Tristate.UNDEFINED) {
-                ret = this.dataPermissionValue(DataFactoryCollection.this.defaults().transientSubjectData(), permission);
+                ret = this.dataPermissionValue(DataFactoryCollection.this.defaults().transientSubjectData(), permission, parts);
             }
 
             if (ret == Tristate.UNDEFINED) {
-                ret = this.dataPermissionValue(DataFactoryCollection.this.service.defaults().transientSubjectData(), permission);
+                ret = this.dataPermissionValue(DataFactoryCollection.this.service.defaults().transientSubjectData(), permission, parts);
             }
             return ret;
         }
@@ -82,6 +82,11 @@ protected void onUpdate() {
         // Do nothing - users of the class will override.
     }
 
+    protected final void update() {
+        SubjectPermissionCache.invalidateAll();
+        this.onUpdate();
+    }
+
     @Override
     public Subject subject() {
         return this.subject;
@@ -142,7 +147,7 @@ public CompletableFuture<Boolean> setPermission(Set<Context> contexts, final Str
                 }
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -176,7 +181,7 @@ public CompletableFuture<Boolean> setPermissions(Set<Context> contexts, final Ma
                     throw new IllegalStateException("Unhandled enum state " + method);
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -217,7 +222,7 @@ public CompletableFuture<Boolean> setFallbackPermissionValue(Set<Context> contex
                 }
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -237,7 +242,7 @@ public CompletableFuture<Boolean> clearFallbackPermissionValues() {
                 }
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(anyUpdated);
     }
 
@@ -246,7 +251,7 @@ public CompletableFuture<Boolean> clearPermissions() {
         final boolean wasEmpty = this.permissions.isEmpty();
         this.permissions.clear();
         if (!wasEmpty) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(!wasEmpty);
     }
@@ -255,7 +260,7 @@ public CompletableFuture<Boolean> clearPermissions() {
     public CompletableFuture<Boolean> clearPermissions(final Set<Context> context) {
         final boolean changed = this.permissions.remove(Objects.requireNonNull(context, "context")) != null;
         if (changed) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(changed);
     }
@@ -302,7 +307,7 @@ public CompletableFuture<Boolean> setParents(Set<Context> contexts, final List<?
                     throw new IllegalStateException("Unhandled enum state " + method);
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -323,7 +328,7 @@ public CompletableFuture<Boolean> addParent(Set<Context> contexts, final Subject
                     .build();
 
             if (this.updateCollection(this.parents, contexts, oldParents, newParents)) {
-                this.onUpdate();
+                this.update();
                 return CompletableFuture.completedFuture(true);
             }
         }
@@ -354,7 +359,7 @@ public CompletableFuture<Boolean> removeParent(Set<Context> contexts, final Subj
             newParents.remove(parent);
 
             if (this.updateCollection(this.parents, contexts, oldParents, ImmutableList.copyOf(newParents))) {
-                this.onUpdate();
+                this.update();
                 return CompletableFuture.completedFuture(true);
             }
         }
@@ -365,7 +370,7 @@ public CompletableFuture<Boolean> clearParents() {
         final boolean wasEmpty = this.parents.isEmpty();
         this.parents.clear();
         if (!wasEmpty) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(!wasEmpty);
     }
@@ -374,7 +379,7 @@ public CompletableFuture<Boolean> clearParents() {
     public CompletableFuture<Boolean> clearParents(final Set<Context> contexts) {
         final boolean changed = this.parents.remove(Objects.requireNonNull(contexts, "contexts")) != null;
         if (changed) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(changed);
     }
@@ -402,7 +407,7 @@ public CompletableFuture<Boolean> setOption(Set<Context> contexts, final String
             }
 
             if ((origMap = this.options.putIfAbsent(contexts, Collections.singletonMap(key.toLowerCase(), value))) == null) {
-                this.onUpdate();
+                this.update();
                 return CompletableFuture.completedFuture(true);
             }
         }
@@ -419,7 +424,7 @@ public CompletableFuture<Boolean> setOption(Set<Context> contexts, final String
             }
             newMap = ImmutableMap.copyOf(newMap);
         } while (!this.options.replace(contexts, origMap, newMap));
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -449,7 +454,7 @@ public CompletableFuture<Boolean> setOptions(Set<Context> contexts, final Map<St
                     throw new IllegalStateException("Unhandled enum state " + method);
             }
         }
-        this.onUpdate();
+        this.update();
         return CompletableFuture.completedFuture(true);
     }
 
@@ -458,7 +463,7 @@ public CompletableFuture<Boolean> clearOptions() {
         final boolean wasEmpty = this.options.isEmpty();
         this.options.clear();
         if (!wasEmpty) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(!wasEmpty);
     }
@@ -467,7 +472,7 @@ public CompletableFuture<Boolean> clearOptions() {
     public CompletableFuture<Boolean> clearOptions(final Set<Context> contexts) {
         final boolean ret = this.options.remove(Objects.requireNonNull(contexts, "contexts")) != null;
         if (ret) {
-            this.onUpdate();
+            this.update();
         }
         return CompletableFuture.completedFuture(ret);
     }
@@ -484,6 +489,7 @@ public CompletableFuture<Boolean> copyFrom(final SubjectData other, final Transf
             this.permissions.clear();
             this.parents.clear();
             this.options.clear();
+            SubjectPermissionCache.invalidateAll();
         }
 
         otherPerms.forEach((ctx, permissions) -> this.setPermissions(ctx, permissions, method));
@@ -90,6 +90,7 @@ public CompletableFuture<Boolean> clearParents(final Set<Context> contexts) {
 
     public void setParent(final @Nullable SubjectReference parent) {
         this.parent = parent;
+        SubjectPermissionCache.invalidateAll();
     }
 
     public @Nullable SubjectReference parent() {
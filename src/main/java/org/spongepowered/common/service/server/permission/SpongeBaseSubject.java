@@ -27,6 +27,7 @@
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.event.Cause;
 import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.NodeTree;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.service.permission.SubjectData;
@@ -39,6 +40,8 @@
 
 public abstract class SpongeBaseSubject implements Subject {
 
+    private final SubjectPermissionCache permissionCache = new SubjectPermissionCache(this::resolvePermissionValue);
+
     public abstract PermissionService service();
 
     @Override
@@ -71,8 +74,20 @@ public boolean hasPermission(final String permission, final Set<Context> context
     }
 
     @Override
-    public Tristate permissionValue(final String permission, final @Nullable Cause cause) {
-        return this.dataPermissionValue(this.transientSubjectData(), permission);
+    public final Tristate permissionValue(final String permission, final @Nullable Cause cause) {
+        // Neither the cause nor contexts are taken into account, the node alone identifies the value
+        return this.permissionCache.get(permission);
+    }
+
+    /**
+     * Resolves the value of a permission, bypassing the cache.
+     *
+     * @param permission The permission
+     * @param parts The permission, split with {@link SpongeNodeTree#split(String)}
+     * @return The value
+     */
+    protected Tristate resolvePermissionValue(final String permission, final String[] parts) {
+        return this.dataPermissionValue(this.transientSubjectData(), permission, parts);
     }
 
     @Override
@@ -80,8 +95,9 @@ public final Tristate permissionValue(final String permission, final Set<Context
         return this.permissionValue(permission, (Cause) null);
     }
 
-    protected Tristate dataPermissionValue(final MemorySubjectData subject, final String permission) {
-        Tristate res = subject.nodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
+    protected Tristate dataPermissionValue(final MemorySubjectData subject, final String permission, final String[] parts) {
+        final NodeTree tree = subject.nodeTree(SubjectData.GLOBAL_CONTEXT);
+        Tristate res = tree instanceof SpongeNodeTree ? ((SpongeNodeTree) tree).get(parts) : tree.get(permission);
 
         if (res == Tristate.UNDEFINED) {
             for (final SubjectReference parent : subject.parents(SubjectData.GLOBAL_CONTEXT)) {
@@ -32,11 +32,9 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
 public final class SpongeNodeTree implements NodeTree {
 
-    private static final Pattern NODE_SPLIT = Pattern.compile("\\.");
     private final Node rootNode;
 
     SpongeNodeTree(final Tristate value) {
@@ -50,7 +48,7 @@ public final class SpongeNodeTree implements NodeTree {
 
     <T> void populate(final Map<String, T> values, final Function<T, Tristate> converter) {
         for (final Map.Entry<String, T> value : values.entrySet()) {
-            final String[] parts = SpongeNodeTree.NODE_SPLIT.split(value.getKey().toLowerCase(), -1);
+            final String[] parts = SpongeNodeTree.split(value.getKey());
             Node currentNode = this.rootNode;
             for (final String part : parts) {
                 if (currentNode.children.containsKey(part)) {
@@ -65,16 +63,51 @@ <T> void populate(final Map<String, T> values, final Function<T, Tristate> conve
         }
     }
 
+    /**
+     * Splits a permission node into its lower case parts, the way the nodes
+     * of this tree are keyed.
+     *
+     * @param node The permission node
+     * @return The parts
+     */
+    static String[] split(final String node) {
+        final String lower = node.toLowerCase();
+        int count = 1;
+        for (int i = lower.indexOf('.'); i != -1; i = lower.indexOf('.', i + 1)) {
+            count++;
+        }
+        final String[] parts = new String[count];
+        int start = 0;
+        for (int i = 0; i < count - 1; i++) {
+            final int end = lower.indexOf('.', start);
+            parts[i] = lower.substring(start, end);
+            start = end + 1;
+        }
+        parts[count - 1] = lower.substring(start);
+        return parts;
+    }
+
     @Override
     public Tristate get(final String node) {
-        final String[] parts = SpongeNodeTree.NODE_SPLIT.split(node.toLowerCase(), -1);
+        return this.get(SpongeNodeTree.split(node));
+    }
+
+    /**
+     * Gets the value of a permission node that was already split with
+     * {@link #split(String)}.
+     *
+     * @param parts The parts of the permission node
+     * @return The value
+     */
+    Tristate get(final String[] parts) {
         Node currentNode = this.rootNode;
         Tristate lastUndefinedVal = Tristate.UNDEFINED;
-        for (String str : parts) {
-            if (!currentNode.children.containsKey(str)) {
+        for (final String str : parts) {
+            final Node child = currentNode.children.get(str);
+            if (child == null) {
                 break;
             }
-            currentNode = currentNode.children.get(str);
+            currentNode = child;
             if (currentNode.value != Tristate.UNDEFINED) {
                 lastUndefinedVal = currentNode.value;
             }
@@ -116,7 +149,7 @@ private void populateMap(final ImmutableMap.Builder<String, Boolean> values, fin
 
     @Override
     public NodeTree withValue(final String node, final Tristate value) {
-        final String[] parts = SpongeNodeTree.NODE_SPLIT.split(node.toLowerCase(), -1);
+        final String[] parts = SpongeNodeTree.split(node);
         final Node newRoot = new Node(new HashMap<>(this.rootNode.children));
         Node newPtr = newRoot;
         Node currentPtr = this.rootNode;
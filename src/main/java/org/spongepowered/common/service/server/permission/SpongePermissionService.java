@@ -204,4 +204,14 @@ public Collection<PermissionDescription> descriptions() {
     public SpongeSubjectCollection getDefaultCollection() {
         return this.defaultCollection;
     }
+
+    /**
+     * Gets the hit statistics of the resolved permission caches of all
+     * subjects.
+     *
+     * @return The cache statistics
+     */
+    public SubjectPermissionCache.Stats permissionCacheStats() {
+        return SubjectPermissionCache.stats();
+    }
 }
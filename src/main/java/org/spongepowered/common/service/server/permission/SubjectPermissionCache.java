@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.server.permission;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Caches the resolved permission values of a single subject.
+ *
+ * <p>A resolved value depends on the data of the subject, its parents and
+ * the default subjects, and on the operator list. Rather than tracking those
+ * dependencies, every change to any of them invalidates the caches of all
+ * subjects through {@link #invalidateAll()}. Permission data rarely changes
+ * compared to how often it is checked.</p>
+ *
+ * <p>Each node is stored together with its split form, which is kept across
+ * invalidations so that resolving a node again does not split it again.</p>
+ */
+public final class SubjectPermissionCache {
+
+    private static final int MAX_SIZE = 2048;
+
+    private static final AtomicLong EPOCH = new AtomicLong();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private final BiFunction<String, String[], Tristate> resolver;
+    private final Map<String, Entry> values = new ConcurrentHashMap<>();
+
+    SubjectPermissionCache(final BiFunction<String, String[], Tristate> resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Invalidates the cached permission values of all subjects.
+     */
+    public static void invalidateAll() {
+        SubjectPermissionCache.EPOCH.incrementAndGet();
+    }
+
+    public static Stats stats() {
+        return new Stats(SubjectPermissionCache.HITS.sum(), SubjectPermissionCache.MISSES.sum());
+    }
+
+    public static void resetStats() {
+        SubjectPermissionCache.HITS.reset();
+        SubjectPermissionCache.MISSES.reset();
+    }
+
+    Tristate get(final String permission) {
+        final long epoch = SubjectPermissionCache.EPOCH.get();
+        final @Nullable Entry cached = this.values.get(permission);
+        if (cached != null && cached.epoch() == epoch) {
+            SubjectPermissionCache.HITS.increment();
+            return cached.value();
+        }
+        SubjectPermissionCache.MISSES.increment();
+        final String[] parts = cached == null ? SpongeNodeTree.split(permission) : cached.parts();
+        final Tristate value = this.resolver.apply(permission, parts);
+        // Don't store values that may have been resolved from data that changed in the meantime
+        if (SubjectPermissionCache.EPOCH.get() == epoch) {
+            if (cached == null && this.values.size() >= SubjectPermissionCache.MAX_SIZE) {
+                this.values.clear();
+            }
+            this.values.put(permission, new Entry(parts, value, epoch));
+        }
+        return value;
+    }
+
+    private record Entry(String[] parts, Tristate value, long epoch) {
+    }
+
+    public record Stats(long hits, long misses) {
+
+        public double hitRate() {
+            final long total = this.hits + this.misses;
+            return total == 0 ? 0 : (double) this.hits / total;
+        }
+    }
+}
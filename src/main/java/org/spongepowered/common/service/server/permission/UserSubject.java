@@ -123,13 +123,13 @@ public PermissionService service() {
     }
 
     @Override
-    public Tristate permissionValue(final String permission, final Cause cause) {
-        Tristate ret = super.permissionValue(permission, cause);
+    protected Tristate resolvePermissionValue(final String permission, final String[] parts) {
+        Tristate ret = super.resolvePermissionValue(permission, parts);
         if (ret == Tristate.UNDEFINED) {
-            ret = this.dataPermissionValue(this.collection.defaults().subjectData(), permission);
+            ret = this.dataPermissionValue(this.collection.defaults().subjectData(), permission, parts);
         }
         if (ret == Tristate.UNDEFINED) {
-            ret = this.dataPermissionValue(this.collection.getService().defaults().subjectData(), permission);
+            ret = this.dataPermissionValue(this.collection.getService().defaults().subjectData(), permission, parts);
         }
         if (ret == Tristate.UNDEFINED && this.getOpLevel() >= SpongePermissionService.getServerOpLevel()) {
             ret = Tristate.TRUE;
@@ -41,6 +41,7 @@
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.accessor.server.players.PlayerListAccessor;
 import org.spongepowered.common.accessor.world.level.storage.PlayerDataStorageAccessor;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.entity.player.SpongeUserData;
 import org.spongepowered.common.entity.player.SpongeUserView;
 import org.spongepowered.common.profile.SpongeGameProfile;
@@ -53,6 +54,7 @@
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
@@ -88,6 +90,8 @@ public final class SpongeUserManager implements UserManager {
             .setDaemon(true)
             .setNameFormat("Sponge-User-Data-Loader")
             .build());
+    private final UserDataWriter dataWriter = new UserDataWriter(SpongeConfigs.getCommon().get().world.userDataSaveThreads,
+            SpongeConfigs.getCommon().get().world.userDataSaveQueueSize);
 
     private @Nullable WatchService filesystemWatchService = null;
     private @Nullable WatchKey watchKey = null;
@@ -184,6 +188,7 @@ public CompletableFuture<Boolean> delete(final UUID uuid) {
             final @Nullable Path dataFile = this.getPlayerDataFile(uuid);
             if (dataFile != null) {
                 try {
+                    this.dataWriter.discard(uuid);
                     if (Files.deleteIfExists(dataFile)) {
                         final @Nullable SpongeUserData data = this.userCache.getIfPresent(uuid);
                         if (data != null) {
@@ -266,10 +271,13 @@ public void handlePlayerLogin(final com.mojang.authlib.GameProfile mcProfile) th
             // The views will now point at the player.
             this.userCache.invalidate(currentUser.uniqueId());
         }
+        // Vanilla is about to read the file, make sure it is not behind a queued save
+        this.dataWriter.flush(mcProfile.getId());
     }
 
     private void createUser(final com.mojang.authlib.GameProfile profile) throws IOException {
         this.pollFilesystemWatcher();
+        this.dataWriter.flush(profile.getId());
         final @Nullable SpongeUserData user = SpongeUserData.create(profile);
         this.userCache.put(profile.getId(), user);
         this.knownUUIDs.add(profile.getId());
@@ -429,14 +437,29 @@ private Path getSaveHandlerDirectory() {
     public void saveDirtyUsers() {
         // If they are online, Minecraft will do the save automatically.
         this.dirtyUsers.removeIf(SpongeUserData::isOnline);
-        for (final SpongeUserData user : new HashSet<>(this.dirtyUsers)) {
-            try {
-                user.save();
-            } catch (final IOException ignored) {
-                // There isn't much we can do here. The error has been logged, but
-                // the user is still available at this time so let's continue...
-            }
+        final long start = System.nanoTime();
+        int count = 0;
+        for (final SpongeUserData user : new ArrayList<>(this.dirtyUsers)) {
+            // Only the snapshot is taken here, compressing and writing it happens on the writer threads.
+            // A failed write marks the user dirty again.
+            this.dirtyUsers.remove(user);
+            this.dataWriter.submit(user.uniqueId(), user.dataFile(), user.snapshot(), () -> this.server.execute(() -> {
+                // Retry on the next save, unless the user has been reloaded since
+                if (this.userCache.getIfPresent(user.uniqueId()) == user) {
+                    user.markDirty();
+                }
+            }));
+            count++;
         }
+        this.dataWriter.recordBatch(count, System.nanoTime() - start);
+        if (!this.server.isRunning()) {
+            // Shutting down, the writer threads won't keep the process alive
+            this.dataWriter.awaitAll();
+        }
+    }
+
+    public UserDataWriter dataWriter() {
+        return this.dataWriter;
     }
 
     public void unmarkDirty(final SpongeUserData user) {
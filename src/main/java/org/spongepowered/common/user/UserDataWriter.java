@@ -0,0 +1,233 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.user;
+
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.util.DurationHistogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Writes snapshots of offline user data to disk on a small pool of I/O
+ * threads.
+ *
+ * <p>Only the latest snapshot of each user is kept, a newer one replacing
+ * any that has not been picked up yet, and writes of the same user are
+ * serialized so that an older snapshot never lands after a newer one. Once
+ * the queue is full, snapshots are written by the submitting thread, which
+ * slows down whoever is producing them faster than the disk can keep
+ * up.</p>
+ */
+public final class UserDataWriter {
+
+    private final ThreadPoolExecutor executor;
+    private final Striped<Lock> locks = Striped.lock(64);
+    private final Map<UUID, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final DurationHistogram writeLatency = new DurationHistogram();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long lastSnapshotNanos;
+    private volatile int lastBatchSize;
+
+    UserDataWriter(final int threads, final int queueSize) {
+        final int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("Sponge-User-Data-Writer-%d")
+                        .build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues a snapshot of a user to be written.
+     *
+     * @param uniqueId The unique id of the user the snapshot was taken from
+     * @param file The file to write the snapshot to
+     * @param snapshot The snapshot, which must not be modified afterwards
+     * @param onFailure Run on the writer thread if the snapshot could not be written
+     */
+    void submit(final UUID uniqueId, final Path file, final CompoundTag snapshot, final Runnable onFailure) {
+        if (this.pending.put(uniqueId, new PendingWrite(file, snapshot, onFailure, System.nanoTime())) != null) {
+            // The queued task has not started yet and will pick up this snapshot instead
+            return;
+        }
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        this.inFlight.add(future);
+        this.executor.execute(() -> {
+            try {
+                this.flush(uniqueId);
+            } finally {
+                this.inFlight.remove(future);
+                future.complete(null);
+            }
+        });
+    }
+
+    void recordBatch(final int size, final long snapshotNanos) {
+        this.lastBatchSize = size;
+        this.lastSnapshotNanos = snapshotNanos;
+    }
+
+    /**
+     * Writes a snapshot right away on the calling thread, superseding any
+     * snapshot of the same user that is still queued.
+     *
+     * @param uniqueId The unique id of the user
+     * @param file The file to write the snapshot to
+     * @param snapshot The snapshot
+     * @throws IOException If the file could not be written
+     */
+    public void write(final UUID uniqueId, final Path file, final CompoundTag snapshot) throws IOException {
+        final Lock lock = this.locks.get(uniqueId);
+        lock.lock();
+        try {
+            this.pending.remove(uniqueId);
+            final long start = System.nanoTime();
+            UserDataWriter.writeAtomically(file, snapshot);
+            this.written.increment();
+            this.writeLatency.record(System.nanoTime() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes sure that the file of a user is up to date, waiting for a write
+     * in progress and writing a queued snapshot on the calling thread.
+     *
+     * @param uniqueId The unique id of the user
+     */
+    void flush(final UUID uniqueId) {
+        final Lock lock = this.locks.get(uniqueId);
+        lock.lock();
+        try {
+            final @Nullable PendingWrite write = this.pending.remove(uniqueId);
+            if (write != null) {
+                this.perform(write);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops any queued snapshot of a user, waiting for a write in progress
+     * to finish, so that the file can be deleted.
+     *
+     * @param uniqueId The unique id of the user
+     */
+    void discard(final UUID uniqueId) {
+        final Lock lock = this.locks.get(uniqueId);
+        lock.lock();
+        try {
+            this.pending.remove(uniqueId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for every queued snapshot to be written.
+     */
+    void awaitAll() {
+        CompletableFuture.allOf(this.inFlight.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private void perform(final PendingWrite write) {
+        try {
+            UserDataWriter.writeAtomically(write.file(), write.snapshot());
+            this.written.increment();
+            this.writeLatency.record(System.nanoTime() - write.queuedAt());
+        } catch (final IOException e) {
+            this.failed.increment();
+            SpongeCommon.logger().warn("Failed to save user file [{}]!", write.file(), e);
+            write.onFailure().run();
+        }
+    }
+
+    private static void writeAtomically(final Path file, final CompoundTag snapshot) throws IOException {
+        final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final OutputStream out = Files.newOutputStream(tempFile)) {
+            NbtIo.writeCompressed(snapshot, out);
+        }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(this.pending.size(), this.written.sum(), this.failed.sum(), this.writeLatency.snapshot(), this.lastBatchSize,
+                this.lastSnapshotNanos);
+    }
+
+    public void resetStats() {
+        this.written.reset();
+        this.failed.reset();
+        this.writeLatency.reset();
+    }
+
+    private record PendingWrite(Path file, CompoundTag snapshot, Runnable onFailure, long queuedAt) {
+    }
+
+    /**
+     * The state of the writer.
+     *
+     * @param queued The number of users waiting to be written
+     * @param written The number of files written
+     * @param failed The number of files that could not be written
+     * @param latency The time from the snapshot being taken to the file being written
+     * @param lastBatchSize The number of users snapshotted by the last save
+     * @param lastSnapshotNanos The time the server thread spent on the last save
+     */
+    public record Stats(int queued, long written, long failed, DurationHistogram.Snapshot latency, int lastBatchSize,
+            long lastSnapshotNanos) {
+    }
+}
@@ -164,11 +164,19 @@ public static final class V3 {
 
         public static final String SPONGE_ENTITY_CREATOR = "Creator";
         public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
+        // Only read to migrate chunks saved before TrackedBlocks
         public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
 
+        public static final class TrackedBlocks {
+
+            public static final String TAG = "TrackedBlocks";
+            public static final String POSITIONS = "Positions";
+            public static final String TRACKERS = "Trackers";
+        }
+
         @Deprecated
         public static final String LEGACY_SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
-        public static final String SPONGE_PLAYER_UUID_TABLE = "player-uuid-table";
+        public static final String SPONGE_PLAYER_UUID_INDEX = "player-uuid-index";
 
         // General DataQueries
         public static final DataQuery UNSAFE_NBT = of("UnsafeData");
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations, in nanoseconds, using logarithmic
+ * buckets with {@link #SUB_BUCKETS} linear sub-buckets per power of two.
+ * Percentiles are therefore accurate to within roughly 12%, which is plenty
+ * to find out which code is eating the tick, while recording a value is
+ * only a couple of atomic increments.
+ */
+public final class DurationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << DurationHistogram.SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - DurationHistogram.SUB_BUCKET_BITS + 1) * DurationHistogram.SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(DurationHistogram.BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        this.buckets.incrementAndGet(DurationHistogram.index(value));
+        this.count.increment();
+        this.total.add(value);
+        long currentMax;
+        while (value > (currentMax = this.max.get())) {
+            if (this.max.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < DurationHistogram.BUCKETS; i++) {
+            this.buckets.set(i, 0);
+        }
+        this.count.reset();
+        this.total.reset();
+        this.max.set(0);
+    }
+
+    public long count() {
+        return this.count.sum();
+    }
+
+    public Snapshot snapshot() {
+        final long[] counts = new long[DurationHistogram.BUCKETS];
+        long count = 0;
+        for (int i = 0; i < DurationHistogram.BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            count += counts[i];
+        }
+        final long max = this.max.get();
+        return new Snapshot(count, this.total.sum(), max,
+                DurationHistogram.percentile(counts, count, max, 0.5), DurationHistogram.percentile(counts, count, max, 0.99));
+    }
+
+    private static long percentile(final long[] counts, final long count, final long max, final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(count * percentile));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(DurationHistogram.upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int index(final long value) {
+        if (value < DurationHistogram.SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int msb = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (msb - DurationHistogram.SUB_BUCKET_BITS)) & (DurationHistogram.SUB_BUCKETS - 1);
+        return (msb - DurationHistogram.SUB_BUCKET_BITS + 1) * DurationHistogram.SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(final int index) {
+        if (index < DurationHistogram.SUB_BUCKETS) {
+            return index;
+        }
+        final int msb = index / DurationHistogram.SUB_BUCKETS + DurationHistogram.SUB_BUCKET_BITS - 1;
+        final int sub = index % DurationHistogram.SUB_BUCKETS;
+        final int shift = msb - DurationHistogram.SUB_BUCKET_BITS;
+        final long lower = (long) (DurationHistogram.SUB_BUCKETS + sub) << shift;
+        return lower + ((1L << shift) - 1);
+    }
+
+    /**
+     * An immutable view of the recorded durations.
+     *
+     * @param count The number of recorded durations
+     * @param totalNanos The sum of all recorded durations
+     * @param maxNanos The longest recorded duration
+     * @param p50Nanos The median duration
+     * @param p99Nanos The 99th percentile duration
+     */
+    public record Snapshot(long count, long totalNanos, long maxNanos, long p50Nanos, long p99Nanos) {
+
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0);
+
+        public Duration total() {
+            return Duration.ofNanos(this.totalNanos);
+        }
+
+        public Duration max() {
+            return Duration.ofNanos(this.maxNanos);
+        }
+
+        public Duration p50() {
+            return Duration.ofNanos(this.p50Nanos);
+        }
+
+        public Duration p99() {
+            return Duration.ofNanos(this.p99Nanos);
+        }
+
+        public double averageNanos() {
+            return this.count == 0 ? 0 : (double) this.totalNanos / this.count;
+        }
+    }
+}
@@ -26,57 +26,80 @@
 
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
-import io.leangen.geantyref.TypeToken;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.Server;
 import org.spongepowered.common.SpongeCommon;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Keeps the last known username of every player that joined the server.
+ *
+ * <p>Changes are appended to a compact binary journal on save rather than
+ * rewriting the whole cache, the journal being compacted into a snapshot
+ * once it holds a lot more records than there are live entries. A legacy
+ * {@code usernamecache.json} file is migrated on load.</p>
+ */
 public final class UsernameCache {
 
     private static final Charset CHARSET = Charsets.UTF_8;
+    private static final int JOURNAL_MAGIC = 0x53554E43;
+    private static final int JOURNAL_VERSION = 1;
+    private static final byte OP_SET = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final int COMPACTION_MIN_RECORDS = 10_000;
 
-    private final Map<UUID, String> usernameByUniqueId;
-    private final Gson gson;
-    private final Path cacheFile;
-    private boolean dirty = false;
+    private final Map<UUID, String> usernameByUniqueId = new ConcurrentHashMap<>();
+    private final Map<String, UUID> uniqueIdByLowerUsername = new ConcurrentHashMap<>();
+    private final Queue<Change> pending = new ConcurrentLinkedQueue<>();
+    private final Path journalFile;
+    private final Path legacyCacheFile;
+    private long journalRecords;
+    private boolean compactOnSave;
 
     public UsernameCache(final Server server) {
-        this.usernameByUniqueId = new ConcurrentHashMap<>();
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
-        this.cacheFile = server.game().gameDirectory().resolve("usernamecache.json");
+        this(server.game().gameDirectory());
+    }
+
+    UsernameCache(final Path directory) {
+        this.journalFile = directory.resolve("usernamecache.dat");
+        this.legacyCacheFile = directory.resolve("usernamecache.json");
     }
 
     public void setUsername(final UUID uniqueId, final String username) {
         Preconditions.checkNotNull(uniqueId);
         Preconditions.checkNotNull(username);
 
-        if (username.equals(this.usernameByUniqueId.get(uniqueId))) {
-            return;
+        if (this.put(uniqueId, username)) {
+            this.pending.add(new Change(uniqueId, username));
         }
-
-        this.usernameByUniqueId.put(uniqueId, username);
-        this.dirty = true;
     }
 
     public boolean removeUsername(final UUID uniqueId) {
         Preconditions.checkNotNull(uniqueId);
 
-        if (this.usernameByUniqueId.remove(uniqueId) != null) {
-            this.dirty = true;
+        if (this.remove(uniqueId)) {
+            this.pending.add(new Change(uniqueId, null));
             return true;
         }
 
@@ -92,13 +115,7 @@ public boolean removeUsername(final UUID uniqueId) {
     public @Nullable UUID getLastKnownUUID(final String username) {
         Preconditions.checkNotNull(username);
 
-        for (Map.Entry<UUID, String> mapEntry : this.usernameByUniqueId.entrySet()) {
-            if (mapEntry.getValue().equalsIgnoreCase(username)) {
-                return mapEntry.getKey();
-            }
-        }
-
-        return null;
+        return this.uniqueIdByLowerUsername.get(username.toLowerCase(Locale.ROOT));
     }
 
     public boolean containsUUID(final UUID uniqueId) {
@@ -111,45 +128,204 @@ public Map<UUID, String> getAll() {
         return Collections.unmodifiableMap(this.usernameByUniqueId);
     }
 
-    public void load() {
-        this.usernameByUniqueId.clear();
+    private boolean put(final UUID uniqueId, final String username) {
+        final @Nullable String previous = this.usernameByUniqueId.put(uniqueId, username);
+        if (username.equals(previous)) {
+            return false;
+        }
+        if (previous != null) {
+            this.unindex(uniqueId, previous);
+        }
+        this.uniqueIdByLowerUsername.put(username.toLowerCase(Locale.ROOT), uniqueId);
+        return true;
+    }
+
+    private boolean remove(final UUID uniqueId) {
+        final @Nullable String previous = this.usernameByUniqueId.remove(uniqueId);
+        if (previous == null) {
+            return false;
+        }
+        this.unindex(uniqueId, previous);
+        return true;
+    }
 
-        if (Files.notExists(this.cacheFile)) {
+    private void unindex(final UUID uniqueId, final String username) {
+        final String key = username.toLowerCase(Locale.ROOT);
+        if (!this.uniqueIdByLowerUsername.remove(key, uniqueId)) {
             return;
         }
+        // Names get reused by other players after a rename, which is rare enough to afford a scan
+        for (final Map.Entry<UUID, String> entry : this.usernameByUniqueId.entrySet()) {
+            if (entry.getValue().equalsIgnoreCase(username)) {
+                this.uniqueIdByLowerUsername.putIfAbsent(key, entry.getKey());
+                return;
+            }
+        }
+    }
+
+    public synchronized void load() {
+        this.usernameByUniqueId.clear();
+        this.uniqueIdByLowerUsername.clear();
+        this.pending.clear();
+        this.journalRecords = 0;
+        this.compactOnSave = false;
+
+        if (Files.exists(this.journalFile)) {
+            this.loadJournal();
+        } else if (Files.exists(this.legacyCacheFile)) {
+            this.migrateLegacyCache();
+        }
+    }
 
-        try (final BufferedReader reader = Files.newBufferedReader(this.cacheFile, UsernameCache.CHARSET)) {
-            final Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
-            this.usernameByUniqueId.putAll(this.gson.fromJson(reader, type));
-        } catch (final JsonSyntaxException e) {
-            SpongeCommon.logger().error("Could not parse username cache file as valid json, deleting file", e);
-            this.deleteCacheFile();
+    private void loadJournal() {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.journalFile)))) {
+            if (in.readInt() != UsernameCache.JOURNAL_MAGIC || in.readInt() != UsernameCache.JOURNAL_VERSION) {
+                SpongeCommon.logger().error("Username cache file has an unknown format, ignoring its content");
+                this.compactOnSave = true;
+                return;
+            }
+            while (true) {
+                final int op = in.read();
+                if (op == -1) {
+                    break;
+                }
+                final UUID uniqueId = new UUID(in.readLong(), in.readLong());
+                if (op == UsernameCache.OP_SET) {
+                    this.put(uniqueId, in.readUTF());
+                } else if (op == UsernameCache.OP_REMOVE) {
+                    this.remove(uniqueId);
+                } else {
+                    throw new IOException("Unknown username cache record type " + op);
+                }
+                this.journalRecords++;
+            }
+        } catch (final EOFException e) {
+            // A save was interrupted part way through a record, everything before it is still valid
+            SpongeCommon.logger().warn("Username cache file is truncated, the last record has been dropped");
+            this.compactOnSave = true;
         } catch (final IOException e) {
-            SpongeCommon.logger().error("Failed to read username cache file from disk, deleting file", e);
-            this.deleteCacheFile();
+            SpongeCommon.logger().error("Failed to read username cache file from disk, keeping {} entries read so far",
+                    this.usernameByUniqueId.size(), e);
+            this.compactOnSave = true;
         }
     }
 
-    private void deleteCacheFile() {
-        try {
-            Files.deleteIfExists(this.cacheFile);
-        } catch (IOException e) {
-            SpongeCommon.logger().error("Failed to delete username cache file from disk!", e);
+    private void migrateLegacyCache() {
+        // Streamed, as the legacy file can get far too large to parse into a tree first
+        try (final JsonReader reader = new JsonReader(Files.newBufferedReader(this.legacyCacheFile, UsernameCache.CHARSET))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String uniqueId = reader.nextName();
+                final String username = reader.nextString();
+                try {
+                    this.put(UUID.fromString(uniqueId), username);
+                } catch (final IllegalArgumentException e) {
+                    SpongeCommon.logger().warn("Skipping invalid unique id '{}' in the username cache", uniqueId);
+                }
+            }
+            reader.endObject();
+        } catch (final JsonParseException | IllegalStateException e) {
+            SpongeCommon.logger().error("Could not parse username cache file as valid json, keeping {} entries read so far",
+                    this.usernameByUniqueId.size(), e);
+        } catch (final IOException e) {
+            SpongeCommon.logger().error("Failed to read username cache file from disk, keeping {} entries read so far",
+                    this.usernameByUniqueId.size(), e);
+        }
+
+        if (this.compact()) {
+            try {
+                Files.move(this.legacyCacheFile, this.legacyCacheFile.resolveSibling("usernamecache.json.old"), StandardCopyOption.REPLACE_EXISTING);
+            } catch (final IOException e) {
+                SpongeCommon.logger().error("Failed to move the migrated username cache file out of the way", e);
+            }
         }
     }
 
-    public void save() {
-        if (!this.dirty) {
+    public synchronized void save() {
+        if (this.compactOnSave || this.journalRecords + this.pending.size()
+                > Math.max(UsernameCache.COMPACTION_MIN_RECORDS, 2L * this.usernameByUniqueId.size())) {
+            this.compact();
+            return;
+        }
+        if (this.pending.isEmpty()) {
             return;
         }
 
-        try {
-            // Make sure we don't save when another thread is still saving
-            final String serialized = this.gson.toJson(this.usernameByUniqueId);
-            Files.write(this.cacheFile, serialized.getBytes(UsernameCache.CHARSET));
-            this.dirty = false;
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.journalFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            if (this.journalRecords == 0 && Files.size(this.journalFile) == 0) {
+                UsernameCache.writeHeader(out);
+            }
+            @Nullable Change change;
+            while ((change = this.pending.poll()) != null) {
+                if (change.username() == null) {
+                    out.writeByte(UsernameCache.OP_REMOVE);
+                    UsernameCache.writeUniqueId(out, change.uniqueId());
+                } else {
+                    UsernameCache.writeSet(out, change.uniqueId(), change.username());
+                }
+                this.journalRecords++;
+            }
         } catch (final IOException e) {
             SpongeCommon.logger().error("Failed to save username cache to file!", e);
+            // The journal may now end with a partial record, rewrite it from memory next time
+            this.compactOnSave = true;
         }
     }
+
+    /**
+     * Rewrites the journal as a snapshot of the live entries.
+     *
+     * @return Whether the snapshot was written
+     */
+    private boolean compact() {
+        final Path tempFile = this.journalFile.resolveSibling(this.journalFile.getFileName() + ".tmp");
+        // Anything queued up to here is part of the snapshot
+        this.pending.clear();
+        long records = 0;
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            UsernameCache.writeHeader(out);
+            for (final Map.Entry<UUID, String> entry : this.usernameByUniqueId.entrySet()) {
+                UsernameCache.writeSet(out, entry.getKey(), entry.getValue());
+                records++;
+            }
+        } catch (final IOException e) {
+            SpongeCommon.logger().error("Failed to save username cache to file!", e);
+            this.compactOnSave = true;
+            return false;
+        }
+        try {
+            try {
+                Files.move(tempFile, this.journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, this.journalFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            SpongeCommon.logger().error("Failed to replace username cache file!", e);
+            this.compactOnSave = true;
+            return false;
+        }
+        this.journalRecords = records;
+        this.compactOnSave = false;
+        return true;
+    }
+
+    private static void writeHeader(final DataOutputStream out) throws IOException {
+        out.writeInt(UsernameCache.JOURNAL_MAGIC);
+        out.writeInt(UsernameCache.JOURNAL_VERSION);
+    }
+
+    private static void writeSet(final DataOutputStream out, final UUID uniqueId, final String username) throws IOException {
+        out.writeByte(UsernameCache.OP_SET);
+        UsernameCache.writeUniqueId(out, uniqueId);
+        out.writeUTF(username);
+    }
+
+    private static void writeUniqueId(final DataOutputStream out, final UUID uniqueId) throws IOException {
+        out.writeLong(uniqueId.getMostSignificantBits());
+        out.writeLong(uniqueId.getLeastSignificantBits());
+    }
+
+    private record Change(UUID uniqueId, @Nullable String username) {
+    }
 }
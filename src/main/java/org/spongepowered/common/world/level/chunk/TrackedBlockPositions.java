@@ -0,0 +1,185 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.level.chunk;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import org.spongepowered.common.util.Constants;
+
+/**
+ * Stores the creator and notifier of tracked blocks within a single chunk.
+ *
+ * <p>Positions are packed into a chunk-local int and both user indices into
+ * a single long, so tracking a block costs one primitive map entry instead of
+ * a boxed key and a {@link org.spongepowered.common.entity.PlayerTracker}.
+ * Indices refer to the world's unique id table, {@code -1} meaning none.</p>
+ */
+public final class TrackedBlockPositions {
+
+    private static final long NONE = -1L;
+
+    private final Int2LongOpenHashMap entries;
+
+    public TrackedBlockPositions() {
+        this(0);
+    }
+
+    private TrackedBlockPositions(final int expected) {
+        this.entries = new Int2LongOpenHashMap(expected);
+        this.entries.defaultReturnValue(TrackedBlockPositions.NONE);
+    }
+
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public boolean contains(final BlockPos pos) {
+        return this.entries.containsKey(TrackedBlockPositions.key(pos));
+    }
+
+    public int creator(final BlockPos pos) {
+        return TrackedBlockPositions.creator(this.entries.get(TrackedBlockPositions.key(pos)));
+    }
+
+    public int notifier(final BlockPos pos) {
+        return TrackedBlockPositions.notifier(this.entries.get(TrackedBlockPositions.key(pos)));
+    }
+
+    public void setCreator(final BlockPos pos, final int creator) {
+        final int key = TrackedBlockPositions.key(pos);
+        this.put(key, creator, TrackedBlockPositions.notifier(this.entries.get(key)));
+    }
+
+    public void setNotifier(final BlockPos pos, final int notifier) {
+        final int key = TrackedBlockPositions.key(pos);
+        this.put(key, TrackedBlockPositions.creator(this.entries.get(key)), notifier);
+    }
+
+    public void set(final BlockPos pos, final int creator, final int notifier) {
+        this.put(TrackedBlockPositions.key(pos), creator, notifier);
+    }
+
+    public void remove(final BlockPos pos) {
+        this.entries.remove(TrackedBlockPositions.key(pos));
+    }
+
+    private void put(final int key, final int creator, final int notifier) {
+        final long value = TrackedBlockPositions.pack(creator, notifier);
+        if (value == TrackedBlockPositions.NONE) {
+            // Untracked and tracked-by-nobody are indistinguishable on lookup
+            this.entries.remove(key);
+        } else {
+            this.entries.put(key, value);
+        }
+    }
+
+    /**
+     * Writes this store into the given sponge data compound as two parallel
+     * arrays of packed positions and packed user indices.
+     *
+     * @param spongeData The compound to write into
+     */
+    public void write(final CompoundTag spongeData) {
+        final int[] positions = new int[this.entries.size()];
+        final long[] trackers = new long[positions.length];
+        int i = 0;
+        for (final Int2LongMap.Entry entry : this.entries.int2LongEntrySet()) {
+            positions[i] = entry.getIntKey();
+            trackers[i++] = entry.getLongValue();
+        }
+        final CompoundTag tracked = new CompoundTag();
+        tracked.putIntArray(Constants.Sponge.TrackedBlocks.POSITIONS, positions);
+        tracked.putLongArray(Constants.Sponge.TrackedBlocks.TRACKERS, trackers);
+        spongeData.put(Constants.Sponge.TrackedBlocks.TAG, tracked);
+    }
+
+    /**
+     * Reads the tracked positions from the given sponge data compound,
+     * migrating the legacy per-position {@link ListTag} table if that is all
+     * the chunk has.
+     *
+     * @param spongeData The compound to read from
+     * @return The tracked positions, possibly empty
+     */
+    public static TrackedBlockPositions read(final CompoundTag spongeData) {
+        if (spongeData.contains(Constants.Sponge.TrackedBlocks.TAG, Constants.NBT.TAG_COMPOUND)) {
+            final CompoundTag tracked = spongeData.getCompound(Constants.Sponge.TrackedBlocks.TAG);
+            final int[] positions = tracked.getIntArray(Constants.Sponge.TrackedBlocks.POSITIONS);
+            final long[] trackers = tracked.getLongArray(Constants.Sponge.TrackedBlocks.TRACKERS);
+            final int length = Math.min(positions.length, trackers.length);
+            final TrackedBlockPositions store = new TrackedBlockPositions(length);
+            for (int i = 0; i < length; i++) {
+                if (trackers[i] != TrackedBlockPositions.NONE) {
+                    store.entries.put(positions[i], trackers[i]);
+                }
+            }
+            return store;
+        }
+        final ListTag legacy = spongeData.getList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_COMPOUND);
+        final TrackedBlockPositions store = new TrackedBlockPositions(legacy.size());
+        for (int i = 0; i < legacy.size(); i++) {
+            final CompoundTag data = legacy.getCompound(i);
+            final int creator = data.contains("owner") ? data.getInt("owner") : -1;
+            final int notifier = data.contains("notifier") ? data.getInt("notifier") : -1;
+            final int key;
+            if (data.contains("pos")) {
+                final short pos = data.getShort("pos");
+                key = TrackedBlockPositions.key(pos & 0xF, (pos >> 4) & Constants.Chunk.Y_SHORT_MASK, (pos >> 12) & 0xF);
+            } else {
+                final int pos = data.getInt("ipos");
+                key = TrackedBlockPositions.key(pos & 0xF, (pos >> 4) & Constants.Chunk.Y_INT_MASK, (pos >>> 28) & 0xF);
+            }
+            store.put(key, creator, notifier);
+        }
+        return store;
+    }
+
+    private static int key(final BlockPos pos) {
+        return TrackedBlockPositions.key(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    private static int key(final int x, final int y, final int z) {
+        return y << 8 | (z & 0xF) << 4 | x & 0xF;
+    }
+
+    private static long pack(final int creator, final int notifier) {
+        return (long) creator << 32 | notifier & 0xFFFFFFFFL;
+    }
+
+    private static int creator(final long value) {
+        return (int) (value >> 32);
+    }
+
+    private static int notifier(final long value) {
+        return (int) value;
+    }
+}
@@ -77,7 +77,6 @@
 import org.spongepowered.api.event.world.LoadWorldEvent;
 import org.spongepowered.api.event.world.UnloadWorldEvent;
 import org.spongepowered.api.scheduler.Task;
-import org.spongepowered.api.util.file.DeleteFileVisitor;
 import org.spongepowered.api.world.DefaultWorldKeys;
 import org.spongepowered.api.world.WorldType;
 import org.spongepowered.api.world.server.ServerWorld;
@@ -105,12 +104,9 @@
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -120,10 +116,12 @@
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public abstract class SpongeWorldManager implements WorldManager {
@@ -133,6 +131,7 @@ public abstract class SpongeWorldManager implements WorldManager {
     private final MinecraftServer server;
     private final Path defaultWorldDirectory, customWorldsDirectory;
     private final Map<net.minecraft.resources.ResourceKey<Level>, ServerLevel> worlds;
+    private final WorldFileOperations fileOperations = new WorldFileOperations();
 
     private static final TicketType<ResourceLocation> SPAWN_CHUNKS = TicketType.create("spawn_chunks", ResourceLocation::compareTo);
 
@@ -300,6 +299,13 @@ private CompletableFuture<ServerWorld> loadWorld0(final net.minecraft.resources.
         final DimensionType dimensionType = levelStem.type().value();
         final Optional<ResourceKey> worldTypeKey = this.worldTypeKey(dimensionType);
 
+        // Keeps the world from being copied, moved or deleted while its files are being opened
+        final WorldFileOperations.Operation operation = this.fileOperations.begin(WorldFileOperations.Kind.LOAD, worldKey);
+        if (operation == null) {
+            return FutureUtil.completedWithException(new IllegalStateException(
+                    String.format("World '%s' is being copied, moved, deleted or loaded!", worldKey)));
+        }
+
         MinecraftServerAccessor.accessor$LOGGER().info("Loading world '{}' ({})", worldKey, worldTypeKey.map(ResourceKey::toString).orElse("inline"));
 
         final ChunkProgressListener chunkStatusListener = ((MinecraftServerAccessor) this.server).accessor$progressListenerFactory().create(11);
@@ -307,6 +313,7 @@ private CompletableFuture<ServerWorld> loadWorld0(final net.minecraft.resources.
         try {
             world = this.createNonDefaultLevel(registryKey, levelStem, worldKey, worldTypeKey.orElse(null), chunkStatusListener);
         } catch (final IOException e) {
+            this.fileOperations.end(operation);
             return FutureUtil.completedWithException(new RuntimeException(String.format("Failed to create level data for world '%s'!", worldKey), e));
         }
 
@@ -314,7 +321,8 @@ private CompletableFuture<ServerWorld> loadWorld0(final net.minecraft.resources.
                     ((MinecraftServerAccessor) this.server).invoker$forceDifficulty();
                     return w;
                 }).thenCompose(w -> this.postWorldLoad(world, false))
-                  .thenApply(w -> (ServerWorld) w);
+                  .thenApply(w -> (ServerWorld) w)
+                  .whenComplete((w, throwable) -> this.fileOperations.end(operation));
     }
 
     private LevelStorageSource.LevelStorageAccess getLevelStorageAccess(final ResourceKey worldKey) throws IOException {
@@ -370,6 +378,11 @@ public CompletableFuture<Boolean> unloadWorld(final ServerWorld world) {
             return CompletableFuture.completedFuture(false);
         }
 
+        if (this.fileOperations.isBusy(world.key())) {
+            // The world is still being loaded or its files are being copied
+            return CompletableFuture.completedFuture(false);
+        }
+
         try {
             this.unloadWorld0((ServerLevel) world);
             return CompletableFuture.completedFuture(true);
@@ -480,13 +493,23 @@ public CompletableFuture<Boolean> copyWorld(final ResourceKey key, final Resourc
             return CompletableFuture.completedFuture(false);
         }
 
-        final ServerLevel loadedWorld = this.worlds.get(registryKey);
-        boolean disableLevelSaving = false;
+        if (this.worlds.containsKey(registryKey) && !this.server.isSameThread()) {
+            // A loaded world has to be saved on the server thread, see below
+            return this.server.submit(() -> this.copyWorld(key, copyKey)).thenCompose(Function.identity());
+        }
+
+        final WorldFileOperations.Operation operation = this.fileOperations.begin(WorldFileOperations.Kind.COPY, key, copyKey);
+        if (operation == null) {
+            return CompletableFuture.completedFuture(false);
+        }
 
+        final ServerLevel loadedWorld = this.worlds.get(registryKey);
         if (loadedWorld != null) {
-            disableLevelSaving = loadedWorld.noSave;
+            // Unless saving is disabled, writes the world out and waits for its IO workers to finish
             loadedWorld.save(null, true, loadedWorld.noSave);
-            loadedWorld.noSave = true;
+            // Chunks saved or unloaded from here on stay queued on the IO workers until the copy is done, so the
+            // files being copied aren't written to. Unloading the world is refused while the operation runs.
+            ((ServerLevelBridge) loadedWorld).bridge$holdWrites(true);
         }
 
         final boolean isDefaultWorld = DefaultWorldKeys.DEFAULT.equals(key);
@@ -494,64 +517,41 @@ public CompletableFuture<Boolean> copyWorld(final ResourceKey key, final Resourc
         final Path originalDirectory = this.getDirectory(key);
         final Path copyDirectory = this.getDirectory(copyKey);
 
-        try {
-            Files.walkFileTree(originalDirectory, new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
-                    // Silly recursion if the default world is being copied
-                    if (dir.getFileName().toString().equals(Constants.Sponge.World.DIMENSIONS_DIRECTORY)) {
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-
-                    // Silly copying of vanilla sub worlds if the default world is being copied
-                    if (isDefaultWorld && SpongeWorldManager.this.isVanillaSubWorld(dir.getFileName().toString())) {
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-
-                    final Path relativize = originalDirectory.relativize(dir);
-                    final Path directory = copyDirectory.resolve(relativize);
-                    Files.createDirectories(directory);
-
-                    return FileVisitResult.CONTINUE;
-                }
-
-                @Override
-                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
-                    final String fileName = file.getFileName().toString();
-                    // Do not copy backups (not relevant anymore)
-                    if (fileName.equals(Constants.Sponge.World.LEVEL_SPONGE_DAT_OLD)) {
-                        return FileVisitResult.CONTINUE;
-                    }
-                    if (fileName.equals(Constants.World.LEVEL_DAT_OLD)) {
-                        return FileVisitResult.CONTINUE;
-                    }
-                    Files.copy(file, copyDirectory.resolve(originalDirectory.relativize(file)), StandardCopyOption.COPY_ATTRIBUTES,
-                            StandardCopyOption.REPLACE_EXISTING);
-
-                    return FileVisitResult.CONTINUE;
+        final CompletableFuture<Void> files = this.fileOperations.copyDirectory(operation, originalDirectory, copyDirectory,
+            dir -> {
+                // Silly recursion if the default world is being copied
+                if (dir.getFileName().toString().equals(Constants.Sponge.World.DIMENSIONS_DIRECTORY)) {
+                    return false;
                 }
+                // Silly copying of vanilla sub worlds if the default world is being copied
+                return !isDefaultWorld || !this.isVanillaSubWorld(dir.getFileName().toString());
+            },
+            file -> {
+                final String fileName = file.getFileName().toString();
+                // Do not copy backups (not relevant anymore)
+                return !fileName.equals(Constants.Sponge.World.LEVEL_SPONGE_DAT_OLD) && !fileName.equals(Constants.World.LEVEL_DAT_OLD);
             });
-        } catch (final IOException e) {
-            // Bail the whole deal if we hit IO problems!
-            try {
-                Files.walkFileTree(copyDirectory, DeleteFileVisitor.INSTANCE);
-            } catch (final IOException ignore) {
-            }
-
-            return FutureUtil.completedWithException(e);
-        }
-
-        if (loadedWorld != null) {
-            loadedWorld.noSave = disableLevelSaving;
-        }
-
-        try {
-            this.server().dataPackManager().copy(this.findPack(key), key, copyKey);
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
-
-        return CompletableFuture.completedFuture(true);
+        final CompletableFuture<Void> copy = loadedWorld == null ? files
+            : files.whenComplete((ignored, throwable) -> ((ServerLevelBridge) loadedWorld).bridge$holdWrites(false));
+        final CompletableFuture<Boolean> future = copy
+            .handleAsync((ignored, throwable) -> {
+                if (throwable != null) {
+                    // Bail the whole deal if we hit IO problems!
+                    return this.fileOperations.deleteDirectory(copyDirectory)
+                        .handle((v, ignore) -> FutureUtil.<Boolean>completedWithException(SpongeWorldManager.unwrap(throwable)))
+                        .thenCompose(Function.identity());
+                }
+                try {
+                    this.server().dataPackManager().copy(this.findPack(key), key, copyKey);
+                } catch (final IOException e) {
+                    return FutureUtil.<Boolean>completedWithException(e);
+                }
+                SpongeCommon.logger().debug("Copied world '{}' to '{}' ({} bytes) in {}ms", key, copyKey, operation.processedBytes(),
+                    operation.elapsedMillis());
+                return CompletableFuture.completedFuture(true);
+            }, this.server)
+            .thenCompose(Function.identity());
+        return future.whenComplete((result, throwable) -> this.fileOperations.end(operation));
     }
 
     @Override
@@ -570,42 +570,41 @@ public CompletableFuture<Boolean> moveWorld(final ResourceKey key, final Resourc
             return CompletableFuture.completedFuture(false);
         }
 
+        final WorldFileOperations.Operation operation = this.fileOperations.begin(WorldFileOperations.Kind.MOVE, key, movedKey);
+        if (operation == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
         final ServerLevel loadedWorld = this.worlds.get(registryKey);
         if (loadedWorld != null) {
             try {
                 this.unloadWorld0(loadedWorld);
             } catch (final IOException e) {
+                this.fileOperations.end(operation);
                 return FutureUtil.completedWithException(e);
             }
         }
 
         final Path originalDirectory = this.getDirectory(key);
         final Path movedDirectory = this.getDirectory(movedKey);
+        final Path configFile = this.getConfigFile(key);
+        final Path movedConfigFile = this.getConfigFile(movedKey);
 
-        try {
+        final CompletableFuture<Boolean> future = this.fileOperations.run(() -> {
             Files.createDirectories(movedDirectory);
             Files.move(originalDirectory, movedDirectory, StandardCopyOption.REPLACE_EXISTING);
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
-
-        final Path configFile = this.getConfigFile(key);
-        final Path movedConfigFile = this.getConfigFile(movedKey);
 
-        try {
             Files.createDirectories(movedConfigFile.getParent());
             Files.move(configFile, movedConfigFile, StandardCopyOption.REPLACE_EXISTING);
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
-
-        try {
-            this.server().dataPackManager().move(this.findPack(key), key, movedKey);
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
-
-        return CompletableFuture.completedFuture(true);
+        }).thenApplyAsync(ignored -> {
+            try {
+                this.server().dataPackManager().move(this.findPack(key), key, movedKey);
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+            return true;
+        }, this.server);
+        return future.whenComplete((result, throwable) -> this.fileOperations.end(operation));
     }
 
     @Override
@@ -620,6 +619,11 @@ public CompletableFuture<Boolean> deleteWorld(final ResourceKey key) {
             return CompletableFuture.completedFuture(false);
         }
 
+        final WorldFileOperations.Operation operation = this.fileOperations.begin(WorldFileOperations.Kind.DELETE, key);
+        if (operation == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
         final ServerLevel loadedWorld = this.worlds.get(registryKey);
         if (loadedWorld != null) {
             final boolean disableLevelSaving = loadedWorld.noSave;
@@ -628,33 +632,38 @@ public CompletableFuture<Boolean> deleteWorld(final ResourceKey key) {
                 this.unloadWorld0(loadedWorld);
             } catch (final IOException e) {
                 loadedWorld.noSave = disableLevelSaving;
+                this.fileOperations.end(operation);
                 return FutureUtil.completedWithException(e);
             }
         }
 
         final Path directory = this.getDirectory(key);
-        if (Files.exists(directory)) {
-            try {
-                Files.walkFileTree(directory, DeleteFileVisitor.INSTANCE);
-            } catch (final IOException e) {
-                return FutureUtil.completedWithException(e);
-            }
-        }
-
         final Path configFile = this.getConfigFile(key);
-        try {
-            Files.deleteIfExists(configFile);
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
 
-        try {
-            this.server().dataPackManager().delete(this.findPack(key), key);
-        } catch (final IOException e) {
-            return FutureUtil.completedWithException(e);
-        }
+        final CompletableFuture<Boolean> future = this.fileOperations.deleteDirectory(directory)
+            .thenCompose(ignored -> this.fileOperations.run(() -> Files.deleteIfExists(configFile)))
+            .thenApplyAsync(ignored -> {
+                try {
+                    this.server().dataPackManager().delete(this.findPack(key), key);
+                } catch (final IOException e) {
+                    throw new CompletionException(e);
+                }
+                return true;
+            }, this.server);
+        return future.whenComplete((result, throwable) -> this.fileOperations.end(operation));
+    }
+
+    /**
+     * Gets the world copies, moves and deletions that are currently running.
+     *
+     * @return The running operations
+     */
+    public Collection<WorldFileOperations.Operation> fileOperations() {
+        return this.fileOperations.operations();
+    }
 
-        return CompletableFuture.completedFuture(true);
+    private static Throwable unwrap(final Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
     }
 
     private DataPack<WorldTemplate> findPack(ResourceKey key) {
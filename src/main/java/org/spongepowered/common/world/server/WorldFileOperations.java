@@ -0,0 +1,245 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.util.file.DeleteFileVisitor;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Runs the file system work of copying, moving and deleting worlds off the
+ * server thread.
+ *
+ * <p>Every operation holds the keys of the worlds it works on until it is
+ * {@link #end(Operation) ended}, so that no two operations touch the same
+ * world at once. Loading a world holds its key as well, so a world can't
+ * be moved or deleted while its files are being opened.</p>
+ */
+public final class WorldFileOperations {
+
+    private final ExecutorService executor;
+    private final Map<ResourceKey, Operation> operations = new ConcurrentHashMap<>();
+
+    WorldFileOperations() {
+        final int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Sponge-World-IO-%d").build());
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Starts an operation on the given worlds.
+     *
+     * @param kind The kind of operation
+     * @param keys The keys of all worlds the operation works on
+     * @return The operation, or null if one of the worlds is already part of
+     *     another operation
+     */
+    synchronized @Nullable Operation begin(final Kind kind, final ResourceKey... keys) {
+        for (final ResourceKey key : keys) {
+            if (this.operations.containsKey(key)) {
+                return null;
+            }
+        }
+        final Operation operation = new Operation(kind, keys);
+        for (final ResourceKey key : keys) {
+            this.operations.put(key, operation);
+        }
+        return operation;
+    }
+
+    synchronized void end(final Operation operation) {
+        for (final ResourceKey key : operation.keys) {
+            this.operations.remove(key, operation);
+        }
+    }
+
+    /**
+     * Gets whether the given world is part of a running operation.
+     *
+     * @param key The key of the world
+     * @return Whether the world is busy
+     */
+    boolean isBusy(final ResourceKey key) {
+        return this.operations.containsKey(key);
+    }
+
+    /**
+     * Gets the operations that are currently running.
+     *
+     * @return The operations
+     */
+    public Collection<Operation> operations() {
+        return this.operations.values().stream().distinct().toList();
+    }
+
+    /**
+     * Copies the contents of a directory. The directory tree is walked first,
+     * then every file is copied as its own task so large region files are
+     * copied in parallel. The attributes of the files are copied as well.
+     *
+     * @param operation The operation
+     * @param source The directory to copy
+     * @param target The directory to copy to
+     * @param directoryFilter Filters the sub directories to copy
+     * @param fileFilter Filters the files to copy
+     * @return The future completing once all files are copied
+     */
+    CompletableFuture<Void> copyDirectory(final Operation operation, final Path source, final Path target,
+            final Predicate<Path> directoryFilter, final Predicate<Path> fileFilter) {
+        return CompletableFuture.supplyAsync(() -> {
+            final List<Path> files = new ArrayList<>();
+            try {
+                Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+                        if (!dir.equals(source) && !directoryFilter.test(dir)) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        Files.createDirectories(target.resolve(source.relativize(dir)));
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                        if (fileFilter.test(file)) {
+                            files.add(file);
+                            operation.totalBytes.addAndGet(attrs.size());
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+            return files;
+        }, this.executor).thenCompose(files -> CompletableFuture.allOf(files.stream()
+                .map(file -> this.run(() -> {
+                    final Path copy = target.resolve(source.relativize(file));
+                    Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+                    operation.processedBytes.addAndGet(Files.size(copy));
+                }))
+                .toArray(CompletableFuture[]::new)));
+    }
+
+    CompletableFuture<Void> deleteDirectory(final Path directory) {
+        return this.run(() -> {
+            if (Files.exists(directory)) {
+                Files.walkFileTree(directory, DeleteFileVisitor.INSTANCE);
+            }
+        });
+    }
+
+    CompletableFuture<Void> run(final IOAction action) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                action.run();
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+        }, this.executor);
+    }
+
+    @FunctionalInterface
+    interface IOAction {
+
+        void run() throws IOException;
+    }
+
+    public enum Kind {
+        LOAD,
+        COPY,
+        MOVE,
+        DELETE
+    }
+
+    public static final class Operation {
+
+        private final Kind kind;
+        private final ResourceKey[] keys;
+        private final long startTime = System.nanoTime();
+        final AtomicLong totalBytes = new AtomicLong();
+        final AtomicLong processedBytes = new AtomicLong();
+
+        Operation(final Kind kind, final ResourceKey[] keys) {
+            this.kind = kind;
+            this.keys = keys;
+        }
+
+        public Kind kind() {
+            return this.kind;
+        }
+
+        /**
+         * Gets the key of the world the operation was started for.
+         *
+         * @return The key
+         */
+        public ResourceKey key() {
+            return this.keys[0];
+        }
+
+        /**
+         * Gets the number of bytes to copy, only known for copies once the
+         * directory tree was walked.
+         *
+         * @return The total number of bytes
+         */
+        public long totalBytes() {
+            return this.totalBytes.get();
+        }
+
+        public long processedBytes() {
+            return this.processedBytes.get();
+        }
+
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime);
+        }
+    }
+}
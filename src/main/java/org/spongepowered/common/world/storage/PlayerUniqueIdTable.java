@@ -0,0 +1,208 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.mojang.serialization.Dynamic;
+import net.minecraft.core.UUIDUtil;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.common.data.fixer.LegacyUUIDCodec;
+import org.spongepowered.common.util.Constants;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+/**
+ * An append-only table assigning dense indices to player unique ids, used by
+ * block tracking to store creators and notifiers as ints.
+ *
+ * <p>Ids are stored as pairs of longs in a single array and looked up through
+ * an open addressed table of indices. Lookups in either direction never lock;
+ * only assigning a new index does. A reader racing with an append may miss the
+ * newest entry, in which case {@link #indexOf(UUID)} retries under the lock.</p>
+ */
+public final class PlayerUniqueIdTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+    // The list of unique ids written before the packed index
+    private static final String LEGACY_TABLE = "player-uuid-table";
+
+    // most and least significant bits, interleaved
+    private volatile long[] ids = new long[PlayerUniqueIdTable.INITIAL_CAPACITY * 2];
+    // index + 1 per slot, 0 when empty
+    private volatile int[] slots = new int[PlayerUniqueIdTable.INITIAL_CAPACITY * 2];
+    private volatile int size;
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the index of the given unique id, assigning the next free index
+     * if it has none yet.
+     *
+     * @param uuid The unique id
+     * @return The index
+     */
+    public int indexOf(final UUID uuid) {
+        final int index = this.find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (index != -1) {
+            return index;
+        }
+        return this.add(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public @Nullable UUID get(final int index) {
+        if (index < 0 || index >= this.size) {
+            return null;
+        }
+        final long[] ids = this.ids;
+        return new UUID(ids[index * 2], ids[index * 2 + 1]);
+    }
+
+    /**
+     * Copies the table into a new array of interleaved most and least
+     * significant bits, in index order.
+     *
+     * @return The packed unique ids
+     */
+    public long[] toLongArray() {
+        final int size = this.size;
+        final long[] packed = new long[size * 2];
+        System.arraycopy(this.ids, 0, packed, 0, packed.length);
+        return packed;
+    }
+
+    /**
+     * Appends packed unique ids as produced by {@link #toLongArray()},
+     * skipping any that are already present.
+     *
+     * @param packed The packed unique ids
+     */
+    public synchronized void addAll(final long[] packed) {
+        for (int i = 0; i + 1 < packed.length; i += 2) {
+            if (this.find(packed[i], packed[i + 1]) == -1) {
+                this.add(packed[i], packed[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Reads the table from the sponge level data, migrating the unique id
+     * lists written by older versions if the data has no index yet.
+     *
+     * @param dynamic The sponge level data
+     */
+    public void read(final Dynamic<Tag> dynamic) {
+        final Optional<LongStream> index = dynamic.get(Constants.Sponge.SPONGE_PLAYER_UUID_INDEX).asLongStreamOpt().result();
+        if (index.isPresent()) {
+            this.addAll(index.get().toArray());
+            return;
+        }
+        // TODO Move this to Schema
+        dynamic.get(Constants.Sponge.LEGACY_SPONGE_PLAYER_UUID_TABLE).readList(LegacyUUIDCodec.CODEC).result().orElseGet(() ->
+            dynamic.get(PlayerUniqueIdTable.LEGACY_TABLE).readList(UUIDUtil.CODEC).result().orElse(Collections.emptyList())
+        ).forEach(this::indexOf);
+    }
+
+    /**
+     * Writes the table into the sponge level data as a packed index.
+     *
+     * @param data The sponge level data
+     */
+    public void write(final CompoundTag data) {
+        data.putLongArray(Constants.Sponge.SPONGE_PLAYER_UUID_INDEX, this.toLongArray());
+    }
+
+    private int find(final long most, final long least) {
+        // Reading size first makes every id below it visible
+        final int size = this.size;
+        final long[] ids = this.ids;
+        final int[] slots = this.slots;
+        final int mask = slots.length - 1;
+        for (int slot = PlayerUniqueIdTable.hash(most, least) & mask; ; slot = (slot + 1) & mask) {
+            final int index = slots[slot] - 1;
+            if (index == -1 || index >= size) {
+                return -1;
+            }
+            if (ids[index * 2] == most && ids[index * 2 + 1] == least) {
+                return index;
+            }
+        }
+    }
+
+    private synchronized int add(final long most, final long least) {
+        final int existing = this.find(most, least);
+        if (existing != -1) {
+            return existing;
+        }
+        final int index = this.size;
+        long[] ids = this.ids;
+        if (ids.length == index * 2) {
+            final long[] grown = new long[ids.length * 2];
+            System.arraycopy(ids, 0, grown, 0, ids.length);
+            ids = grown;
+        }
+        ids[index * 2] = most;
+        ids[index * 2 + 1] = least;
+        this.ids = ids;
+
+        int[] slots = this.slots;
+        if ((index + 1) * 2 > slots.length) {
+            slots = this.rehash(ids, index, slots.length * 2);
+        }
+        final int mask = slots.length - 1;
+        int slot = PlayerUniqueIdTable.hash(most, least) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = index + 1;
+        this.slots = slots;
+        this.size = index + 1;
+        return index;
+    }
+
+    private int[] rehash(final long[] ids, final int count, final int capacity) {
+        final int[] slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int index = 0; index < count; index++) {
+            int slot = PlayerUniqueIdTable.hash(ids[index * 2], ids[index * 2 + 1]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+        return slots;
+    }
+
+    private static int hash(final long most, final long least) {
+        final long hilo = most ^ least;
+        final int hash = (int) (hilo >> 32) ^ (int) hilo;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.volume;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.chunk.PalettedContainerRO;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks the blocks or biomes of the chunks intersecting a fixed region by
+ * reading {@link LevelChunkSection} palettes directly, handing primitive
+ * coordinates to a visitor instead of allocating a position and element per
+ * block.
+ *
+ * <p>When a filter is given, sections whose palette cannot contain a matching
+ * value are skipped without visiting any of their positions, which makes
+ * filters like {@code state -> !state.isAir()} skip empty sections outright.
+ * Within a section positions are visited in y, z, x order, matching the
+ * palette storage layout.</p>
+ */
+public final class ChunkSectionWalker {
+
+    @FunctionalInterface
+    public interface BlockVisitor {
+
+        void visit(int x, int y, int z, BlockState state);
+    }
+
+    @FunctionalInterface
+    public interface BiomeVisitor {
+
+        void visit(int x, int y, int z, Biome biome);
+    }
+
+    private final ChunkCursor minCursor;
+    private final ChunkCursor maxCursor;
+
+    public ChunkSectionWalker(final Vector3i min, final Vector3i max) {
+        this.minCursor = new ChunkCursor(min);
+        this.maxCursor = new ChunkCursor(max);
+    }
+
+    /**
+     * Visits every block of the given chunk within this walker's region,
+     * optionally restricted to states matching the filter.
+     *
+     * @param chunk The chunk
+     * @param filter The filter, or null to visit every state
+     * @param visitor The visitor
+     */
+    public void walkBlocks(final ChunkAccess chunk, final @Nullable Predicate<BlockState> filter, final BlockVisitor visitor) {
+        final LevelChunkSection[] sections = chunk.getSections();
+        final int chunkMinX = chunk.getPos().x << 4;
+        final int chunkMinZ = chunk.getPos().z << 4;
+        final int xStart = this.xStart(chunk);
+        final int xEnd = this.xEnd(chunk);
+        final int zStart = this.zStart(chunk);
+        final int zEnd = this.zEnd(chunk);
+        for (final @Nullable LevelChunkSection section : sections) {
+            if (section == null || !this.intersects(section)) {
+                continue;
+            }
+            final PalettedContainer<BlockState> states = section.getStates();
+            if (filter != null && !states.maybeHas(filter)) {
+                continue;
+            }
+            final int sectionY = section.bottomBlockY();
+            final int yEnd = this.yEnd(sectionY);
+            for (int y = this.yStart(sectionY); y <= yEnd; y++) {
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int x = xStart; x <= xEnd; x++) {
+                        final BlockState state = states.get(x, y, z);
+                        if (filter == null || filter.test(state)) {
+                            visitor.visit(chunkMinX + x, sectionY + y, chunkMinZ + z, state);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Lazily streams every block of the given chunk within this walker's
+     * region, in the same order as {@link #walkBlocks}.
+     *
+     * <p>Every element has its own immutable position, which consumers may
+     * keep, but the stream reuses a single entry for every element, so the
+     * entry itself must not be retained past the element it is handed
+     * for.</p>
+     *
+     * @param chunk The chunk
+     * @return The stream of positions and states
+     */
+    public Stream<Map.Entry<BlockPos, BlockState>> streamBlocks(final ChunkAccess chunk) {
+        return StreamSupport.stream(new BlockSpliterator(chunk), false);
+    }
+
+    /**
+     * Visits the biome of every block of the given chunk within this
+     * walker's region, optionally restricted to biomes matching the filter.
+     *
+     * @param chunk The chunk
+     * @param filter The filter, or null to visit every biome
+     * @param visitor The visitor
+     */
+    public void walkBiomes(final ChunkAccess chunk, final @Nullable Predicate<Biome> filter, final BiomeVisitor visitor) {
+        final LevelChunkSection[] sections = chunk.getSections();
+        final @Nullable Predicate<Holder<Biome>> holderFilter = filter == null ? null : holder -> filter.test(holder.value());
+        final int chunkMinX = chunk.getPos().x << 4;
+        final int chunkMinZ = chunk.getPos().z << 4;
+        final int xStart = this.xStart(chunk);
+        final int xEnd = this.xEnd(chunk);
+        final int zStart = this.zStart(chunk);
+        final int zEnd = this.zEnd(chunk);
+        for (final @Nullable LevelChunkSection section : sections) {
+            if (section == null || !this.intersects(section)) {
+                continue;
+            }
+            final PalettedContainerRO<Holder<Biome>> biomes = section.getBiomes();
+            if (holderFilter != null && !biomes.maybeHas(holderFilter)) {
+                continue;
+            }
+            final int sectionY = section.bottomBlockY();
+            final int yEnd = this.yEnd(sectionY);
+            for (int y = this.yStart(sectionY); y <= yEnd; y++) {
+                for (int z = zStart; z <= zEnd; z++) {
+                    for (int x = xStart; x <= xEnd; x++) {
+                        // Biomes are stored per 4x4x4 cell
+                        final Biome biome = biomes.get(x >> 2, y >> 2, z >> 2).value();
+                        if (filter == null || filter.test(biome)) {
+                            visitor.visit(chunkMinX + x, sectionY + y, chunkMinZ + z, biome);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean intersects(final LevelChunkSection section) {
+        final int sectionY = section.bottomBlockY();
+        return sectionY >= this.minCursor.ySection && sectionY <= this.maxCursor.ySection;
+    }
+
+    private int xStart(final ChunkAccess chunk) {
+        return chunk.getPos().x == this.minCursor.chunkX ? this.minCursor.xOffset : 0;
+    }
+
+    private int xEnd(final ChunkAccess chunk) {
+        return chunk.getPos().x == this.maxCursor.chunkX ? this.maxCursor.xOffset : 15;
+    }
+
+    private int zStart(final ChunkAccess chunk) {
+        return chunk.getPos().z == this.minCursor.chunkZ ? this.minCursor.zOffset : 0;
+    }
+
+    private int zEnd(final ChunkAccess chunk) {
+        return chunk.getPos().z == this.maxCursor.chunkZ ? this.maxCursor.zOffset : 15;
+    }
+
+    private int yStart(final int sectionY) {
+        return sectionY == this.minCursor.ySection ? this.minCursor.yOffset : 0;
+    }
+
+    private int yEnd(final int sectionY) {
+        return sectionY == this.maxCursor.ySection ? this.maxCursor.yOffset : 15;
+    }
+
+    private final class BlockSpliterator implements Spliterator<Map.Entry<BlockPos, BlockState>> {
+
+        private final LevelChunkSection[] sections;
+        private final int chunkMinX;
+        private final int chunkMinZ;
+        private final int xStart;
+        private final int xEnd;
+        private final int zStart;
+        private final int zEnd;
+        private final BlockEntry entry = new BlockEntry();
+        private @Nullable PalettedContainer<BlockState> states;
+        private int sectionIndex = -1;
+        private int sectionY;
+        private int yEnd;
+        private int x;
+        private int y;
+        private int z;
+
+        BlockSpliterator(final ChunkAccess chunk) {
+            this.sections = chunk.getSections();
+            this.chunkMinX = chunk.getPos().x << 4;
+            this.chunkMinZ = chunk.getPos().z << 4;
+            this.xStart = ChunkSectionWalker.this.xStart(chunk);
+            this.xEnd = ChunkSectionWalker.this.xEnd(chunk);
+            this.zStart = ChunkSectionWalker.this.zStart(chunk);
+            this.zEnd = ChunkSectionWalker.this.zEnd(chunk);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Map.Entry<BlockPos, BlockState>> action) {
+            if (this.states == null && !this.nextSection()) {
+                return false;
+            }
+            // Positions end up as stream keys, so they are never shared between elements
+            this.entry.pos = new BlockPos(this.chunkMinX + this.x, this.sectionY + this.y, this.chunkMinZ + this.z);
+            this.entry.state = this.states.get(this.x, this.y, this.z);
+            if (++this.x > this.xEnd) {
+                this.x = this.xStart;
+                if (++this.z > this.zEnd) {
+                    this.z = this.zStart;
+                    if (++this.y > this.yEnd) {
+                        this.states = null;
+                    }
+                }
+            }
+            action.accept(this.entry);
+            return true;
+        }
+
+        private boolean nextSection() {
+            while (++this.sectionIndex < this.sections.length) {
+                final @Nullable LevelChunkSection section = this.sections[this.sectionIndex];
+                if (section == null || !ChunkSectionWalker.this.intersects(section)) {
+                    continue;
+                }
+                this.states = section.getStates();
+                this.sectionY = section.bottomBlockY();
+                this.y = ChunkSectionWalker.this.yStart(this.sectionY);
+                this.yEnd = ChunkSectionWalker.this.yEnd(this.sectionY);
+                this.z = this.zStart;
+                this.x = this.xStart;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public @Nullable Spliterator<Map.Entry<BlockPos, BlockState>> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+
+    private static final class BlockEntry implements Map.Entry<BlockPos, BlockState> {
+
+        @MonotonicNonNull BlockPos pos;
+        @MonotonicNonNull BlockState state;
+
+        @Override
+        public BlockPos getKey() {
+            return this.pos;
+        }
+
+        @Override
+        public BlockState getValue() {
+            return this.state;
+        }
+
+        @Override
+        public BlockState setValue(final BlockState value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            return o instanceof Map.Entry<?, ?> that && this.pos.equals(that.getKey()) && this.state.equals(that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.pos.hashCode() ^ this.state.hashCode();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.volume;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.core.SectionPos;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.cause.entity.SpawnType;
+import org.spongepowered.api.scheduler.ScheduledTask;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.Ticks;
+import org.spongepowered.api.world.volume.MutableVolume;
+import org.spongepowered.api.world.volume.Volume;
+import org.spongepowered.api.world.volume.stream.VolumeCollector;
+import org.spongepowered.api.world.volume.stream.VolumeElement;
+import org.spongepowered.api.world.volume.stream.VolumeStream;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.phase.block.BlockPhase;
+import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.launch.Launch;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Applies a {@link VolumeStream} to its target over several ticks, writing
+ * no more than a time and element budget each tick.
+ *
+ * <p>Elements are pulled from the stream in windows and grouped by chunk
+ * section before being written, so consecutive writes hit the same section.
+ * Each tick's writes run in their own phase, keeping captured transactions
+ * bounded by the budget, or without any capture when events are bypassed.
+ * Bypassing events also prevents entities from spawning, so entity streams
+ * should always be applied with events captured.</p>
+ *
+ * <p>An element whose applicator reports {@code false} or an empty
+ * {@link Optional}, such as an entity that did not spawn, is counted as
+ * failed rather than applied.</p>
+ *
+ * @param <V> The source volume type
+ * @param <W> The target volume type
+ * @param <T> The element type
+ */
+public final class IncrementalVolumeApplication<V extends Volume, W extends MutableVolume, T> implements Consumer<ScheduledTask> {
+
+    // A full chunk section
+    private static final int WINDOW = 4096;
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+
+    private final VolumeStream<V, T> stream;
+    private final Iterator<VolumeElement<V, T>> source;
+    private final VolumeCollector<W, T, ?> collector;
+    private final long tickBudget;
+    private final int maxElementsPerTick;
+    private final boolean captureEvents;
+    private final @Nullable SpawnType spawnType;
+    private final ArrayDeque<VolumeElement<W, T>> pending = new ArrayDeque<>();
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+    private volatile long applied;
+    private volatile long failed;
+
+    IncrementalVolumeApplication(
+        final VolumeStream<V, T> stream, final Iterator<VolumeElement<V, T>> source, final VolumeCollector<W, T, ?> collector,
+        final Duration tickBudget, final int maxElementsPerTick, final boolean captureEvents, final @Nullable SpawnType spawnType
+    ) {
+        this.stream = stream;
+        this.source = source;
+        this.collector = collector;
+        this.tickBudget = tickBudget.toNanos();
+        this.maxElementsPerTick = maxElementsPerTick <= 0 ? Integer.MAX_VALUE : maxElementsPerTick;
+        this.captureEvents = captureEvents;
+        this.spawnType = spawnType;
+    }
+
+    void start() {
+        final Task task = Task.builder()
+            .interval(Ticks.single())
+            .execute(this)
+            .plugin(Launch.instance().commonPlugin())
+            .build();
+        Sponge.server().scheduler().submit(task, "Sponge Incremental Volume Application");
+    }
+
+    /**
+     * Gets a future completed with the number of applied elements once the
+     * whole stream has been written, or exceptionally if writing failed.
+     * Cancelling the future stops the application at the next tick.
+     *
+     * @return The future
+     */
+    public CompletableFuture<Long> future() {
+        return this.future;
+    }
+
+    public long applied() {
+        return this.applied;
+    }
+
+    public long failed() {
+        return this.failed;
+    }
+
+    public boolean isDone() {
+        return this.future.isDone();
+    }
+
+    public void cancel() {
+        this.future.cancel(false);
+    }
+
+    @Override
+    public void accept(final ScheduledTask task) {
+        if (this.future.isDone()) {
+            task.cancel();
+            return;
+        }
+        final long deadline = System.nanoTime() + this.tickBudget;
+        final PhaseTracker instance = PhaseTracker.getInstance();
+        try (final @Nullable PhaseContext<@NonNull ?> context = this.createContext(instance)) {
+            if (context != null) {
+                context.buildAndSwitch();
+            }
+            this.step(deadline);
+        } catch (final Throwable t) {
+            this.future.completeExceptionally(t);
+        }
+        if (this.future.isDone()) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Writes the elements of a single tick, completing the future once the
+     * stream is exhausted. Must be called on the thread owning the target.
+     *
+     * @param deadline The {@link System#nanoTime()} after which no more
+     *     elements are written
+     */
+    void step(final long deadline) {
+        int written = 0;
+        while (written < this.maxElementsPerTick) {
+            if (this.pending.isEmpty() && !this.fill()) {
+                this.future.complete(this.applied);
+                return;
+            }
+            final VolumeElement<W, T> element = this.pending.poll();
+            final Object result = this.collector.applicator().apply(this.collector.target().get(), element);
+            if (IncrementalVolumeApplication.isFailure(result)) {
+                this.failed++;
+            } else {
+                this.applied++;
+            }
+            if (++written % IncrementalVolumeApplication.CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+    }
+
+    private static boolean isFailure(final @Nullable Object result) {
+        return Boolean.FALSE.equals(result) || result instanceof Optional && ((Optional<?>) result).isEmpty();
+    }
+
+    private @Nullable PhaseContext<@NonNull ?> createContext(final PhaseTracker instance) {
+        if (instance.getPhaseContext().isApplyingStreams()) {
+            return null;
+        }
+        if (!this.captureEvents) {
+            return BlockPhase.State.RESTORING_BLOCKS.createPhaseContext(instance);
+        }
+        return PluginPhase.State.VOLUME_STREAM_APPLICATION
+            .createPhaseContext(instance)
+            .setVolumeStream(this.stream)
+            .spawnType(() -> this.spawnType);
+    }
+
+    private boolean fill() {
+        final Long2ObjectLinkedOpenHashMap<List<VolumeElement<W, T>>> sections = new Long2ObjectLinkedOpenHashMap<>();
+        for (int i = 0; i < IncrementalVolumeApplication.WINDOW && this.source.hasNext(); i++) {
+            final VolumeElement<V, T> element = this.source.next();
+            final VolumeElement<W, T> transformed = this.collector.positionTransform().apply(VolumeElement.of(
+                this.collector.target(),
+                element::type,
+                element.position()
+            ));
+            final Vector3d position = transformed.position();
+            final long section = SectionPos.asLong(
+                (int) Math.floor(position.x()) >> 4, (int) Math.floor(position.y()) >> 4, (int) Math.floor(position.z()) >> 4);
+            sections.computeIfAbsent(section, key -> new ArrayList<>()).add(transformed);
+        }
+        sections.values().forEach(this.pending::addAll);
+        return !this.pending.isEmpty();
+    }
+}
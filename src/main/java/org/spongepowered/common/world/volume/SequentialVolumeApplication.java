@@ -0,0 +1,138 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.volume;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs several {@link IncrementalVolumeApplication}s one after another as a
+ * single handle, starting each stage once the previous one completed.
+ *
+ * <p>Cancelling this handle, or its future, cancels the stage currently
+ * being written and keeps the remaining stages from starting. Stages are
+ * completed on the server thread, which is the only writer of the progress
+ * of finished stages.</p>
+ */
+public final class SequentialVolumeApplication {
+
+    private final Iterator<Supplier<? extends IncrementalVolumeApplication<?, ?, ?>>> stages;
+    private final long total;
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+    private volatile @Nullable IncrementalVolumeApplication<?, ?, ?> current;
+    private volatile long finishedApplied;
+    private volatile long finishedFailed;
+
+    private SequentialVolumeApplication(final List<Supplier<? extends IncrementalVolumeApplication<?, ?, ?>>> stages, final long total) {
+        this.stages = stages.iterator();
+        this.total = total;
+        this.future.whenComplete((applied, t) -> {
+            final @Nullable IncrementalVolumeApplication<?, ?, ?> current = this.current;
+            if (current != null && this.future.isCancelled()) {
+                current.cancel();
+            }
+        });
+    }
+
+    /**
+     * Starts the first of the given stages, each supplier starting its stage
+     * when called.
+     *
+     * @param stages The stage suppliers, in order
+     * @param total The number of elements across all stages
+     * @return The application handle
+     */
+    public static SequentialVolumeApplication start(
+        final List<Supplier<? extends IncrementalVolumeApplication<?, ?, ?>>> stages, final long total
+    ) {
+        final SequentialVolumeApplication application = new SequentialVolumeApplication(stages, total);
+        application.next();
+        return application;
+    }
+
+    /**
+     * Gets a future completed with the number of applied elements once every
+     * stage has been written, or exceptionally if a stage failed. Cancelling
+     * the future stops the current stage at the next tick.
+     *
+     * @return The future
+     */
+    public CompletableFuture<Long> future() {
+        return this.future;
+    }
+
+    public long applied() {
+        final @Nullable IncrementalVolumeApplication<?, ?, ?> current = this.current;
+        return this.finishedApplied + (current == null ? 0 : current.applied());
+    }
+
+    public long failed() {
+        final @Nullable IncrementalVolumeApplication<?, ?, ?> current = this.current;
+        return this.finishedFailed + (current == null ? 0 : current.failed());
+    }
+
+    public long total() {
+        return this.total;
+    }
+
+    public boolean isDone() {
+        return this.future.isDone();
+    }
+
+    public void cancel() {
+        this.future.cancel(false);
+    }
+
+    private void next() {
+        if (this.future.isDone()) {
+            return;
+        }
+        if (!this.stages.hasNext()) {
+            this.future.complete(this.finishedApplied);
+            return;
+        }
+        final IncrementalVolumeApplication<?, ?, ?> stage = this.stages.next().get();
+        this.current = stage;
+        // Cancelled while the stage was being created
+        if (this.future.isCancelled()) {
+            stage.cancel();
+            return;
+        }
+        stage.future().whenComplete((applied, t) -> {
+            if (t != null) {
+                this.future.completeExceptionally(t);
+                return;
+            }
+            this.current = null;
+            this.finishedApplied += applied;
+            this.finishedFailed += stage.failed();
+            this.next();
+        });
+    }
+}
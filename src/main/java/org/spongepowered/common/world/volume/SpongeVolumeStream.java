@@ -27,6 +27,7 @@
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.event.EventContextKeys;
+import org.spongepowered.api.event.cause.entity.SpawnType;
 import org.spongepowered.api.world.volume.MutableVolume;
 import org.spongepowered.api.world.volume.Volume;
 import org.spongepowered.api.world.volume.stream.VolumeCollector;
@@ -37,10 +38,13 @@
 import org.spongepowered.api.world.volume.stream.VolumePositionTranslator;
 import org.spongepowered.api.world.volume.stream.VolumePredicate;
 import org.spongepowered.api.world.volume.stream.VolumeStream;
+import org.spongepowered.common.applaunch.config.common.WorldCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -217,7 +221,8 @@ public <W extends MutableVolume> void apply(final VolumeCollector<W, T, ?> colle
             if (context != null) {
                 context.buildAndSwitch();
             }
-            this.stream.forEach(element -> {
+            // Applying mutates the target, so a parallel stream is drained in order on this thread
+            this.stream.sequential().forEach(element -> {
                 final W targetVolume = collector.target().get();
                 final VolumeElement<W, T> transformed = collector.positionTransform().apply(VolumeElement.of(
                     collector.target(),
@@ -230,10 +235,54 @@ public <W extends MutableVolume> void apply(final VolumeCollector<W, T, ?> colle
         }
     }
 
+    /**
+     * Applies this stream over several ticks using the budget configured in
+     * the world category, capturing block changes as {@link #apply} does.
+     *
+     * @param collector The collector
+     * @param <W> The target volume type
+     * @return The application handle
+     */
+    public <W extends MutableVolume> IncrementalVolumeApplication<V, W, T> applyIncrementally(final VolumeCollector<W, T, ?> collector) {
+        final WorldCategory world = SpongeConfigs.getCommon().get().world;
+        return this.applyIncrementally(collector, Duration.ofNanos((long) (world.incrementalApplyTickBudget * 1_000_000)),
+            world.incrementalApplyMaxElementsPerTick, true);
+    }
+
+    /**
+     * Applies this stream over several ticks, writing at most the given
+     * budget per tick on the server thread.
+     *
+     * @param collector The collector
+     * @param tickBudget The time that may be spent writing per tick
+     * @param maxElementsPerTick The elements that may be written per tick, or
+     *     0 to only limit by time
+     * @param captureEvents Whether changes are captured and thrown as events,
+     *     or written like restored blocks without any events
+     * @param <W> The target volume type
+     * @return The application handle
+     */
+    public <W extends MutableVolume> IncrementalVolumeApplication<V, W, T> applyIncrementally(
+        final VolumeCollector<W, T, ?> collector, final Duration tickBudget, final int maxElementsPerTick, final boolean captureEvents
+    ) {
+        return this.applyIncrementally(collector, tickBudget, maxElementsPerTick, captureEvents,
+            () -> PhaseTracker.getCauseStackManager().context(EventContextKeys.SPAWN_TYPE).orElse(null));
+    }
+
+    public <W extends MutableVolume> IncrementalVolumeApplication<V, W, T> applyIncrementally(
+        final VolumeCollector<W, T, ?> collector, final Duration tickBudget, final int maxElementsPerTick, final boolean captureEvents,
+        final Supplier<@Nullable SpawnType> spawnType
+    ) {
+        final IncrementalVolumeApplication<V, W, T> application = new IncrementalVolumeApplication<>(
+            this, this.stream.sequential().iterator(), collector, tickBudget, maxElementsPerTick, captureEvents, spawnType.get());
+        application.start();
+        return application;
+    }
+
     @Override
     public <W extends MutableVolume, R> void applyUntil(final VolumeCollector<W, T, R> collector, final Predicate<R> predicate) {
         boolean doWork = true;
-        for (final Iterator<VolumeElement<V, T>> iterator = this.stream.iterator(); doWork && iterator.hasNext(); ) {
+        for (final Iterator<VolumeElement<V, T>> iterator = this.stream.sequential().iterator(); doWork && iterator.hasNext(); ) {
             final W targetVolume = collector.target().get();
             final VolumeElement<V, T> element = iterator.next();
             final VolumeElement<W, T> transformed = collector.positionTransform().apply(VolumeElement.of(
@@ -70,27 +70,35 @@
 import org.spongepowered.common.world.volume.buffer.block.ArrayMutableBlockBuffer;
 import org.spongepowered.common.world.volume.buffer.blockentity.ObjectArrayMutableBlockEntityBuffer;
 import org.spongepowered.common.world.volume.buffer.entity.ObjectArrayMutableEntityBuffer;
+import org.spongepowered.common.world.volume.stream.SpongeStreamOptions;
 import org.spongepowered.math.vector.Vector3d;
 import org.spongepowered.math.vector.Vector3i;
 
 import java.lang.ref.WeakReference;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public final class VolumeStreamUtils {
 
+    private static final int PARALLEL_CHUNKS_PER_WORKER = 4;
+
     private VolumeStreamUtils() {}
 
     /**
@@ -160,11 +168,20 @@ public static Function<ChunkAccess, Stream<Map.Entry<BlockPos, Biome>>> getBiome
         return VolumeStreamUtils.getElementByPosition(VolumeStreamUtils.chunkSectionBiomeGetter().asTri(reader), min, max);
     }
 
+    /**
+     * Lazily streams the blocks of each chunk within the given region. The
+     * entries are reused between elements, see
+     * {@link ChunkSectionWalker#streamBlocks(ChunkAccess)}.
+     *
+     * @param min The minimum position
+     * @param max The maximum position
+     * @return The per chunk block stream
+     */
     public static Function<ChunkAccess, Stream<Map.Entry<BlockPos, BlockState>>> getBlockStatesForSections(
         final Vector3i min,
         final Vector3i max
     ) {
-        return VolumeStreamUtils.getElementByPosition(VolumeStreamUtils.chunkSectionBlockStateGetter(), min, max);
+        return new ChunkSectionWalker(min, max)::streamBlocks;
     }
 
     public static boolean setBiomeOnNativeChunk(final int x, final int y, final int z,
@@ -370,13 +387,6 @@ private static QuadFunction<ChunkAccess, LevelChunkSection, BlockPos, LevelReade
         );
     }
 
-    private static TriFunction<ChunkAccess, LevelChunkSection, BlockPos, BlockState> chunkSectionBlockStateGetter() {
-        return ((chunk, chunkSection, pos) -> chunkSection.getBlockState(
-            pos.getX() - (chunk.getPos().x << 4),
-            pos.getY() & 15,
-            pos.getZ() - (chunk.getPos().z << 4)));
-    }
-
     private static <T> Function<ChunkAccess, Stream<Map.Entry<BlockPos, T>>> getElementByPosition(
         final TriFunction<ChunkAccess, LevelChunkSection, BlockPos, T> elementAccessor, final Vector3i min,
         final Vector3i max
@@ -454,10 +464,74 @@ public static <W extends Region<W>> VolumeStream<W, org.spongepowered.api.block.
             // Entity Accessor
             VolumeStreamUtils.getBlockStatesForSections(min, max),
             // Filtered Position Entity Accessor
-            VolumeStreamUtils.getBlockStateFromThisOrCopiedVolume(shouldCarbonCopy, backingVolume)
+            VolumeStreamUtils.getBlockStateFromThisOrCopiedVolume(shouldCarbonCopy, backingVolume),
+            // Parallel reads
+            true
         );
     }
 
+    /**
+     * Visits the blocks within the given region without building a
+     * {@link VolumeStream}, reading chunk section palettes directly. Chunks
+     * are loaded according to the {@link StreamOptions#loadingStyle() loading
+     * style}; the remaining options do not apply.
+     *
+     * @param reader The reader to visit
+     * @param min The minimum position
+     * @param max The maximum position
+     * @param options The stream options
+     * @param filter The filter, or null to visit every block
+     * @param visitor The visitor
+     */
+    public static void visitBlocks(
+        final LevelReader reader, final Vector3i min, final Vector3i max, final StreamOptions options,
+        final @Nullable Predicate<BlockState> filter, final ChunkSectionWalker.BlockVisitor visitor
+    ) {
+        VolumeStreamUtils.validateStreamArgs(Objects.requireNonNull(min, "min"), Objects.requireNonNull(max, "max"),
+            Objects.requireNonNull(options, "options"));
+        final ChunkSectionWalker walker = new ChunkSectionWalker(min, max);
+        VolumeStreamUtils.forEachChunk(reader, min, max, options, chunk -> walker.walkBlocks(chunk, filter, visitor));
+    }
+
+    /**
+     * Visits the biome of every block within the given region without
+     * building a {@link VolumeStream}, see
+     * {@link #visitBlocks(LevelReader, Vector3i, Vector3i, StreamOptions, Predicate, ChunkSectionWalker.BlockVisitor)}.
+     *
+     * @param reader The reader to visit
+     * @param min The minimum position
+     * @param max The maximum position
+     * @param options The stream options
+     * @param filter The filter, or null to visit every biome
+     * @param visitor The visitor
+     */
+    public static void visitBiomes(
+        final LevelReader reader, final Vector3i min, final Vector3i max, final StreamOptions options,
+        final @Nullable Predicate<Biome> filter, final ChunkSectionWalker.BiomeVisitor visitor
+    ) {
+        VolumeStreamUtils.validateStreamArgs(Objects.requireNonNull(min, "min"), Objects.requireNonNull(max, "max"),
+            Objects.requireNonNull(options, "options"));
+        final ChunkSectionWalker walker = new ChunkSectionWalker(min, max);
+        VolumeStreamUtils.forEachChunk(reader, min, max, options, chunk -> walker.walkBiomes(chunk, filter, visitor));
+    }
+
+    private static void forEachChunk(
+        final LevelReader reader, final Vector3i min, final Vector3i max, final StreamOptions options, final Consumer<ChunkAccess> consumer
+    ) {
+        final boolean generate = options.loadingStyle().generateArea();
+        for (int chunkX = min.x() >> 4; chunkX <= max.x() >> 4; chunkX++) {
+            for (int chunkZ = min.z() >> 4; chunkZ <= max.z() >> 4; chunkZ++) {
+                @Nullable ChunkAccess chunk = reader.getChunk(chunkX, chunkZ, generate ? ChunkStatus.FULL : ChunkStatus.EMPTY, generate);
+                if (chunk instanceof ImposterProtoChunk) {
+                    chunk = ((ImposterProtoChunk) chunk).getWrapped();
+                }
+                if (chunk != null) {
+                    consumer.accept(chunk);
+                }
+            }
+        }
+    }
+
     public static <R extends Region<R>> VolumeStream<R, BlockEntity> getBlockEntityStream(final LevelReader reader, final Vector3i min, final Vector3i max, final StreamOptions options) {
         VolumeStreamUtils.validateStreamArgs(Objects.requireNonNull(min, "min"), Objects.requireNonNull(max, "max"),
             Objects.requireNonNull(options, "options"));
@@ -537,7 +611,9 @@ public static <R extends Region<R>> VolumeStream<R, org.spongepowered.api.world.
                     ? backingVolume.getNativeBiome(blockPos.getX(), blockPos.getY(), blockPos.getZ())
                     : ((LevelReader) world).getBiome(blockPos).value();
                 return new Tuple<>(blockPos, biome);
-            }
+            },
+            // Parallel reads
+            true
         );
     }
 
@@ -551,6 +627,32 @@ public static <R extends Volume, API, MC, Section, KeyReference> VolumeStream<R,
         final BiFunction<BlockPos, MC, KeyReference> entityToKey,
         final Function<Section, Stream<Map.Entry<BlockPos, MC>>> entityAccessor,
         final BiFunction<KeyReference, R, Tuple<BlockPos, MC>> filteredPositionEntityAccessor
+    ) {
+        return VolumeStreamUtils.generateStream(min, max, options, ref, identityFunction, chunkAccessor, entityToKey,
+            entityAccessor, filteredPositionEntityAccessor, false);
+    }
+
+    /**
+     * Generates a stream over the chunks between {@code min} and {@code max}.
+     *
+     * <p>{@code parallelReads} marks the {@code entityAccessor} as safe to call
+     * from pool workers, which is the case for block and biome reads from chunk
+     * sections. Entities and block entities live in plain collections owned by
+     * the server thread, so their streams must pass {@code false} and are then
+     * always read on the calling thread, even if parallel evaluation was
+     * requested through the {@link StreamOptions}.</p>
+     */
+    public static <R extends Volume, API, MC, Section, KeyReference> VolumeStream<R, API> generateStream(
+        final Vector3i min,
+        final Vector3i max,
+        final StreamOptions options,
+        final R ref,
+        final BiConsumer<KeyReference, MC> identityFunction,
+        final BiFunction<R, ChunkPos, Section> chunkAccessor,
+        final BiFunction<BlockPos, MC, KeyReference> entityToKey,
+        final Function<Section, Stream<Map.Entry<BlockPos, MC>>> entityAccessor,
+        final BiFunction<KeyReference, R, Tuple<BlockPos, MC>> filteredPositionEntityAccessor,
+        final boolean parallelReads
     ) {
         final Supplier<R> worldSupplier = VolumeStreamUtils.createWeaklyReferencedSupplier(ref, "World");
         final BlockPos chunkMin = new BlockPos(min.x() >> 4, 0, min.z() >> 4);
@@ -570,7 +672,8 @@ public static <R extends Volume, API, MC, Section, KeyReference> VolumeStream<R,
             entityAccessor,
             filteredPositionEntityAccessor,
             worldSupplier,
-            sectionStream
+            sectionStream,
+            parallelReads
         );
     }
 
@@ -596,7 +699,8 @@ public static <R extends Volume, API, MC, Section, KeyReference> VolumeStream<R,
             entityAccessor,
             filteredPositionEntityAccessor,
             worldSupplier,
-            sectionStream
+            sectionStream,
+            false
         );
     }
 
@@ -608,7 +712,8 @@ private static <R extends Volume, API, MC, Section, KeyReference> SpongeVolumeSt
         final Function<Section, Stream<Map.Entry<BlockPos, MC>>> entityAccessor,
         final BiFunction<KeyReference, R, Tuple<BlockPos, MC>> filteredPositionEntityAccessor,
         final Supplier<R> worldSupplier,
-        final Stream<Section> sectionStream
+        final Stream<Section> sectionStream,
+        final boolean parallelReads
     ) {
         // This effectively creates a weakly referenced object supplier casting the MC variant to the API variant
         // without consideration, assuming the MC variant is always mixed in to implement the API variant.
@@ -635,7 +740,31 @@ private static <R extends Volume, API, MC, Section, KeyReference> SpongeVolumeSt
         // the positions can be dynamically generated by a stream, or can be pre-calculated
         // and offered as a pre-initialized collection of keys.
         final Stream<KeyReference> filteredPosStream;
-        if (options.loadingStyle().immediateLoading()) {
+        if (parallelReads && options.carbonCopy() && SpongeStreamOptions.isParallel(options)) {
+            // Chunks are resolved here, on the calling thread, and only reading their
+            // contents is split across the pool. The copies are not safe for concurrent
+            // writes, so they are filled on this thread in chunk order, which also keeps
+            // the sequential encounter order. Chunks are read in batches of a few per
+            // worker so that only one batch of read contents is held at a time.
+            final List<Section> sections = sectionStream
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            final int batchSize = Math.max(1, ForkJoinPool.getCommonPoolParallelism()) * VolumeStreamUtils.PARALLEL_CHUNKS_PER_WORKER;
+            final Set<KeyReference> keys = new LinkedHashSet<>();
+            for (int start = 0; start < sections.size(); start += batchSize) {
+                final List<List<Tuple<KeyReference, MC>>> batch = sections.subList(start, Math.min(start + batchSize, sections.size()))
+                    .parallelStream()
+                    .map(section -> entityAccessor.apply(section)
+                        .map(entry -> new Tuple<>(entityToKey.apply(entry.getKey(), entry.getValue()), entry.getValue()))
+                        .collect(Collectors.toList()))
+                    .collect(Collectors.toList());
+                batch.forEach(sectionEntries -> sectionEntries.forEach(entry -> {
+                    keys.add(entry.getA());
+                    identityFunction.accept(entry.getA(), entry.getB());
+                }));
+            }
+            filteredPosStream = new ArrayList<>(keys).parallelStream();
+        } else if (options.loadingStyle().immediateLoading()) {
             final Set<KeyReference> availableTileEntityPositions = new LinkedHashSet<>();
             sectionStream
                 .filter(Objects::nonNull)
@@ -49,9 +49,12 @@
 import org.spongepowered.api.world.volume.stream.VolumeElement;
 import org.spongepowered.api.world.volume.stream.VolumePositionTranslators;
 import org.spongepowered.api.world.volume.stream.VolumeStream;
+import org.spongepowered.common.applaunch.config.common.WorldCategory;
+import org.spongepowered.common.applaunch.config.core.SpongeConfigs;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+import org.spongepowered.common.world.volume.SequentialVolumeApplication;
 import org.spongepowered.common.world.volume.SpongeVolumeStream;
 import org.spongepowered.common.world.volume.VolumeStreamUtils;
 import org.spongepowered.common.world.volume.buffer.AbstractVolumeBuffer;
@@ -62,7 +65,9 @@
 import org.spongepowered.math.vector.Vector3d;
 import org.spongepowered.math.vector.Vector3i;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -298,4 +303,58 @@ public void applyToWorld(
                 ));
         }
     }
+
+    /**
+     * Applies this volume to the target world like
+     * {@link #applyToWorld(ServerWorld, Vector3i, Supplier)}, but spreads the
+     * writes over several ticks within the budget configured in the world
+     * category. Blocks, biomes, block entities and entities are applied one
+     * after another. Entities are always spawned with events captured, since
+     * bypassing them would keep entities from spawning at all.
+     *
+     * @param target The target world
+     * @param placement The position to place this volume at
+     * @param spawnContext The spawn type for created entities
+     * @param captureEvents Whether block changes are captured and thrown as events
+     * @return The application handle
+     */
+    public SequentialVolumeApplication applyToWorldIncrementally(
+        final ServerWorld target, final Vector3i placement, final Supplier<SpawnType> spawnContext, final boolean captureEvents
+    ) {
+        Objects.requireNonNull(target, "Target world cannot be null");
+        Objects.requireNonNull(placement, "Target position cannot be null");
+        final WorldCategory world = SpongeConfigs.getCommon().get().world;
+        final Duration budget = Duration.ofNanos((long) (world.incrementalApplyTickBudget * 1_000_000));
+        final int maxElements = world.incrementalApplyMaxElementsPerTick;
+        final SpawnType spawnType = spawnContext.get();
+        final Vector3i size = this.size();
+        final long volume = (long) size.x() * size.y() * size.z();
+        final long total = volume * 2 + this.blockEntityArchetypes().size() + this.entityArchetypes().size();
+        return SequentialVolumeApplication.start(List.of(
+            () -> ((SpongeVolumeStream<ArchetypeVolume, BlockState>) this.blockStateStream(this.min(), this.max(), StreamOptions.lazily()))
+                .applyIncrementally(VolumeCollectors.of(
+                    target,
+                    VolumePositionTranslators.relativeTo(placement),
+                    VolumeApplicators.applyBlocks(BlockChangeFlags.DEFAULT_PLACEMENT)
+                ), budget, maxElements, captureEvents, () -> spawnType),
+            () -> ((SpongeVolumeStream<ArchetypeVolume, Biome>) this.biomeStream(this.min(), this.max(), StreamOptions.lazily()))
+                .applyIncrementally(VolumeCollectors.of(
+                    target,
+                    VolumePositionTranslators.relativeTo(placement),
+                    VolumeApplicators.applyBiomes()
+                ), budget, maxElements, captureEvents, () -> spawnType),
+            () -> ((SpongeVolumeStream<ArchetypeVolume, BlockEntityArchetype>) this.blockEntityArchetypeStream(this.min(), this.max(), StreamOptions.lazily()))
+                .applyIncrementally(VolumeCollectors.of(
+                    target,
+                    VolumePositionTranslators.relativeTo(placement),
+                    VolumeApplicators.applyBlockEntityArchetype()
+                ), budget, maxElements, captureEvents, () -> spawnType),
+            () -> ((SpongeVolumeStream<ArchetypeVolume, EntityArchetype>) this.entityArchetypeStream(this.min(), this.max(), StreamOptions.lazily()))
+                .applyIncrementally(VolumeCollectors.of(
+                    target,
+                    VolumePositionTranslators.relativeTo(placement),
+                    VolumeApplicators.applyEntityArchetype()
+                ), budget, maxElements, true, () -> spawnType)
+        ), total);
+    }
 }
@@ -31,6 +31,7 @@
 public class SpongeStreamOptionsBuilder implements StreamOptions.Builder {
 
     boolean copies = false;
+    boolean parallel = false;
     StreamOptions.LoadingStyle loadingStyle = StreamOptions.LoadingStyle.LAZILY_UNGENERATED;
 
     @Override
@@ -45,9 +46,33 @@ public StreamOptions.Builder setLoadingStyle(final StreamOptions.LoadingStyle st
         return this;
     }
 
+    /**
+     * Sets whether streams should be evaluated in parallel, partitioned by
+     * chunk across the common fork-join pool.
+     *
+     * <p>This only takes effect together with {@link #setCarbonCopy(boolean)
+     * carbon copies}, since elements of a live world cannot be safely read from
+     * other threads. Chunks are still loaded on the calling thread and the copy
+     * is filled in chunk order, so ordered terminal operations see the same
+     * encounter order as a sequential stream. The source is then read
+     * immediately regardless of the {@link StreamOptions.LoadingStyle}.</p>
+     *
+     * <p>Only block and biome streams are read in parallel. Entity and block
+     * entity streams are always read on the calling thread, because their
+     * sources are collections owned by the server thread.</p>
+     *
+     * @param parallel Whether to evaluate in parallel
+     * @return This builder, for chaining
+     */
+    public StreamOptions.Builder setParallel(final boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
     @Override
     public StreamOptions.Builder reset() {
         this.copies = false;
+        this.parallel = false;
         this.loadingStyle = StreamOptions.LoadingStyle.LAZILY_UNGENERATED;
         return this;
     }
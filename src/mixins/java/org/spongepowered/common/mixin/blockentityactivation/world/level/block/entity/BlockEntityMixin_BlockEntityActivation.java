@@ -0,0 +1,115 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.blockentityactivation.world.level.block.entity;
+
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.common.bridge.TrackableBridge;
+import org.spongepowered.common.bridge.activation.ActivationCapabilityBridge;
+import org.spongepowered.common.mixin.plugin.blockentityactivation.BlockEntityActivation;
+
+@Mixin(value = BlockEntity.class, priority = 1002)
+public abstract class BlockEntityMixin_BlockEntityActivation implements ActivationCapabilityBridge, TrackableBridge {
+
+    private boolean blockEntityActivation$defaultState = true;
+    private long blockEntityActivation$activatedTick = Integer.MIN_VALUE;
+    private int blockEntityActivation$range;
+    private int blockEntityActivation$tickRate = 1;
+    private boolean blockEntityActivation$refreshCache = true;
+
+    @Override
+    public boolean bridge$shouldTick() {
+        return BlockEntityActivation.checkIfActive((BlockEntity) (Object) this);
+    }
+
+    @Override
+    public void activation$inactiveTick() {
+    }
+
+    @Override
+    public byte activation$getActivationType() {
+        return 0;
+    }
+
+    @Override
+    public long activation$getActivatedTick() {
+        return this.blockEntityActivation$activatedTick;
+    }
+
+    @Override
+    public boolean activation$getDefaultActivationState() {
+        return this.blockEntityActivation$defaultState;
+    }
+
+    @Override
+    public void activation$setDefaultActivationState(final boolean defaultState) {
+        this.blockEntityActivation$defaultState = defaultState;
+    }
+
+    @Override
+    public void activation$setActivatedTick(final long tick) {
+        this.blockEntityActivation$activatedTick = tick;
+    }
+
+    @Override
+    public int activation$getActivationRange() {
+        return this.blockEntityActivation$range;
+    }
+
+    @Override
+    public void activation$setActivationRange(final int range) {
+        this.blockEntityActivation$range = range;
+    }
+
+    @Override
+    public void activation$requiresActivationCacheRefresh(final boolean flag) {
+        this.blockEntityActivation$refreshCache = flag;
+    }
+
+    @Override
+    public boolean activation$requiresActivationCacheRefresh() {
+        return this.blockEntityActivation$refreshCache;
+    }
+
+    @Override
+    public int activation$getSpongeTicksExisted() {
+        // Throttling is phased by position rather than age, block entities don't track their age
+        return 0;
+    }
+
+    @Override
+    public void activation$incrementSpongeTicksExisted() {
+    }
+
+    @Override
+    public int activation$getSpongeTickRate() {
+        return this.blockEntityActivation$tickRate;
+    }
+
+    @Override
+    public void activation$setSpongeTickRate(final int tickRate) {
+        this.blockEntityActivation$tickRate = tickRate;
+    }
+}
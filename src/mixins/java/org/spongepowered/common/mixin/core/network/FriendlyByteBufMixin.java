@@ -35,7 +35,7 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.ModifyVariable;
 import org.spongepowered.asm.mixin.injection.Redirect;
-import org.spongepowered.common.adventure.NativeComponentRenderer;
+import org.spongepowered.common.adventure.ComponentRenderCache;
 import org.spongepowered.common.bridge.network.FriendlyByteBufBridge;
 import org.spongepowered.common.util.Constants;
 
@@ -45,10 +45,14 @@
 public abstract class FriendlyByteBufMixin implements FriendlyByteBufBridge {
 
     private @Nullable Locale impl$locale;
+    private boolean impl$localized;
 
     @ModifyVariable(method = "writeComponent", at = @At("HEAD"), argsOnly = true)
     private Component localizeComponent(final Component input) {
-        return NativeComponentRenderer.apply(input, this.impl$locale == null ? Locales.DEFAULT : this.impl$locale);
+        final Component rendered = ComponentRenderCache.render(input, this.impl$locale == null ? Locales.DEFAULT : this.impl$locale);
+        // Anything that is not written as is may render differently for another locale
+        this.impl$localized |= rendered != input;
+        return rendered;
     }
 
     @Override
@@ -63,10 +67,10 @@ private Component localizeComponent(final Component input) {
 
         if (display.contains(Constants.Item.ITEM_NAME, 8)) {
             final String nameStr = display.getString(Constants.Item.ITEM_NAME);
-            final Component name = Component.Serializer.fromJson(nameStr);
-            final Component renderedName = NativeComponentRenderer.apply(name, locale);
+            this.impl$localized |= ComponentRenderCache.containsTranslatable(nameStr);
+            final String renderedName = ComponentRenderCache.renderJson(nameStr, locale);
 
-            if (!renderedName.equals(name)) {
+            if (renderedName != nameStr) {
                 if (copy) {
                     tag = tag.copy();
                     display = tag.getCompound(Constants.Item.ITEM_DISPLAY);
@@ -74,23 +78,24 @@ private Component localizeComponent(final Component input) {
                 }
 
                 display.putString(Constants.Item.ITEM_ORIGINAL_NAME, nameStr);
-                display.putString(Constants.Item.ITEM_NAME, Component.Serializer.toJson(renderedName));
+                display.putString(Constants.Item.ITEM_NAME, renderedName);
             }
         }
 
         if (display.contains(Constants.Item.ITEM_LORE, 9)) {
             final ListTag lore = display.getList(Constants.Item.ITEM_LORE, 8);
 
-            final Component[] renderedLines = new Component[lore.size()];
+            final String[] renderedLines = new String[lore.size()];
             boolean equal = true;
 
             for (int i = 0; i < renderedLines.length; i++) {
                 final String lineStr = lore.getString(i);
-                final Component line = Component.Serializer.fromJson(lineStr);
-                final Component renderedLine = NativeComponentRenderer.apply(line, locale);
+                this.impl$localized |= ComponentRenderCache.containsTranslatable(lineStr);
+                final String renderedLine = ComponentRenderCache.renderJson(lineStr, locale);
 
                 renderedLines[i] = renderedLine;
-                equal = equal && renderedLine.equals(line);
+                // renderJson hands back the very same string for unchanged lines
+                equal = equal && renderedLine == lineStr;
             }
 
             if (!equal) {
@@ -101,8 +106,8 @@ private Component localizeComponent(final Component input) {
                 }
 
                 final ListTag newLore = new ListTag();
-                for (Component renderedLine : renderedLines) {
-                    newLore.add(StringTag.valueOf(Component.Serializer.toJson(renderedLine)));
+                for (final String renderedLine : renderedLines) {
+                    newLore.add(StringTag.valueOf(renderedLine));
                 }
 
                 display.put(Constants.Item.ITEM_ORIGINAL_LORE, lore);
@@ -139,4 +144,9 @@ public CompoundTag restoreItemComponents(final FriendlyByteBuf buf) {
     public void bridge$setLocale(final Locale locale) {
         this.impl$locale = locale;
     }
+
+    @Override
+    public boolean bridge$isLocalized() {
+        return this.impl$localized;
+    }
 }
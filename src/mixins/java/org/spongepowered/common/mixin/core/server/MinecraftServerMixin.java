@@ -310,13 +310,14 @@ public boolean saveAllChunks(final boolean suppressLog, final boolean flush, fin
         // Sponge end
 
         // Sponge start
-        // Save the usercache.json file every 10 minutes or if forced to
+        // Save the usercache.json file and the username cache every 10 minutes or if forced to
         if (isForced || this.tickCount % 6000 == 0) {
             // We want to save the username cache json, as we normally bypass it.
             final GameProfileCache profileCache = this.shadow$getProfileCache();
             ((GameProfileCacheBridge) profileCache).bridge$setCanSave(true);
             profileCache.save();
             ((GameProfileCacheBridge) profileCache).bridge$setCanSave(false);
+            this.getUsernameCache().save();
         }
         // Sponge end
 
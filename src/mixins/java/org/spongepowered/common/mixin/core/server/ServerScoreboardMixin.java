@@ -57,6 +57,7 @@
 import org.spongepowered.common.bridge.server.ServerScoreboardBridge;
 import org.spongepowered.common.bridge.world.scores.ObjectiveBridge;
 import org.spongepowered.common.bridge.world.scores.ScoreBridge;
+import org.spongepowered.common.network.SharedPacketEncoder;
 import org.spongepowered.common.scoreboard.SpongeDisplaySlot;
 import org.spongepowered.common.scoreboard.SpongeObjective;
 import org.spongepowered.common.scoreboard.SpongeScore;
@@ -200,9 +201,7 @@ public abstract class ServerScoreboardMixin extends Scoreboard implements Server
 
     @Override
     public void bridge$sendToPlayers(final Packet<?> packet) {
-        for (final ServerPlayer player: this.impl$players) {
-            player.connection.send(packet);
-        }
+        SharedPacketEncoder.send(packet, this.impl$players);
     }
 
     @Override
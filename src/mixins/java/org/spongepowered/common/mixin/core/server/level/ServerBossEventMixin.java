@@ -40,6 +40,7 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.adventure.SpongeAdventure;
 import org.spongepowered.common.mixin.core.world.BossEventMixin;
+import org.spongepowered.common.network.SharedPacketEncoder;
 
 import java.util.Set;
 import java.util.function.Function;
@@ -97,6 +98,14 @@ private void forceCreateFogUpdate(final boolean createFog, final CallbackInfoRet
         this.createWorldFog = !createFog;
     }
 
+    @Inject(method = "broadcast", at = @At("HEAD"), cancellable = true)
+    private void impl$broadcastWithSharedEncoding(final Function<BossEvent, ClientboundBossEventPacket> factory, final CallbackInfo ci) {
+        if (this.visible) {
+            SharedPacketEncoder.send(factory.apply((BossEvent) (Object) this), this.players);
+        }
+        ci.cancel();
+    }
+
     // Convert to using BossBar.Listener
 
     @Redirect(method = {"setProgress", "setColor", "setOverlay", "setDarkenScreen", "setPlayBossMusic", "setCreateWorldFog", "setName"},
@@ -36,6 +36,7 @@
 import net.minecraft.server.level.TicketType;
 import net.minecraft.server.level.progress.ChunkProgressListener;
 import net.minecraft.util.ProgressListener;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.ai.village.poi.PoiManager;
 import net.minecraft.world.entity.ai.village.poi.PoiType;
 import net.minecraft.world.entity.player.Player;
@@ -46,9 +47,11 @@
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.JukeboxBlockEntity;
 import net.minecraft.world.level.block.entity.TickingBlockEntity;
+import net.minecraft.world.level.chunk.storage.EntityStorage;
 import net.minecraft.world.level.dimension.DimensionType;
 import net.minecraft.world.level.dimension.LevelStem;
 import net.minecraft.world.level.dimension.end.EndDragonFight;
+import net.minecraft.world.level.entity.EntityPersistentStorage;
 import net.minecraft.world.level.gameevent.GameEvent;
 import net.minecraft.world.level.levelgen.WorldOptions;
 import net.minecraft.world.level.material.Fluid;
@@ -91,6 +94,11 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.accessor.server.level.ServerLevelAccessor;
+import org.spongepowered.common.accessor.world.level.chunk.storage.ChunkStorageAccessor;
+import org.spongepowered.common.accessor.world.level.chunk.storage.EntityStorageAccessor;
+import org.spongepowered.common.accessor.world.level.chunk.storage.SectionStorageAccessor;
+import org.spongepowered.common.accessor.world.level.entity.PersistentEntitySectionManagerAccessor;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.bridge.ResourceKeyBridge;
 import org.spongepowered.common.bridge.data.VanishableBridge;
@@ -99,6 +107,7 @@
 import org.spongepowered.common.bridge.world.level.PlatformServerLevelBridge;
 import org.spongepowered.common.bridge.world.level.border.WorldBorderBridge;
 import org.spongepowered.common.bridge.world.level.chunk.LevelChunkBridge;
+import org.spongepowered.common.bridge.world.level.chunk.storage.IOWorkerBridge;
 import org.spongepowered.common.bridge.world.level.dimension.DimensionTypeBridge;
 import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
 import org.spongepowered.common.bridge.world.ticks.LevelTicksBridge;
@@ -305,6 +314,19 @@ public abstract class ServerLevelMixin extends LevelMixin implements ServerLevel
         return this.impl$recentTickTimes;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void bridge$holdWrites(final boolean hold) {
+        final ServerLevel level = (ServerLevel) (Object) this;
+        ((IOWorkerBridge) ((ChunkStorageAccessor) level.getChunkSource().chunkMap).accessor$worker()).bridge$holdWrites(hold);
+        ((IOWorkerBridge) ((SectionStorageAccessor) level.getPoiManager()).accessor$worker()).bridge$holdWrites(hold);
+        final EntityPersistentStorage<Entity> entityStorage = ((PersistentEntitySectionManagerAccessor<Entity>) ((ServerLevelAccessor) level)
+            .accessor$getEntityManager()).accessor$permanentStorage();
+        if (entityStorage instanceof EntityStorage) {
+            ((IOWorkerBridge) ((EntityStorageAccessor) entityStorage).accessor$worker()).bridge$holdWrites(hold);
+        }
+    }
+
     @Redirect(method = "saveLevelData", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/MinecraftServer;getWorldData()Lnet/minecraft/world/level/storage/WorldData;"))
     private WorldData impl$usePerWorldLevelDataForDragonFight(final MinecraftServer server) {
         return (WorldData) this.shadow$getLevelData();
@@ -107,6 +107,7 @@
 import org.spongepowered.common.command.registrar.BrigadierBasedRegistrar;
 import org.spongepowered.common.data.value.ImmutableSpongeListValue;
 import org.spongepowered.common.entity.player.tab.SpongeTabList;
+import org.spongepowered.common.event.MoveEventSubscriptions;
 import org.spongepowered.common.event.ShouldFire;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.PhaseTracker;
@@ -221,8 +222,11 @@ public abstract class ServerGamePacketListenerImplMixin implements ConnectionHol
             cancellable = true
     )
     private void impl$callMoveEntityEvent(final ServerboundMovePlayerPacket packetIn, final CallbackInfo ci) {
-        final boolean fireMoveEvent = packetIn.hasPosition();
-        final boolean fireRotationEvent = packetIn.hasRotation();
+        // Skip building the event positions entirely when nobody would receive the events
+        final boolean fireMoveEvent = packetIn.hasPosition() && ShouldFire.MOVE_ENTITY_EVENT
+                && MoveEventSubscriptions.shouldPost(this.player, packetIn.getX(this.player.getX()), packetIn.getY(this.player.getY()),
+                        packetIn.getZ(this.player.getZ()));
+        final boolean fireRotationEvent = packetIn.hasRotation() && ShouldFire.ROTATE_ENTITY_EVENT;
 
         // During login, minecraft sends a packet containing neither the 'moving' or 'rotating' flag set - but only once.
         // We don't fire an event to avoid confusing plugins.
@@ -108,6 +108,7 @@
 import org.spongepowered.common.event.tracking.context.transaction.TransactionalCaptureSupplier;
 import org.spongepowered.common.event.tracking.context.transaction.effect.BroadcastInventoryChangesEffect;
 import org.spongepowered.common.event.tracking.context.transaction.inventory.PlayerInventoryTransaction;
+import org.spongepowered.common.network.SharedPacketEncoder;
 import org.spongepowered.common.profile.SpongeGameProfile;
 import org.spongepowered.common.server.PerWorldBorderListener;
 import org.spongepowered.common.service.server.ban.SpongeIPBanList;
@@ -122,6 +123,7 @@
 import java.net.UnknownHostException;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -170,6 +172,24 @@ public abstract class PlayerListMixin implements PlayerListBridge {
         this.whitelist = new SpongeUserWhiteList(PlayerList.WHITELIST_FILE);
     }
 
+    @Inject(method = "broadcastAll(Lnet/minecraft/network/protocol/Packet;)V", at = @At("HEAD"), cancellable = true)
+    private void impl$broadcastWithSharedEncoding(final Packet<?> packet, final CallbackInfo ci) {
+        SharedPacketEncoder.send(packet, this.players);
+        ci.cancel();
+    }
+
+    @Inject(method = "broadcastAll(Lnet/minecraft/network/protocol/Packet;Lnet/minecraft/resources/ResourceKey;)V", at = @At("HEAD"), cancellable = true)
+    private void impl$broadcastWithSharedEncoding(final Packet<?> packet, final ResourceKey<Level> dimension, final CallbackInfo ci) {
+        final List<net.minecraft.server.level.ServerPlayer> players = new ArrayList<>();
+        for (final net.minecraft.server.level.ServerPlayer player : this.players) {
+            if (player.level.dimension() == dimension) {
+                players.add(player);
+            }
+        }
+        SharedPacketEncoder.send(packet, players);
+        ci.cancel();
+    }
+
     @Override
     public CompletableFuture<net.minecraft.network.chat.Component> bridge$canPlayerLogin(final SocketAddress param0, final com.mojang.authlib.GameProfile param1) {
         if (this instanceof IntegratedPlayerListBridge) {
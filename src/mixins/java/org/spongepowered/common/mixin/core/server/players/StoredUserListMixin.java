@@ -28,7 +28,10 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.service.server.permission.SubjectPermissionCache;
 
 import java.util.List;
 
@@ -42,4 +45,10 @@ public abstract class StoredUserListMixin {
         return list.add(this.shadow$getKeyForUser(object)); // Mojang didn't implement this correctly, so we'll fix it
     }
 
+    // The permissions of users depend on the operator list
+    @Inject(method = {"add", "remove(Ljava/lang/Object;)V", "load"}, at = @At("RETURN"))
+    private void impl$invalidatePermissionCaches(final CallbackInfo ci) {
+        SubjectPermissionCache.invalidateAll();
+    }
+
 }
@@ -79,12 +79,29 @@ public abstract class IOWorkerMixin implements IOWorkerBridge {
     // @formatter:on
 
     @MonotonicNonNull private ResourceKey<Level> impl$dimension; //We only set this for chunk related IO workers
+    private volatile boolean impl$holdWrites;
 
     @Override
     public void bridge$setDimension(ResourceKey<Level> dimension) {
         this.impl$dimension = dimension;
     }
 
+    @Override
+    public void bridge$holdWrites(final boolean hold) {
+        this.impl$holdWrites = hold;
+        if (!hold) {
+            // Nothing else may be queued to pick the held writes up again
+            this.shadow$tellStorePending();
+        }
+    }
+
+    @Inject(method = "storePendingChunk", at = @At("HEAD"), cancellable = true)
+    private void impl$holdPendingWrites(final CallbackInfo ci) {
+        if (this.impl$holdWrites) {
+            ci.cancel();
+        }
+    }
+
     @Inject(method = "runStore", at = @At(value = "INVOKE", shift = At.Shift.AFTER, target = "Ljava/util/concurrent/CompletableFuture;complete(Ljava/lang/Object;)Z"))
     private void impl$onSaved(final ChunkPos param0, final @Coerce Object param1, final CallbackInfo ci) {
         if (this.impl$dimension == null) {
@@ -33,8 +33,6 @@
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.UUIDUtil;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.IntArrayTag;
-import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.protocol.game.ClientboundChangeDifficultyPacket;
 import net.minecraft.network.protocol.game.ClientboundSetChunkCacheRadiusPacket;
@@ -64,14 +62,13 @@
 import org.spongepowered.common.bridge.world.level.storage.PrimaryLevelDataBridge;
 import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
 import org.spongepowered.common.config.inheritable.WorldConfig;
-import org.spongepowered.common.data.fixer.LegacyUUIDCodec;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.MapUtil;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.server.SpongeWorldManager;
+import org.spongepowered.common.world.storage.PlayerUniqueIdTable;
 import org.spongepowered.math.vector.Vector3i;
 
-import java.util.Collections;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.UUID;
@@ -99,7 +96,7 @@ public abstract class PrimaryLevelDataMixin implements WorldData, PrimaryLevelDa
     private Boolean impl$pvp;
     private InheritableConfigHandle<WorldConfig> impl$configAdapter;
 
-    private final BiMap<Integer, UUID> impl$playerUniqueIdMap = HashBiMap.create();
+    private final PlayerUniqueIdTable impl$playerUniqueIds = new PlayerUniqueIdTable();
 
     private boolean impl$customDifficulty = false, impl$customGameType = false, impl$customSpawnPosition = false, impl$loadOnStartup, impl$performsSpawnLogic;
 
@@ -303,19 +300,12 @@ public abstract class PrimaryLevelDataMixin implements WorldData, PrimaryLevelDa
 
     @Override
     public int bridge$getIndexForUniqueId(final UUID uuid) {
-        final Integer index = this.impl$playerUniqueIdMap.inverse().get(uuid);
-        if (index != null) {
-            return index;
-        }
-
-        final int newIndex = this.impl$playerUniqueIdMap.size();
-        this.impl$playerUniqueIdMap.put(newIndex, uuid);
-        return newIndex;
+        return this.impl$playerUniqueIds.indexOf(uuid);
     }
 
     @Override
     public Optional<UUID> bridge$getUniqueIdForIndex(final int index) {
-        return Optional.ofNullable(this.impl$playerUniqueIdMap.get(index));
+        return Optional.ofNullable(this.impl$playerUniqueIds.get(index));
     }
 
     @Override
@@ -366,10 +356,7 @@ public ServerLevelData overworldData() {
             this.impl$mapUUIDIndex = mapIndex;
         });
 
-        // TODO Move this to Schema
-        dynamic.get(Constants.Sponge.LEGACY_SPONGE_PLAYER_UUID_TABLE).readList(LegacyUUIDCodec.CODEC).result().orElseGet(() ->
-            dynamic.get(Constants.Sponge.SPONGE_PLAYER_UUID_TABLE).readList(UUIDUtil.CODEC).result().orElse(Collections.emptyList())
-        ).forEach(uuid -> this.impl$playerUniqueIdMap.inverse().putIfAbsent(uuid, this.impl$playerUniqueIdMap.size()));
+        this.impl$playerUniqueIds.read(dynamic);
     }
 
     @Override
@@ -382,9 +369,7 @@ public ServerLevelData overworldData() {
         MapUtil.saveMapUUIDIndex(mapUUIDIndexTag, this.impl$mapUUIDIndex);
         data.put(Constants.Map.MAP_UUID_INDEX, mapUUIDIndexTag);
 
-        final ListTag playerIdList = new ListTag();
-        data.put(Constants.Sponge.SPONGE_PLAYER_UUID_TABLE, playerIdList);
-        this.impl$playerUniqueIdMap.values().forEach(uuid -> playerIdList.add(new IntArrayTag(UUIDUtil.uuidToIntArray(uuid))));
+        this.impl$playerUniqueIds.write(data);
 
         return data;
     }
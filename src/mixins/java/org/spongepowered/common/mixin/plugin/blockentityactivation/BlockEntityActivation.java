@@ -0,0 +1,242 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin.blockentityactivation;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.world.server.ServerWorld;
+import org.spongepowered.common.SpongeCommon;
+import org.spongepowered.common.bridge.activation.ActivationCapabilityBridge;
+import org.spongepowered.common.bridge.activation.ActivationImmunityBridge;
+import org.spongepowered.common.bridge.world.inventory.ViewableInventoryBridge;
+import org.spongepowered.common.bridge.world.level.LevelBridge;
+import org.spongepowered.common.bridge.world.level.chunk.ActiveChunkReferantBridge;
+import org.spongepowered.common.bridge.world.level.chunk.LevelChunkBridge;
+import org.spongepowered.common.config.SpongeGameConfigs;
+import org.spongepowered.common.config.inheritable.BlockEntityActivationCategory;
+import org.spongepowered.common.config.inheritable.GlobalConfig;
+import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The block entity counterpart of the entity activation range. Block
+ * entities further away than their activation range from every player are
+ * not ticked at all, and active ones are ticked once every tick rate ticks.
+ */
+public final class BlockEntityActivation {
+
+    private static final Set<ResourceLocation> populatedTypes = ConcurrentHashMap.newKeySet();
+    static volatile int maxActivationRange = 0;
+
+    /**
+     * Resolves the activation range and tick rate of a block entity from the
+     * config of the world it is in.
+     *
+     * @param blockEntity The block entity to initialize
+     */
+    public static void initializeBlockEntityActivationState(final BlockEntity blockEntity) {
+        final ActivationCapabilityBridge spongeBlockEntity = (ActivationCapabilityBridge) blockEntity;
+        final @Nullable Level level = blockEntity.getLevel();
+        if (level == null || level.isClientSide() || ((LevelBridge) level).bridge$isFake()) {
+            return;
+        }
+        spongeBlockEntity.activation$requiresActivationCacheRefresh(false);
+
+        final @Nullable ResourceLocation key = BlockEntityType.getKey(blockEntity.getType());
+        if (key == null) {
+            spongeBlockEntity.activation$setDefaultActivationState(true);
+            return;
+        }
+
+        final BlockEntityActivationCategory config = SpongeGameConfigs.getForWorld(level).get().blockEntityActivation;
+        if (config.autoPopulate && BlockEntityActivation.populatedTypes.add(key)) {
+            BlockEntityActivation.addBlockEntityToConfig(key);
+        }
+
+        int range = config.defaultBlockRange;
+        int tickRate = config.defaultTickRate;
+        final BlockEntityActivationCategory.@Nullable ModSubCategory mod = config.mods.get(key.getNamespace());
+        if (mod != null) {
+            if (!mod.enabled) {
+                range = 0;
+                tickRate = 1;
+            } else {
+                if (mod.defaultBlockRange >= 0) {
+                    range = mod.defaultBlockRange;
+                }
+                if (mod.defaultTickRate >= 0) {
+                    tickRate = mod.defaultTickRate;
+                }
+                range = mod.blockRanges.getOrDefault(key.getPath(), range);
+                tickRate = mod.tickRates.getOrDefault(key.getPath(), tickRate);
+            }
+        }
+
+        spongeBlockEntity.activation$setActivationRange(range);
+        spongeBlockEntity.activation$setSpongeTickRate(Math.max(1, tickRate));
+        spongeBlockEntity.activation$setDefaultActivationState(range <= 0);
+        if (range > BlockEntityActivation.maxActivationRange) {
+            BlockEntityActivation.maxActivationRange = range;
+        }
+    }
+
+    /**
+     * Marks the block entities within range of a player in the world as
+     * active for this tick.
+     *
+     * @param world The world to perform activation checks in
+     */
+    public static void activateBlockEntities(final ServerLevel world) {
+        if (((LevelBridge) world).bridge$isFake()) {
+            return;
+        }
+        final int maxRange = Math.min((((ServerWorld) world).properties().viewDistance() << 4) - 8, BlockEntityActivation.maxActivationRange);
+        if (maxRange <= 0) {
+            return;
+        }
+
+        final long currentTick = SpongeCommon.server().getTickCount();
+        for (final ServerPlayer player : world.players()) {
+            final BlockPos playerPos = player.blockPosition();
+            final int minChunkX = (playerPos.getX() - maxRange) >> 4;
+            final int maxChunkX = (playerPos.getX() + maxRange) >> 4;
+            final int minChunkZ = (playerPos.getZ() - maxRange) >> 4;
+            final int maxChunkZ = (playerPos.getZ() + maxRange) >> 4;
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ) {
+                    final @Nullable LevelChunk chunk = world.getChunkSource().getChunkNow(chunkX, chunkZ);
+                    if (chunk != null) {
+                        BlockEntityActivation.activateChunkBlockEntities(playerPos, chunk, currentTick);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void activateChunkBlockEntities(final BlockPos playerPos, final LevelChunk chunk, final long currentTick) {
+        for (final BlockEntity blockEntity : chunk.getBlockEntities().values()) {
+            final ActivationCapabilityBridge spongeBlockEntity = (ActivationCapabilityBridge) blockEntity;
+            if (currentTick <= spongeBlockEntity.activation$getActivatedTick()) {
+                continue;
+            }
+            if (spongeBlockEntity.activation$requiresActivationCacheRefresh()) {
+                BlockEntityActivation.initializeBlockEntityActivationState(blockEntity);
+            }
+            if (spongeBlockEntity.activation$getDefaultActivationState()) {
+                continue;
+            }
+            final int range = spongeBlockEntity.activation$getActivationRange();
+            final BlockPos pos = blockEntity.getBlockPos();
+            if (Math.abs(pos.getX() - playerPos.getX()) <= range && Math.abs(pos.getZ() - playerPos.getZ()) <= range) {
+                spongeBlockEntity.activation$setActivatedTick(currentTick);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a block entity must keep ticking regardless of its
+     * activation state.
+     *
+     * @param blockEntity The block entity to check
+     * @return Whether the block entity is immune
+     */
+    public static boolean checkBlockEntityImmunities(final BlockEntity blockEntity) {
+        if (blockEntity instanceof ActivationImmunityBridge && ((ActivationImmunityBridge) blockEntity).activation$isImmune()) {
+            return true;
+        }
+        // Players expect the screen they are looking at to update
+        return blockEntity instanceof ViewableInventoryBridge && !((ViewableInventoryBridge) blockEntity).viewableBridge$getViewers().isEmpty();
+    }
+
+    /**
+     * Checks if the block entity should be ticked this tick.
+     *
+     * @param blockEntity The block entity to check
+     * @return Whether the given block entity should tick
+     */
+    public static boolean checkIfActive(final BlockEntity blockEntity) {
+        final @Nullable Level level = blockEntity.getLevel();
+        if (level == null || level.isClientSide()) {
+            return true;
+        }
+        final ActivationCapabilityBridge spongeBlockEntity = (ActivationCapabilityBridge) blockEntity;
+        if (spongeBlockEntity.activation$requiresActivationCacheRefresh()) {
+            BlockEntityActivation.initializeBlockEntityActivationState(blockEntity);
+        }
+        if (BlockEntityActivation.checkBlockEntityImmunities(blockEntity)) {
+            return true;
+        }
+
+        final long currentTick = SpongeCommon.server().getTickCount();
+        if (!spongeBlockEntity.activation$getDefaultActivationState() && spongeBlockEntity.activation$getActivatedTick() < currentTick) {
+            final @Nullable LevelChunkBridge activeChunk = ((ActiveChunkReferantBridge) blockEntity).bridge$getActiveChunk();
+            if (activeChunk == null || !activeChunk.bridge$isPersistedChunk()) {
+                return false;
+            }
+        }
+
+        final int tickRate = spongeBlockEntity.activation$getSpongeTickRate();
+        // Spread throttled block entities over the interval instead of ticking them all at once
+        return tickRate <= 1 || Math.floorMod(currentTick + blockEntity.getBlockPos().hashCode(), tickRate) == 0;
+    }
+
+    public static void addBlockEntityToConfig(final ResourceLocation key) {
+        final InheritableConfigHandle<GlobalConfig> globalConfig = SpongeGameConfigs.getGlobalInheritable();
+        final BlockEntityActivationCategory activationConfig = globalConfig.get().blockEntityActivation;
+
+        boolean requiresSave = false;
+        BlockEntityActivationCategory.@Nullable ModSubCategory modSubCategory = activationConfig.mods.get(key.getNamespace());
+        if (modSubCategory == null) {
+            modSubCategory = new BlockEntityActivationCategory.ModSubCategory();
+            activationConfig.mods.put(key.getNamespace(), modSubCategory);
+            requiresSave = true;
+        }
+        final int range = modSubCategory.defaultBlockRange >= 0 ? modSubCategory.defaultBlockRange : activationConfig.defaultBlockRange;
+        final int tickRate = modSubCategory.defaultTickRate >= 0 ? modSubCategory.defaultTickRate : activationConfig.defaultTickRate;
+        if (modSubCategory.blockRanges.putIfAbsent(key.getPath(), range) == null) {
+            requiresSave = true;
+        }
+        if (modSubCategory.tickRates.putIfAbsent(key.getPath(), tickRate) == null) {
+            requiresSave = true;
+        }
+
+        if (requiresSave) {
+            globalConfig.save();
+        }
+    }
+
+    private BlockEntityActivation() {
+    }
+}
@@ -24,8 +24,9 @@
  */
 package org.spongepowered.common.mixin.plugin.entityactivation;
 
-import com.google.common.collect.ImmutableMap;
-import net.minecraft.core.SectionPos;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSortedSet;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -52,11 +53,12 @@
 import net.minecraft.world.entity.projectile.AbstractHurtingProjectile;
 import net.minecraft.world.entity.projectile.FireworkRocketEntity;
 import net.minecraft.world.entity.projectile.ThrowableProjectile;
-import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.entity.EntitySection;
 import net.minecraft.world.level.entity.EntitySectionStorage;
 import net.minecraft.world.level.entity.PersistentEntitySectionManager;
 import net.minecraft.world.phys.AABB;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.api.data.Keys;
 import org.spongepowered.api.entity.explosive.fused.FusedExplosive;
 import org.spongepowered.api.entity.projectile.Projectile;
@@ -64,8 +66,9 @@
 import org.spongepowered.common.SpongeCommon;
 import org.spongepowered.common.accessor.server.level.ServerLevelAccessor;
 import org.spongepowered.common.accessor.world.entity.EntityAccessor;
+import org.spongepowered.common.accessor.world.level.entity.EntitySectionAccessor;
+import org.spongepowered.common.accessor.world.level.entity.EntitySectionStorageAccessor;
 import org.spongepowered.common.accessor.world.level.entity.PersistentEntitySectionManagerAccessor;
-import org.spongepowered.common.accessor.world.phys.AABBAccessor;
 import org.spongepowered.common.bridge.TrackableBridge;
 import org.spongepowered.common.bridge.activation.ActivationCapabilityBridge;
 import org.spongepowered.common.bridge.world.entity.EntityTypeBridge;
@@ -79,27 +82,21 @@
 import org.spongepowered.common.config.inheritable.InheritableConfigHandle;
 import org.spongepowered.common.config.inheritable.WorldConfig;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public final class EntityActivationRange {
 
-    private static final ImmutableMap<Byte, String> activationTypeMappings = new ImmutableMap.Builder<Byte, String>()
-        .put((byte) 1, "monster")
-        .put((byte) 2, "creature")
-        .put((byte) 3, "aquatic")
-        .put((byte) 4, "ambient")
-        .put((byte) 5, "misc")
-        .build();
-
-    static AABB maxBB = new AABB(0, 0, 0, 0, 0, 0);
-    static AABB miscBB = new AABB(0, 0, 0, 0, 0, 0);
-    static AABB creatureBB = new AABB(0, 0, 0, 0, 0, 0);
-    static AABB monsterBB = new AABB(0, 0, 0, 0, 0, 0);
-    static AABB aquaticBB = new AABB(0, 0, 0, 0, 0, 0);
-    static AABB ambientBB = new AABB(0, 0, 0, 0, 0, 0);
-    static AABB tileEntityBB = new AABB(0, 0, 0, 0, 0, 0);
-    static Map<Byte, Integer> maxActivationRanges = new HashMap<>();
+    // Indexed by activation type, 0 is unused
+    private static final String[] activationTypeNames = {"misc", "monster", "creature", "aquatic", "ambient", "misc"};
+    private static final int VERTICAL_RANGE = 256;
+    private static final int PARALLEL_CHUNK_THRESHOLD = 64;
+
+    static final int[] maxActivationRanges = new int[EntityActivationRange.activationTypeNames.length];
+    static int maxActivationRange = 0;
 
     /**
      * Initializes an entities type on construction to specify what group this
@@ -156,7 +153,7 @@ public static void initializeEntityActivationState(final Entity entity) {
         final EntityTypeBridge type = (EntityTypeBridge) entity.getType();
         final ResourceLocation key = EntityType.getKey(entity.getType());
         final byte activationType = spongeEntity.activation$getActivationType();
-        final String activationTypeName = EntityActivationRange.activationTypeMappings.getOrDefault(activationType, "misc");
+        final String activationTypeName = EntityActivationRange.activationTypeName(activationType);
         if (!type.bridge$isActivationRangeInitialized()) {
             EntityActivationRange.addEntityToConfig(config.autoPopulate, key, activationType, activationTypeName);
             type.bridge$setActivationRangeInitialized(true);
@@ -193,119 +190,126 @@ public static void initializeEntityActivationState(final Entity entity) {
         }
     }
 
-    /**
-     * Utility method to grow an AABB without creating a new AABB or touching
-     * the pool, so we can re-use ones we have.
-     *
-     * @param target The AABB to modify
-     * @param source The AABB to get initial coordinates from
-     * @param x The x value to expand by
-     * @param y The y value to expand by
-     * @param z The z value to expand by
-     * @return An AABB
-     */
-    public static AABB growBb(final AABB target, final AABB source, final int x, final int y, final int z) {
-        ((AABBAccessor) target).accessor$setMinX(source.minX - x);
-        ((AABBAccessor) target).accessor$setMinY(source.minY - y);
-        ((AABBAccessor) target).accessor$setMinZ(source.minZ - z);
-        ((AABBAccessor) target).accessor$setMaxX(source.maxX + x);
-        ((AABBAccessor) target).accessor$setMaxY(source.maxY + y);
-        ((AABBAccessor) target).accessor$setMaxZ(source.maxZ + z);
-        return target;
+    private static String activationTypeName(final byte activationType) {
+        return activationType > 0 && activationType < EntityActivationRange.activationTypeNames.length
+            ? EntityActivationRange.activationTypeNames[activationType] : "misc";
     }
 
     /**
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>The areas around all players are merged first, so that every entity
+     * section is visited once per tick no matter how many players overlap,
+     * each entity then being checked against the players around its chunk
+     * only.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(final ServerLevel world) {
-        if (((LevelBridge) world).bridge$isFake()) {
+        if (((LevelBridge) world).bridge$isFake() || world.players().isEmpty()) {
             return;
         }
 
+        final long currentTick = SpongeCommon.server().getTickCount();
+        final int maxRange = Math.min((((ServerWorld) world).properties().viewDistance() << 4) - 8, EntityActivationRange.maxActivationRange);
+        final Long2ObjectOpenHashMap<ChunkTargets> area = new Long2ObjectOpenHashMap<>();
+        final List<ChunkTargets> loadedChunks = new ArrayList<>();
         for (final ServerPlayer player : world.players()) {
-            int maxRange = 0;
-            for (final Integer range : EntityActivationRange.maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
-                }
-            }
-
-            maxRange = Math.min((((ServerWorld) world).properties().viewDistance() << 4) - 8, maxRange);
-            ((ActivationCapabilityBridge) player).activation$setActivatedTick(SpongeCommon.server().getTickCount());
-            final AABB aabb = EntityActivationRange.maxBB;
-            EntityActivationRange.growBb(aabb, player.getBoundingBox(), maxRange, 256, maxRange);
-
-            final int i = Mth.floor(aabb.minX / 16.0D);
-            final int j = Mth.floor(aabb.maxX / 16.0D);
-            final int k = Mth.floor(aabb.minZ / 16.0D);
-            final int l = Mth.floor(aabb.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    final LevelChunk chunk = world.getChunkSource().getChunkNow(i1, j1);
-                    if (chunk != null) {
-                        EntityActivationRange.activateChunkEntities(player, chunk);
+            ((ActivationCapabilityBridge) player).activation$setActivatedTick(currentTick);
+            final AABB box = player.getBoundingBox();
+            final int minChunkX = Mth.floor((box.minX - maxRange) / 16.0D);
+            final int maxChunkX = Mth.floor((box.maxX + maxRange) / 16.0D);
+            final int minChunkZ = Mth.floor((box.minZ - maxRange) / 16.0D);
+            final int maxChunkZ = Mth.floor((box.maxZ + maxRange) / 16.0D);
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ) {
+                    final long chunkPos = ChunkPos.asLong(chunkX, chunkZ);
+                    ChunkTargets targets = area.get(chunkPos);
+                    if (targets == null) {
+                        targets = new ChunkTargets(chunkX, chunkZ, world.getChunkSource().getChunkNow(chunkX, chunkZ) != null);
+                        area.put(chunkPos, targets);
+                        if (targets.loaded) {
+                            loadedChunks.add(targets);
+                        }
+                    }
+                    if (targets.loaded) {
+                        targets.add(box);
                     }
                 }
             }
         }
-    }
 
-    /**
-     * Checks for the activation state of all entities in this chunk.
-     *
-     * @param chunk Chunk to check for activation
-     */
-    private static void activateChunkEntities(final ServerPlayer player, final LevelChunk chunk) {
-        final PersistentEntitySectionManager<Entity> entityManager = ((ServerLevelAccessor) chunk.getLevel()).accessor$getEntityManager();
-        final EntitySectionStorage<Entity> entitySectionStorage = ((PersistentEntitySectionManagerAccessor<Entity>) entityManager).accessor$sectionStorage();
-        entitySectionStorage.getExistingSectionsInChunk(SectionPos.of(chunk.getPos(), 0).asLong()).flatMap(EntitySection::getEntities).forEach(entity -> {
-            if (!entity.chunkPosition().equals(chunk.getPos())) {
-                return;
-            }
-            final ActivationCapabilityBridge spongeEntity = (ActivationCapabilityBridge) entity;
-            final long currentTick = SpongeCommon.server().getTickCount();
-            if (!((TrackableBridge) entity).bridge$shouldTick()) {
-                return;
-            }
-            if (currentTick <= spongeEntity.activation$getActivatedTick()) {
-                return;
+        final PersistentEntitySectionManager<Entity> entityManager = ((ServerLevelAccessor) world).accessor$getEntityManager();
+        final EntitySectionStorage<Entity> sectionStorage = ((PersistentEntitySectionManagerAccessor<Entity>) entityManager).accessor$sectionStorage();
+        final List<Entity> uninitialized = new ArrayList<>();
+        final int parts = Math.min(ForkJoinPool.getCommonPoolParallelism() + 1, loadedChunks.size() / EntityActivationRange.PARALLEL_CHUNK_THRESHOLD);
+        if (parts <= 1 || !SpongeGameConfigs.getForWorld(world).get().entityActivationRange.parallelScan) {
+            EntityActivationRange.activateChunks(sectionStorage, loadedChunks, 0, loadedChunks.size(), currentTick, uninitialized);
+        } else {
+            // The main thread takes the first part itself while the common pool handles the others
+            final int partSize = (loadedChunks.size() + parts - 1) / parts;
+            final List<ForkJoinTask<List<Entity>>> tasks = new ArrayList<>(parts - 1);
+            for (int from = partSize; from < loadedChunks.size(); from += partSize) {
+                final int start = from;
+                final int end = Math.min(from + partSize, loadedChunks.size());
+                tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                    final List<Entity> partUninitialized = new ArrayList<>();
+                    EntityActivationRange.activateChunks(sectionStorage, loadedChunks, start, end, currentTick, partUninitialized);
+                    return partUninitialized;
+                }));
             }
-            if (spongeEntity.activation$getDefaultActivationState()) {
-                EntityActivationRange.initializeEntityActivationState(entity);
-                spongeEntity.activation$setActivatedTick(currentTick);
-                return;
+            EntityActivationRange.activateChunks(sectionStorage, loadedChunks, 0, partSize, currentTick, uninitialized);
+            for (final ForkJoinTask<List<Entity>> task : tasks) {
+                uninitialized.addAll(task.join());
             }
+        }
 
-            // check for entity type overrides
-            AABB aabb;
-            switch (spongeEntity.activation$getActivationType()) {
-                case 5:
-                    aabb = EntityActivationRange.miscBB;
-                    break;
-                case 4:
-                    aabb = EntityActivationRange.ambientBB;
-                    break;
-                case 3:
-                    aabb = EntityActivationRange.aquaticBB;
-                    break;
-                case 2:
-                    aabb = EntityActivationRange.creatureBB;
-                    break;
-                default:
-                    aabb = EntityActivationRange.monsterBB;
-                    break;
-            }
+        // Initialization reads and may populate the config, which only happens on the main thread
+        for (final Entity entity : uninitialized) {
+            EntityActivationRange.initializeEntityActivationState(entity);
+            ((ActivationCapabilityBridge) entity).activation$setActivatedTick(currentTick);
+        }
+    }
 
-            final int bbActivationRange = spongeEntity.activation$getActivationRange();
-            EntityActivationRange.growBb(aabb, player.getBoundingBox(), bbActivationRange, 256, bbActivationRange);
-            if (aabb.intersects(entity.getBoundingBox())) {
-                spongeEntity.activation$setActivatedTick(currentTick);
+    private static void activateChunks(final EntitySectionStorage<Entity> sectionStorage, final List<ChunkTargets> chunks, final int from,
+        final int to, final long currentTick, final List<Entity> uninitialized
+    ) {
+        for (int i = from; i < to; i++) {
+            final ChunkTargets targets = chunks.get(i);
+            final LongSortedSet sections = ((EntitySectionStorageAccessor<Entity>) sectionStorage).invoker$getChunkSections(targets.x, targets.z);
+            for (final LongIterator iterator = sections.iterator(); iterator.hasNext(); ) {
+                final @Nullable EntitySection<Entity> section = sectionStorage.getSection(iterator.nextLong());
+                if (section == null) {
+                    continue;
+                }
+                for (final Entity entity : ((EntitySectionAccessor<Entity>) section).accessor$storage()) {
+                    EntityActivationRange.activateEntity(entity, targets, currentTick, uninitialized);
+                }
             }
-        });
+        }
+    }
+
+    private static void activateEntity(final Entity entity, final ChunkTargets targets, final long currentTick, final List<Entity> uninitialized) {
+        final ChunkPos chunkPos = entity.chunkPosition();
+        if (chunkPos.x != targets.x || chunkPos.z != targets.z) {
+            return;
+        }
+        final ActivationCapabilityBridge spongeEntity = (ActivationCapabilityBridge) entity;
+        if (!((TrackableBridge) entity).bridge$shouldTick()) {
+            return;
+        }
+        if (currentTick <= spongeEntity.activation$getActivatedTick()) {
+            return;
+        }
+        if (spongeEntity.activation$getDefaultActivationState()) {
+            uninitialized.add(entity);
+            return;
+        }
+        if (targets.intersects(entity.getBoundingBox(), spongeEntity.activation$getActivationRange())) {
+            spongeEntity.activation$setActivatedTick(currentTick);
+        }
     }
 
     /**
@@ -446,12 +450,63 @@ public static void addEntityToConfig(
         }
 
         // check max ranges
-        final int newRange = range;
-        EntityActivationRange.maxActivationRanges
-            .compute(activationType, (k, maxRange) -> maxRange == null || newRange > maxRange ? newRange : maxRange);
+        final int typeIndex = activationType > 0 && activationType < EntityActivationRange.maxActivationRanges.length ? activationType : 5;
+        if (range > EntityActivationRange.maxActivationRanges[typeIndex]) {
+            EntityActivationRange.maxActivationRanges[typeIndex] = range;
+            EntityActivationRange.maxActivationRange = Math.max(EntityActivationRange.maxActivationRange, range);
+        }
 
         if (autoPopulate && requiresSave) {
             globalConfig.save();
         }
     }
+
+    /**
+     * The bounding boxes of the players whose activation area covers a
+     * chunk, flattened as min x, y, z then max x, y, z.
+     */
+    static final class ChunkTargets {
+
+        final int x;
+        final int z;
+        final boolean loaded;
+        private double[] boxes = new double[6 * 2];
+        private int size;
+
+        ChunkTargets(final int x, final int z, final boolean loaded) {
+            this.x = x;
+            this.z = z;
+            this.loaded = loaded;
+        }
+
+        void add(final AABB box) {
+            final int offset = this.size * 6;
+            if (offset == this.boxes.length) {
+                this.boxes = Arrays.copyOf(this.boxes, this.boxes.length * 2);
+            }
+            this.boxes[offset] = box.minX;
+            this.boxes[offset + 1] = box.minY;
+            this.boxes[offset + 2] = box.minZ;
+            this.boxes[offset + 3] = box.maxX;
+            this.boxes[offset + 4] = box.maxY;
+            this.boxes[offset + 5] = box.maxZ;
+            this.size++;
+        }
+
+        /**
+         * Checks whether the given box intersects the box of any of the
+         * players, grown by the given range.
+         */
+        boolean intersects(final AABB box, final int range) {
+            final double[] boxes = this.boxes;
+            for (int i = 0, end = this.size * 6; i < end; i += 6) {
+                if (box.minX < boxes[i + 3] + range && box.maxX > boxes[i] - range
+                    && box.minZ < boxes[i + 5] + range && box.maxZ > boxes[i + 2] - range
+                    && box.minY < boxes[i + 4] + EntityActivationRange.VERTICAL_RANGE && box.maxY > boxes[i + 1] - EntityActivationRange.VERTICAL_RANGE) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
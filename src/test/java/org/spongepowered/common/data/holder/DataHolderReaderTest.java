@@ -0,0 +1,192 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.holder;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.DataProvider;
+import org.spongepowered.api.data.Key;
+import org.spongepowered.common.data.SpongeDataManager;
+import org.spongepowered.common.data.key.SpongeKey;
+import org.spongepowered.common.data.provider.DataProviderRegistry;
+import org.spongepowered.common.data.provider.EmptyDataProvider;
+import org.spongepowered.common.test.stub.StubKey;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class DataHolderReaderTest {
+
+    private @Nullable SpongeDataManager previousManager;
+    private DataProviderRegistry registry;
+
+    private SpongeKey<?, ?> health;
+    private SpongeKey<?, ?> name;
+    private SpongeKey<?, ?> unregistered;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static SpongeKey<?, ?> key(final String value, final int id) {
+        final SpongeKey key = Mockito.mock(SpongeKey.class);
+        Mockito.when(key.id()).thenReturn(id);
+        Mockito.when(key.key()).thenReturn(new StubKey("test", value));
+        Mockito.when(key.getEmptyDataProvider()).thenReturn(new EmptyDataProvider<>(key));
+        return key;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void register(final SpongeKey<?, ?> key, final Predicate<DataHolder> supported, final Function<DataHolder, @Nullable Object> getter) {
+        final DataProvider provider = Mockito.mock(DataProvider.class);
+        Mockito.when(provider.key()).thenReturn(key);
+        Mockito.when(provider.isSupported(ArgumentMatchers.any(DataHolder.class)))
+            .thenAnswer(invocation -> supported.test(invocation.getArgument(0)));
+        Mockito.when(provider.get(ArgumentMatchers.any(DataHolder.class)))
+            .thenAnswer(invocation -> {
+                final DataHolder holder = invocation.getArgument(0);
+                return supported.test(holder) ? Optional.ofNullable(getter.apply(holder)) : Optional.empty();
+            });
+        this.registry.register(provider);
+    }
+
+    private static TestHolder holder() {
+        return Mockito.mock(TestHolder.class, Mockito.withSettings().defaultAnswer(Mockito.CALLS_REAL_METHODS));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static @Nullable Object lookup(final DataProviderRegistry registry, final Key<?> key, final DataHolder holder) {
+        return registry.getProvider((Key) key, holder.getClass()).get(holder).orElse(null);
+    }
+
+    @BeforeEach
+    public void setUp() throws ReflectiveOperationException {
+        this.previousManager = SpongeDataManager.INSTANCE;
+        final Constructor<SpongeDataManager> constructor = SpongeDataManager.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        constructor.newInstance();
+        this.registry = SpongeDataManager.getProviderRegistry();
+
+        this.health = DataHolderReaderTest.key("health", 0);
+        this.name = DataHolderReaderTest.key("name", 1);
+        // Far beyond the other ids, outside of the dense lookup array
+        this.unregistered = DataHolderReaderTest.key("unregistered", 1000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SpongeDataManager.INSTANCE = this.previousManager;
+    }
+
+    @Test
+    public void testReadMatchesProviderLookup() {
+        this.register(this.health, holder -> true, holder -> 20.0);
+        this.register(this.name, holder -> true, holder -> "holder");
+        final TestHolder holder = DataHolderReaderTest.holder();
+        final DataHolderReader reader = DataHolderReader.of(this.health, this.name, this.unregistered);
+
+        final DataHolderReader.Result result = reader.read(holder, reader.newResult());
+
+        for (int i = 0; i < reader.size(); i++) {
+            Assertions.assertEquals(DataHolderReaderTest.lookup(this.registry, reader.key(i), holder), result.get(i));
+        }
+        Assertions.assertEquals(20.0, result.getDouble(0, 0));
+        Assertions.assertEquals("holder", result.get(1));
+        Assertions.assertFalse(result.isPresent(2));
+        Assertions.assertEquals(-1, result.getInt(2, -1));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testReadUsesFirstSupportingDelegate() {
+        final TestHolder first = DataHolderReaderTest.holder();
+        final TestHolder second = DataHolderReaderTest.holder();
+        this.register(this.health, holder -> true, holder -> holder == first ? 1.0 : 2.0);
+        this.register(this.name, holder -> holder == second, holder -> "second");
+        final TestHolder composite = DataHolderReaderTest.holder();
+        Mockito.doReturn(List.of(first, second)).when(composite).impl$delegateDataHolder();
+        final DataHolderReader reader = DataHolderReader.of(this.health, this.name, this.unregistered);
+
+        final DataHolderReader.Result result = reader.read(composite, reader.newResult());
+
+        for (int i = 0; i < reader.size(); i++) {
+            // Resolved the same way as a single get through the data holder
+            Assertions.assertEquals(composite.get((Key) reader.key(i)).orElse(null), result.get(i));
+        }
+        Assertions.assertEquals(1.0, result.getDouble(0, 0));
+        Assertions.assertEquals("second", result.get(1));
+    }
+
+    @Test
+    public void testResultIsReused() {
+        this.register(this.name, holder -> true, holder -> "present");
+        final DataHolderReader reader = DataHolderReader.of(this.name);
+        final TestHolder holder = DataHolderReaderTest.holder();
+        final TestHolder empty = DataHolderReaderTest.holder();
+        Mockito.doReturn(List.of()).when(empty).impl$delegateDataHolder();
+
+        final DataHolderReader.Result result = reader.newResult();
+        Assertions.assertTrue(reader.read(holder, result).isPresent(0));
+        // Nothing is left over from the previous read
+        Assertions.assertFalse(reader.read(empty, result).isPresent(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> reader.read(holder, DataHolderReader.of(this.name).newResult()));
+    }
+
+    @Test
+    public void testProvidersAreResolvedAgainAfterRegistration() {
+        final DataHolderReader reader = DataHolderReader.of(this.unregistered);
+        final TestHolder holder = DataHolderReaderTest.holder();
+        Assertions.assertFalse(reader.read(holder, reader.newResult()).isPresent(0));
+
+        this.register(this.unregistered, h -> true, h -> "registered");
+
+        Assertions.assertEquals("registered", reader.read(holder, reader.newResult()).get(0));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testDenseKeyIdLookup() {
+        this.register(this.health, holder -> true, holder -> 20.0);
+        this.register(this.unregistered, holder -> true, holder -> "far");
+        final Class<?> type = DataHolderReaderTest.holder().getClass();
+
+        Assertions.assertSame(this.health, this.registry.getProvider((Key) this.health, type).key());
+        Assertions.assertSame(this.unregistered, this.registry.getProvider((Key) this.unregistered, type).key());
+        // Inside the array, but without a provider
+        Assertions.assertSame(this.name.getEmptyDataProvider(), this.registry.getProvider((Key) this.name, type));
+        // Beyond the array
+        final SpongeKey<?, ?> beyond = DataHolderReaderTest.key("beyond", 5000);
+        Assertions.assertSame(beyond.getEmptyDataProvider(), this.registry.getProvider((Key) beyond, type));
+    }
+
+    abstract static class TestHolder implements SpongeDataHolder {
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.world.server.ServerWorld;
+import org.spongepowered.common.util.SpongeAABB;
+import org.spongepowered.math.vector.Vector3d;
+import org.spongepowered.plugin.PluginContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MoveEventSubscriptionsTest {
+
+    private final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+    private final ResourceKey overworldKey = Mockito.mock(ResourceKey.class);
+    private final ResourceKey netherKey = Mockito.mock(ResourceKey.class);
+    private final ServerWorld overworld = Mockito.mock(ServerWorld.class);
+    private final List<MoveEventSubscriptions.Subscription> subscriptions = new ArrayList<>();
+
+    public MoveEventSubscriptionsTest() {
+        Mockito.when(this.overworld.key()).thenReturn(this.overworldKey);
+    }
+
+    @AfterEach
+    public void cancelSubscriptions() {
+        this.subscriptions.forEach(MoveEventSubscriptions.Subscription::cancel);
+    }
+
+    private MoveEventSubscriptions.Subscription region(final double minX, final double minY, final double minZ, final double maxX,
+        final double maxY, final double maxZ
+    ) {
+        final MoveEventSubscriptions.Subscription subscription = MoveEventSubscriptions.subscribeRegion(this.plugin, this.overworld,
+            new SpongeAABB(new Vector3d(minX, minY, minZ), new Vector3d(maxX, maxY, maxZ)));
+        this.subscriptions.add(subscription);
+        return subscription;
+    }
+
+    private boolean crosses(final double fromX, final double fromZ, final double toX, final double toZ) {
+        return MoveEventSubscriptions.crosses(this.overworldKey, fromX, 64, fromZ, toX, 64, toZ);
+    }
+
+    @Test
+    public void testNothingIsCrossedWithoutSubscriptions() {
+        Assertions.assertFalse(this.crosses(0.5, 0.5, 100.5, 100.5));
+    }
+
+    @Test
+    public void testRegionBoundaries() {
+        this.region(10, 60, 10, 20, 70, 20);
+
+        Assertions.assertTrue(this.crosses(9.5, 15, 10.5, 15), "Entering");
+        Assertions.assertTrue(this.crosses(15, 15, 20.5, 15), "Leaving");
+        Assertions.assertTrue(this.crosses(9, 15, 21, 15), "Passing through");
+        Assertions.assertFalse(this.crosses(12, 12, 18, 18), "Moving within");
+        Assertions.assertFalse(this.crosses(0.5, 0.5, 5.5, 5.5), "Moving elsewhere");
+        Assertions.assertFalse(MoveEventSubscriptions.crosses(this.overworldKey, 15, 80, 15, 15, 81, 15), "Moving above");
+        Assertions.assertFalse(MoveEventSubscriptions.crosses(this.netherKey, 9.5, 64, 15, 10.5, 64, 15), "Moving in another world");
+    }
+
+    @Test
+    public void testRegionSpanningChunks() {
+        this.region(-8, 0, -8, 8, 256, 8);
+
+        Assertions.assertTrue(this.crosses(-8.5, 0, -7.5, 0));
+        Assertions.assertTrue(this.crosses(7.5, 0, 8.5, 0));
+        Assertions.assertFalse(this.crosses(-7.5, -7.5, 7.5, 7.5));
+    }
+
+    @Test
+    public void testUnindexedRegion() {
+        // Spans far more chunks than are indexed per region
+        this.region(-10_000, 0, -10_000, 10_000, 256, 10_000);
+
+        Assertions.assertTrue(this.crosses(9_999.5, 0, 10_000.5, 0));
+        Assertions.assertFalse(this.crosses(0.5, 0.5, 1.5, 1.5));
+    }
+
+    @Test
+    public void testLongMovementsArePostedWhileRegionsAreSubscribed() {
+        this.region(10, 60, 10, 20, 70, 20);
+
+        Assertions.assertTrue(this.crosses(1000, 1000, 2000, 1000));
+    }
+
+    @Test
+    public void testBlockBoundaries() {
+        this.subscriptions.add(MoveEventSubscriptions.subscribeBlockBoundaries(this.plugin));
+
+        Assertions.assertFalse(this.crosses(0.1, 0.1, 0.9, 0.9));
+        Assertions.assertTrue(this.crosses(0.9, 0.5, 1.1, 0.5));
+        Assertions.assertTrue(MoveEventSubscriptions.crosses(this.overworldKey, 0.5, 64.9, 0.5, 0.5, 65.1, 0.5));
+        Assertions.assertTrue(MoveEventSubscriptions.crosses(this.netherKey, -0.1, 64, 0.5, 0.1, 64, 0.5));
+    }
+
+    @Test
+    public void testChunkBoundaries() {
+        this.subscriptions.add(MoveEventSubscriptions.subscribeChunkBoundaries(this.plugin));
+
+        Assertions.assertFalse(this.crosses(0.5, 0.5, 15.5, 15.5));
+        Assertions.assertTrue(this.crosses(15.5, 0.5, 16.5, 0.5));
+        Assertions.assertTrue(this.crosses(0.5, -0.5, 0.5, 0.5));
+        Assertions.assertFalse(MoveEventSubscriptions.crosses(this.overworldKey, 0.5, 0, 0.5, 0.5, 200, 0.5));
+    }
+
+    @Test
+    public void testCancelledSubscriptionStopsMatching() {
+        final MoveEventSubscriptions.Subscription subscription = this.region(10, 60, 10, 20, 70, 20);
+        Assertions.assertTrue(subscription.isActive());
+
+        subscription.cancel();
+        Assertions.assertFalse(subscription.isActive());
+        Assertions.assertFalse(this.crosses(9.5, 15, 10.5, 15));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event.manager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Cause;
+import org.spongepowered.api.event.EventContext;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.impl.AbstractEvent;
+import org.spongepowered.common.test.TestEventManager;
+import org.spongepowered.common.test.UnitTestExtension;
+import org.spongepowered.plugin.PluginContainer;
+import org.spongepowered.plugin.metadata.PluginMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@ExtendWith(UnitTestExtension.class)
+public class EventDispatcherFactoryTest {
+
+    private final PluginContainer plugin = EventDispatcherFactoryTest.plugin();
+    private final List<String> calls = new ArrayList<>();
+
+    private static PluginContainer plugin() {
+        final PluginMetadata metadata = Mockito.mock(PluginMetadata.class);
+        Mockito.when(metadata.id()).thenReturn("test");
+        final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+        Mockito.when(plugin.metadata()).thenReturn(metadata);
+        return plugin;
+    }
+
+    private <T extends TestEvent> RegisteredListener<T> listener(final EventType<T> eventType, final String name, final Order order,
+            final EventListener<? super T> listener) {
+        return new RegisteredListener<>(this.plugin, eventType, order, event -> {
+            this.calls.add(name + ':' + event.currentOrder);
+            listener.handle(event);
+        }, false, name);
+    }
+
+    private <T extends TestEvent> List<RegisteredListener<?>> listeners(final EventType<T> eventType) {
+        return List.of(
+            this.listener(eventType, "first", Order.FIRST, event -> { }),
+            this.listener(eventType, "cancel", Order.EARLY, event -> event.setCancelled(true)),
+            this.listener(eventType, "fail", Order.DEFAULT, event -> {
+                throw new IllegalStateException("Expected by the test");
+            }),
+            this.listener(eventType, "default", Order.DEFAULT, event -> { }),
+            this.listener(eventType, "uncancel", Order.LATE, event -> event.setCancelled(false)),
+            this.listener(eventType, "last", Order.POST, event -> event.setCancelled(true)));
+    }
+
+    private List<String> dispatchLoop(final List<RegisteredListener<?>> listeners, final TestEvent event) {
+        this.calls.clear();
+        final boolean cancelled = new TestEventManager().post(event, listeners);
+        this.calls.add("cancelled:" + cancelled);
+        this.calls.add("order:" + event.currentOrder);
+        return new ArrayList<>(this.calls);
+    }
+
+    private List<String> dispatchGenerated(final EventDispatcher dispatcher, final TestEvent event) {
+        this.calls.clear();
+        dispatcher.dispatch(event);
+        this.calls.add("cancelled:" + event.isCancelled());
+        this.calls.add("order:" + event.currentOrder);
+        return new ArrayList<>(this.calls);
+    }
+
+    @Test
+    public void testGeneratedDispatcherMatchesLoop() {
+        final EventType<TestEvent> eventType = new EventType<>(TestEvent.class);
+        final List<RegisteredListener<?>> listeners = this.listeners(eventType);
+        final EventDispatcher dispatcher = EventDispatcherFactory.create(eventType, listeners);
+        Assertions.assertNotNull(dispatcher);
+
+        final List<String> loop = this.dispatchLoop(listeners, new TestEvent());
+        final List<String> generated = this.dispatchGenerated(dispatcher, new TestEvent());
+
+        Assertions.assertEquals(List.of("first:FIRST", "cancel:EARLY", "fail:DEFAULT", "default:DEFAULT", "uncancel:LATE", "last:POST",
+            "cancelled:true", "order:null"), loop);
+        Assertions.assertEquals(loop, generated);
+    }
+
+    @Test
+    public void testGeneratedDispatcherSeesCancellation() {
+        final EventType<TestEvent> eventType = new EventType<>(TestEvent.class);
+        final List<RegisteredListener<?>> listeners = List.of(
+            this.listener(eventType, "cancel", Order.FIRST, event -> event.setCancelled(true)),
+            this.listener(eventType, "check", Order.DEFAULT, event -> this.calls.add("seen:" + event.isCancelled())));
+        final EventDispatcher dispatcher = EventDispatcherFactory.create(eventType, listeners);
+        Assertions.assertNotNull(dispatcher);
+
+        final List<String> loop = this.dispatchLoop(listeners, new TestEvent());
+        Assertions.assertEquals(loop, this.dispatchGenerated(dispatcher, new TestEvent()));
+        Assertions.assertTrue(loop.contains("seen:true"));
+    }
+
+    @Test
+    public void testGeneratesForAnonymousEventTypes() {
+        final TestEvent anonymous = new TestEvent() {
+        };
+        @SuppressWarnings("unchecked")
+        final EventType<TestEvent> eventType = new EventType<>((Class<TestEvent>) anonymous.getClass());
+        final List<RegisteredListener<?>> listeners = this.listeners(eventType);
+
+        final EventDispatcher first = EventDispatcherFactory.create(eventType, listeners);
+        final EventDispatcher second = EventDispatcherFactory.create(eventType, listeners);
+        Assertions.assertNotNull(first);
+        Assertions.assertNotNull(second);
+        final String prefix = "org.spongepowered.common.event.manager.EventDispatcher_EventDispatcherFactoryTest$1_";
+        Assertions.assertTrue(first.getClass().getName().startsWith(prefix), first.getClass().getName());
+        Assertions.assertTrue(second.getClass().getName().startsWith(prefix), second.getClass().getName());
+        Assertions.assertEquals(this.dispatchLoop(listeners, anonymous), this.dispatchGenerated(first, new TestEvent() {
+        }));
+    }
+
+    @Test
+    public void testFallsBackForEmptyListeners() {
+        Assertions.assertNull(EventDispatcherFactory.create(new EventType<>(TestEvent.class), Collections.emptyList()));
+    }
+
+    static class TestEvent extends AbstractEvent implements Cancellable {
+
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(final boolean cancel) {
+            this.cancelled = cancel;
+        }
+
+        @Override
+        public Cause cause() {
+            return Cause.of(EventContext.empty(), this);
+        }
+    }
+}
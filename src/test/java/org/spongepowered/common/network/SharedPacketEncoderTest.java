@@ -0,0 +1,212 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.Connection;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.common.accessor.network.ConnectionAccessor;
+import org.spongepowered.common.accessor.server.network.ServerGamePacketListenerImplAccessor;
+import org.spongepowered.common.adventure.SpongeAdventure;
+import org.spongepowered.common.bridge.network.FriendlyByteBufBridge;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class SharedPacketEncoderTest {
+
+    private final List<EncodedBuf> encoded = new ArrayList<>();
+    private final List<Locale> encodedLocales = new ArrayList<>();
+
+    private SharedPacketEncoder.Encoder encoder(final boolean localized) {
+        return (packet, locale) -> {
+            final EncodedBuf buffer = new EncodedBuf(localized);
+            buffer.writeVarInt(1);
+            buffer.writeUtf(locale.toLanguageTag());
+            this.encoded.add(buffer);
+            this.encodedLocales.add(locale);
+            return buffer;
+        };
+    }
+
+    private static ServerGamePacketListenerImpl listener(final EmbeddedChannel channel, final boolean connected) {
+        channel.attr(Connection.ATTRIBUTE_PROTOCOL).set(ConnectionProtocol.PLAY);
+        final Connection connection = Mockito.mock(Connection.class, Mockito.withSettings().extraInterfaces(ConnectionAccessor.class));
+        Mockito.when(connection.isConnected()).thenReturn(connected);
+        Mockito.when(((ConnectionAccessor) connection).accessor$channel()).thenReturn(channel);
+        Mockito.when(((ConnectionAccessor) connection).accessor$queue()).thenReturn(new ArrayDeque<>());
+        final ServerGamePacketListenerImpl listener = Mockito.mock(ServerGamePacketListenerImpl.class,
+            Mockito.withSettings().extraInterfaces(ServerGamePacketListenerImplAccessor.class));
+        Mockito.when(((ServerGamePacketListenerImplAccessor) listener).accessor$connection()).thenReturn(connection);
+        return listener;
+    }
+
+    private static EmbeddedChannel channel(final @Nullable Locale locale) {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        channel.attr(SpongeAdventure.CHANNEL_LOCALE).set(locale);
+        return channel;
+    }
+
+    private static int releaseOutbound(final EmbeddedChannel channel) {
+        int count = 0;
+        ByteBuf message;
+        while ((message = channel.readOutbound()) != null) {
+            message.release();
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testEncodesOncePerLocale() {
+        final EmbeddedChannel english = SharedPacketEncoderTest.channel(Locale.ENGLISH);
+        final EmbeddedChannel otherEnglish = SharedPacketEncoderTest.channel(Locale.ENGLISH);
+        final EmbeddedChannel german = SharedPacketEncoderTest.channel(Locale.GERMAN);
+        final List<ServerGamePacketListenerImpl> listeners = List.of(
+            SharedPacketEncoderTest.listener(english, true),
+            SharedPacketEncoderTest.listener(otherEnglish, true),
+            SharedPacketEncoderTest.listener(german, true));
+
+        SharedPacketEncoder.send(Mockito.mock(Packet.class), listeners, this.encoder(true));
+
+        Assertions.assertEquals(List.of(Locale.ENGLISH, Locale.GERMAN), this.encodedLocales);
+        for (final ServerGamePacketListenerImpl listener : listeners) {
+            Mockito.verify(listener, Mockito.never()).send(Mockito.any());
+            final ConnectionAccessor connection = (ConnectionAccessor) ((ServerGamePacketListenerImplAccessor) listener).accessor$connection();
+            Mockito.verify(connection).accessor$sentPackets(1);
+        }
+        Assertions.assertEquals(1, SharedPacketEncoderTest.releaseOutbound(english));
+        Assertions.assertEquals(1, SharedPacketEncoderTest.releaseOutbound(otherEnglish));
+        Assertions.assertEquals(1, SharedPacketEncoderTest.releaseOutbound(german));
+    }
+
+    @Test
+    public void testEncodesUnlocalizedPacketsOnce() {
+        final List<ServerGamePacketListenerImpl> listeners = List.of(
+            SharedPacketEncoderTest.listener(SharedPacketEncoderTest.channel(Locale.ENGLISH), true),
+            SharedPacketEncoderTest.listener(SharedPacketEncoderTest.channel(Locale.GERMAN), true),
+            SharedPacketEncoderTest.listener(SharedPacketEncoderTest.channel(null), true));
+
+        SharedPacketEncoder.send(Mockito.mock(Packet.class), listeners, this.encoder(false));
+
+        Assertions.assertEquals(1, this.encoded.size());
+    }
+
+    @Test
+    public void testReleasesBuffers() {
+        final EmbeddedChannel first = SharedPacketEncoderTest.channel(Locale.ENGLISH);
+        final EmbeddedChannel second = SharedPacketEncoderTest.channel(Locale.ENGLISH);
+        final EmbeddedChannel third = SharedPacketEncoderTest.channel(Locale.GERMAN);
+
+        SharedPacketEncoder.send(Mockito.mock(Packet.class), List.of(
+            SharedPacketEncoderTest.listener(first, true),
+            SharedPacketEncoderTest.listener(second, true),
+            SharedPacketEncoderTest.listener(third, true)), this.encoder(true));
+
+        // Only the channels still hold references once sent
+        Assertions.assertEquals(2, this.encoded.get(0).refCnt());
+        Assertions.assertEquals(1, this.encoded.get(1).refCnt());
+        SharedPacketEncoderTest.releaseOutbound(first);
+        SharedPacketEncoderTest.releaseOutbound(second);
+        SharedPacketEncoderTest.releaseOutbound(third);
+        for (final EncodedBuf buffer : this.encoded) {
+            Assertions.assertEquals(0, buffer.refCnt());
+        }
+    }
+
+    @Test
+    public void testFallsBackForDisconnectedListeners() {
+        final EmbeddedChannel connected = SharedPacketEncoderTest.channel(Locale.ENGLISH);
+        final ServerGamePacketListenerImpl disconnected = SharedPacketEncoderTest.listener(SharedPacketEncoderTest.channel(Locale.ENGLISH), false);
+        final Packet<?> packet = Mockito.mock(Packet.class);
+
+        SharedPacketEncoder.send(packet, List.of(disconnected, SharedPacketEncoderTest.listener(connected, true)), this.encoder(false));
+
+        Mockito.verify(disconnected).send(packet);
+        Assertions.assertEquals(1, SharedPacketEncoderTest.releaseOutbound(connected));
+    }
+
+    @Test
+    public void testFallsBackIfPacketCannotBeEncoded() {
+        final ServerGamePacketListenerImpl first = SharedPacketEncoderTest.listener(SharedPacketEncoderTest.channel(Locale.ENGLISH), true);
+        final ServerGamePacketListenerImpl second = SharedPacketEncoderTest.listener(SharedPacketEncoderTest.channel(Locale.GERMAN), true);
+        final Packet<?> packet = Mockito.mock(Packet.class);
+        final List<Locale> attempts = new ArrayList<>();
+
+        SharedPacketEncoder.send(packet, List.of(first, second), (p, locale) -> {
+            attempts.add(locale);
+            return null;
+        });
+
+        // Not retried for other locales
+        Assertions.assertEquals(List.of(Locale.ENGLISH), attempts);
+        Mockito.verify(first).send(packet);
+        Mockito.verify(second).send(packet);
+    }
+
+    @Test
+    public void testOnlyBroadcastsAreShareable() {
+        Assertions.assertTrue(SharedPacketEncoder.isShareable(new ClientboundSystemChatPacket(Component.literal("shared"), false)));
+        Assertions.assertFalse(SharedPacketEncoder.isShareable(Mockito.mock(Packet.class)));
+    }
+
+    private static final class EncodedBuf extends FriendlyByteBuf implements FriendlyByteBufBridge {
+
+        private final boolean localized;
+
+        EncodedBuf(final boolean localized) {
+            super(Unpooled.buffer());
+            this.localized = localized;
+        }
+
+        @Override
+        public void bridge$setLocale(final Locale locale) {
+        }
+
+        @Override
+        public CompoundTag bridge$renderItemComponents(final CompoundTag tag) {
+            return tag;
+        }
+
+        @Override
+        public boolean bridge$isLocalized() {
+            return this.localized;
+        }
+    }
+}
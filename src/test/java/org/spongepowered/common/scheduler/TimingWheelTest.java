@@ -0,0 +1,145 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimingWheelTest {
+
+    private static SpongeScheduledTask createTask(final String name) {
+        final SpongeTask task = new SpongeTask(null, scheduledTask -> {}, 0L, 0L, false, false);
+        return new SpongeScheduledTask(null, task, name);
+    }
+
+    @Test
+    public void testExpiresOnlyDueTasks() {
+        final TimingWheel wheel = new TimingWheel(1L, 0L);
+        final SpongeScheduledTask soon = TimingWheelTest.createTask("soon");
+        final SpongeScheduledTask later = TimingWheelTest.createTask("later");
+        wheel.schedule(soon, 10L);
+        wheel.schedule(later, 100_000L);
+
+        final List<SpongeScheduledTask> expired = new ArrayList<>();
+        wheel.advance(9L, expired);
+        Assertions.assertTrue(expired.isEmpty());
+
+        wheel.advance(10L, expired);
+        Assertions.assertEquals(List.of(soon), expired);
+        Assertions.assertEquals(1, wheel.size());
+
+        expired.clear();
+        wheel.advance(99_999L, expired);
+        Assertions.assertTrue(expired.isEmpty());
+        wheel.advance(250_000L, expired);
+        Assertions.assertEquals(List.of(later), expired);
+        Assertions.assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testDeadlinesRoundUpToResolution() {
+        final TimingWheel wheel = new TimingWheel(50L, 0L);
+        final SpongeScheduledTask task = TimingWheelTest.createTask("task");
+        wheel.schedule(task, 120L);
+
+        final List<SpongeScheduledTask> expired = new ArrayList<>();
+        wheel.advance(149L, expired);
+        Assertions.assertTrue(expired.isEmpty());
+        wheel.advance(150L, expired);
+        Assertions.assertEquals(List.of(task), expired);
+    }
+
+    @Test
+    public void testOverdueTasksExpireImmediately() {
+        final TimingWheel wheel = new TimingWheel(1L, 0L);
+        final List<SpongeScheduledTask> expired = new ArrayList<>();
+        wheel.advance(1_000L, expired);
+
+        final SpongeScheduledTask task = TimingWheelTest.createTask("task");
+        wheel.schedule(task, 500L);
+        Assertions.assertEquals(0L, wheel.nanosUntilNextEvent(1_000L));
+        wheel.advance(1_000L, expired);
+        Assertions.assertEquals(List.of(task), expired);
+    }
+
+    @Test
+    public void testRemove() {
+        final TimingWheel wheel = new TimingWheel(1L, 0L);
+        final SpongeScheduledTask first = TimingWheelTest.createTask("first");
+        final SpongeScheduledTask second = TimingWheelTest.createTask("second");
+        wheel.schedule(first, 5_000L);
+        wheel.schedule(second, 5_000L);
+
+        Assertions.assertTrue(wheel.remove(first));
+        Assertions.assertFalse(wheel.remove(first));
+
+        final List<SpongeScheduledTask> expired = new ArrayList<>();
+        wheel.advance(Long.MAX_VALUE, expired);
+        Assertions.assertEquals(List.of(second), expired);
+    }
+
+    @Test
+    public void testSameDeadlineExpiresInScheduleOrder() {
+        final TimingWheel wheel = new TimingWheel(1L, 0L);
+        final SpongeScheduledTask first = TimingWheelTest.createTask("first");
+        final SpongeScheduledTask second = TimingWheelTest.createTask("second");
+        final SpongeScheduledTask third = TimingWheelTest.createTask("third");
+        final SpongeScheduledTask fourth = TimingWheelTest.createTask("fourth");
+        // The first two are cascaded down from a higher level, the last two
+        // are linked into the lowest level once the deadline is close.
+        wheel.schedule(first, 5_000L);
+        wheel.schedule(second, 5_000L);
+
+        final List<SpongeScheduledTask> expired = new ArrayList<>();
+        wheel.advance(4_995L, expired);
+        Assertions.assertTrue(expired.isEmpty());
+        wheel.schedule(third, 5_000L);
+        wheel.schedule(fourth, 5_000L);
+        Assertions.assertTrue(wheel.remove(third));
+        wheel.schedule(third, 5_000L);
+
+        wheel.advance(5_000L, expired);
+        Assertions.assertEquals(List.of(first, second, fourth, third), expired);
+    }
+
+    @Test
+    public void testNextEventNeverOvershootsDeadline() {
+        final TimingWheel wheel = new TimingWheel(1L, 0L);
+        wheel.schedule(TimingWheelTest.createTask("task"), 1_000_000L);
+
+        long now = 0L;
+        final List<SpongeScheduledTask> expired = new ArrayList<>();
+        while (expired.isEmpty()) {
+            final long wait = wheel.nanosUntilNextEvent(now);
+            Assertions.assertTrue(now + wait <= 1_000_000L);
+            now += Math.max(1L, wait);
+            wheel.advance(now, expired);
+        }
+        Assertions.assertEquals(1_000_000L, now);
+    }
+}
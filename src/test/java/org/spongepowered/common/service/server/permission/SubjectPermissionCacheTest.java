@@ -0,0 +1,132 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.server.permission;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SubjectPermissionCacheTest {
+
+    @Test
+    public void testCachesResolvedValues() {
+        final Map<String, Integer> resolutions = new HashMap<>();
+        final SubjectPermissionCache cache = new SubjectPermissionCache((permission, parts) -> {
+            resolutions.merge(permission, 1, Integer::sum);
+            return permission.startsWith("allowed") ? Tristate.TRUE : Tristate.UNDEFINED;
+        });
+
+        Assertions.assertEquals(Tristate.TRUE, cache.get("allowed.node"));
+        Assertions.assertEquals(Tristate.TRUE, cache.get("allowed.node"));
+        Assertions.assertEquals(Tristate.UNDEFINED, cache.get("other.node"));
+        Assertions.assertEquals(Tristate.UNDEFINED, cache.get("other.node"));
+        Assertions.assertEquals(1, resolutions.get("allowed.node"));
+        Assertions.assertEquals(1, resolutions.get("other.node"));
+    }
+
+    @Test
+    public void testInvalidateAllResolvesAgain() {
+        final Tristate[] value = {Tristate.TRUE};
+        final SubjectPermissionCache cache = new SubjectPermissionCache((permission, parts) -> value[0]);
+
+        Assertions.assertEquals(Tristate.TRUE, cache.get("node"));
+        value[0] = Tristate.FALSE;
+        Assertions.assertEquals(Tristate.TRUE, cache.get("node"));
+        SubjectPermissionCache.invalidateAll();
+        Assertions.assertEquals(Tristate.FALSE, cache.get("node"));
+    }
+
+    @Test
+    public void testValueResolvedDuringInvalidationIsNotStored() {
+        final int[] resolutions = {0};
+        final SubjectPermissionCache cache = new SubjectPermissionCache((permission, parts) -> {
+            if (resolutions[0]++ == 0) {
+                // The data changes while the first resolution is in progress
+                SubjectPermissionCache.invalidateAll();
+                return Tristate.TRUE;
+            }
+            return Tristate.FALSE;
+        });
+
+        Assertions.assertEquals(Tristate.TRUE, cache.get("node"));
+        Assertions.assertEquals(Tristate.FALSE, cache.get("node"));
+        Assertions.assertEquals(Tristate.FALSE, cache.get("node"));
+        Assertions.assertEquals(2, resolutions[0]);
+    }
+
+    @Test
+    public void testSplitNodeIsKeptAcrossInvalidation() {
+        final List<String[]> splits = new ArrayList<>();
+        final SubjectPermissionCache cache = new SubjectPermissionCache((permission, parts) -> {
+            splits.add(parts);
+            return Tristate.TRUE;
+        });
+
+        cache.get("Some.Node");
+        SubjectPermissionCache.invalidateAll();
+        cache.get("Some.Node");
+        Assertions.assertEquals(2, splits.size());
+        Assertions.assertArrayEquals(new String[] {"some", "node"}, splits.get(0));
+        Assertions.assertSame(splits.get(0), splits.get(1));
+    }
+
+    @Test
+    public void testStatsCountHitsAndMisses() {
+        final SubjectPermissionCache cache = new SubjectPermissionCache((permission, parts) -> Tristate.UNDEFINED);
+        final SubjectPermissionCache.Stats before = SubjectPermissionCache.stats();
+        cache.get("first");
+        cache.get("first");
+        cache.get("first");
+        cache.get("second");
+        final SubjectPermissionCache.Stats after = SubjectPermissionCache.stats();
+
+        Assertions.assertEquals(2, after.hits() - before.hits());
+        Assertions.assertEquals(2, after.misses() - before.misses());
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        final int[] resolutions = {0};
+        final SubjectPermissionCache cache = new SubjectPermissionCache((permission, parts) -> {
+            resolutions[0]++;
+            return Tristate.TRUE;
+        });
+        for (int i = 0; i < 10_000; i++) {
+            cache.get("node." + i);
+        }
+        // The most recent node survived the last clear
+        final int resolved = resolutions[0];
+        cache.get("node.9999");
+        Assertions.assertEquals(resolved, resolutions[0]);
+        // The first node was evicted
+        cache.get("node.0");
+        Assertions.assertEquals(resolved + 1, resolutions[0]);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.user;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UserDataWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger retries = new AtomicInteger();
+
+    private static CompoundTag snapshot(final int version) {
+        final CompoundTag tag = new CompoundTag();
+        tag.putInt("version", version);
+        return tag;
+    }
+
+    private static int version(final Path file) throws IOException {
+        try (final InputStream in = Files.newInputStream(file)) {
+            return NbtIo.readCompressed(in).getInt("version");
+        }
+    }
+
+    @Test
+    public void testLatestSnapshotWins() throws IOException {
+        final UserDataWriter writer = new UserDataWriter(1, 16);
+        final UUID uniqueId = UUID.randomUUID();
+        final Path file = this.directory.resolve(uniqueId + ".dat");
+        for (int version = 1; version <= 100; version++) {
+            writer.submit(uniqueId, file, UserDataWriterTest.snapshot(version), this.retries::incrementAndGet);
+        }
+        writer.awaitAll();
+
+        Assertions.assertEquals(100, UserDataWriterTest.version(file));
+        Assertions.assertEquals(0, this.retries.get());
+        final UserDataWriter.Stats stats = writer.stats();
+        Assertions.assertEquals(0, stats.queued());
+        Assertions.assertTrue(stats.written() >= 1 && stats.written() <= 100);
+        Assertions.assertEquals(0, stats.failed());
+    }
+
+    @Test
+    public void testSynchronousWriteSupersedesQueuedSnapshot() throws IOException {
+        final UserDataWriter writer = new UserDataWriter(1, 16);
+        final UUID uniqueId = UUID.randomUUID();
+        final Path file = this.directory.resolve(uniqueId + ".dat");
+        writer.submit(uniqueId, file, UserDataWriterTest.snapshot(1), this.retries::incrementAndGet);
+        writer.write(uniqueId, file, UserDataWriterTest.snapshot(2));
+        writer.awaitAll();
+
+        Assertions.assertEquals(2, UserDataWriterTest.version(file));
+    }
+
+    @Test
+    public void testFailedWriteRetries() {
+        final UserDataWriter writer = new UserDataWriter(1, 16);
+        final UUID uniqueId = UUID.randomUUID();
+        final Path file = this.directory.resolve("missing").resolve(uniqueId + ".dat");
+        writer.submit(uniqueId, file, UserDataWriterTest.snapshot(1), this.retries::incrementAndGet);
+        writer.awaitAll();
+
+        Assertions.assertEquals(1, this.retries.get());
+        Assertions.assertEquals(1, writer.stats().failed());
+        Assertions.assertEquals(0, writer.stats().written());
+        Assertions.assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testFlushBeforeRead() throws IOException {
+        final UserDataWriter writer = new UserDataWriter(1, 16);
+        for (int i = 0; i < 50; i++) {
+            final UUID uniqueId = UUID.randomUUID();
+            final Path file = this.directory.resolve(uniqueId + ".dat");
+            writer.submit(uniqueId, file, UserDataWriterTest.snapshot(i), this.retries::incrementAndGet);
+            writer.flush(uniqueId);
+            // Whether the writer thread or the flush wrote it, the file must be complete now
+            Assertions.assertEquals(i, UserDataWriterTest.version(file));
+        }
+        writer.awaitAll();
+        Assertions.assertEquals(0, this.retries.get());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DurationHistogramTest {
+
+    @Test
+    public void testEmptySnapshot() {
+        final DurationHistogram histogram = new DurationHistogram();
+        Assertions.assertEquals(DurationHistogram.Snapshot.EMPTY, histogram.snapshot());
+        Assertions.assertEquals(0, histogram.snapshot().averageNanos());
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final DurationHistogram histogram = new DurationHistogram();
+        for (int i = 0; i < 8; i++) {
+            histogram.record(i);
+        }
+        final DurationHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(8, snapshot.count());
+        Assertions.assertEquals(28, snapshot.totalNanos());
+        Assertions.assertEquals(7, snapshot.maxNanos());
+        Assertions.assertEquals(3, snapshot.p50Nanos());
+        Assertions.assertEquals(7, snapshot.p99Nanos());
+    }
+
+    @Test
+    public void testNegativeValuesCountAsZero() {
+        final DurationHistogram histogram = new DurationHistogram();
+        histogram.record(-5);
+        final DurationHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(1, snapshot.count());
+        Assertions.assertEquals(0, snapshot.totalNanos());
+        Assertions.assertEquals(0, snapshot.maxNanos());
+    }
+
+    @Test
+    public void testBucketsCoverEveryValue() {
+        long previousBound = -1;
+        for (int shift = 0; shift < Long.SIZE - 1; shift++) {
+            final long value = 1L << shift;
+            for (final long probe : new long[] {value - 1, value, value + (value >> 1), (value << 1) - 1}) {
+                if (probe < 0) {
+                    continue;
+                }
+                final int index = DurationHistogram.index(probe);
+                Assertions.assertTrue(DurationHistogram.upperBound(index) >= probe, "Upper bound below " + probe);
+                if (index > 0) {
+                    Assertions.assertTrue(DurationHistogram.upperBound(index - 1) < probe, "Previous bucket covers " + probe);
+                }
+            }
+            Assertions.assertTrue(DurationHistogram.upperBound(DurationHistogram.index(value)) > previousBound);
+            previousBound = DurationHistogram.upperBound(DurationHistogram.index(value));
+        }
+        Assertions.assertEquals(Long.MAX_VALUE, DurationHistogram.upperBound(DurationHistogram.index(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        final DurationHistogram histogram = new DurationHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000);
+        }
+        final DurationHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(10_000_000, snapshot.maxNanos());
+        // Percentiles report the upper bound of their bucket, at most an eighth above the exact value
+        Assertions.assertTrue(snapshot.p50Nanos() >= 5_000_000 && snapshot.p50Nanos() <= 5_625_000, "p50 " + snapshot.p50Nanos());
+        Assertions.assertTrue(snapshot.p99Nanos() >= 9_900_000 && snapshot.p99Nanos() <= snapshot.maxNanos(), "p99 " + snapshot.p99Nanos());
+    }
+
+    @Test
+    public void testReset() {
+        final DurationHistogram histogram = new DurationHistogram();
+        histogram.record(1_000);
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.count());
+        Assertions.assertEquals(DurationHistogram.Snapshot.EMPTY, histogram.snapshot());
+    }
+}
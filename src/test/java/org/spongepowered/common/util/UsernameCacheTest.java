@@ -0,0 +1,157 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.common.test.UnitTestExtension;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+@ExtendWith(UnitTestExtension.class)
+public class UsernameCacheTest {
+
+    private static final UUID FIRST = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID SECOND = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    @TempDir
+    Path directory;
+
+    private Path journal() {
+        return this.directory.resolve("usernamecache.dat");
+    }
+
+    private UsernameCache reload() {
+        final UsernameCache cache = new UsernameCache(this.directory);
+        cache.load();
+        return cache;
+    }
+
+    @Test
+    public void testJournalReplaysChanges() {
+        final UsernameCache cache = this.reload();
+        cache.setUsername(UsernameCacheTest.FIRST, "Notch");
+        cache.setUsername(UsernameCacheTest.SECOND, "jeb_");
+        cache.save();
+        cache.setUsername(UsernameCacheTest.FIRST, "Markus");
+        cache.removeUsername(UsernameCacheTest.SECOND);
+        cache.save();
+
+        final UsernameCache reloaded = this.reload();
+        Assertions.assertEquals("Markus", reloaded.getLastKnownUsername(UsernameCacheTest.FIRST));
+        Assertions.assertFalse(reloaded.containsUUID(UsernameCacheTest.SECOND));
+        Assertions.assertEquals(UsernameCacheTest.FIRST, reloaded.getLastKnownUUID("markus"));
+        Assertions.assertNull(reloaded.getLastKnownUUID("Notch"));
+        Assertions.assertNull(reloaded.getLastKnownUUID("jeb_"));
+    }
+
+    @Test
+    public void testSaveAppendsOnlyChanges() throws IOException {
+        final UsernameCache cache = this.reload();
+        cache.setUsername(UsernameCacheTest.FIRST, "Notch");
+        cache.save();
+        final long size = Files.size(this.journal());
+
+        cache.setUsername(UsernameCacheTest.FIRST, "Notch");
+        cache.save();
+        Assertions.assertEquals(size, Files.size(this.journal()), "Unchanged usernames are not journaled");
+
+        cache.setUsername(UsernameCacheTest.SECOND, "jeb_");
+        cache.save();
+        // Operation, unique id and the length prefixed name
+        Assertions.assertEquals(size + 1 + 16 + 2 + "jeb_".length(), Files.size(this.journal()));
+    }
+
+    @Test
+    public void testCompactsOnceJournalOutgrowsEntries() throws IOException {
+        final UsernameCache cache = this.reload();
+        for (int i = 0; i <= 10_000; i++) {
+            cache.setUsername(UsernameCacheTest.FIRST, "name" + i);
+        }
+        cache.save();
+
+        // Header and a single record
+        Assertions.assertEquals(8 + 1 + 16 + 2 + "name10000".length(), Files.size(this.journal()));
+        Assertions.assertFalse(Files.exists(this.directory.resolve("usernamecache.dat.tmp")));
+        Assertions.assertEquals("name10000", this.reload().getLastKnownUsername(UsernameCacheTest.FIRST));
+    }
+
+    @Test
+    public void testTruncatedJournalKeepsEarlierRecords() throws IOException {
+        final UsernameCache cache = this.reload();
+        cache.setUsername(UsernameCacheTest.FIRST, "Notch");
+        cache.setUsername(UsernameCacheTest.SECOND, "jeb_");
+        cache.save();
+        try (final FileChannel channel = FileChannel.open(this.journal(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        final UsernameCache reloaded = this.reload();
+        Assertions.assertEquals(1, reloaded.getAll().size());
+        final UUID kept = reloaded.containsUUID(UsernameCacheTest.FIRST) ? UsernameCacheTest.FIRST : UsernameCacheTest.SECOND;
+
+        // The next save rewrites the journal without the partial record
+        reloaded.save();
+        final UsernameCache rewritten = this.reload();
+        Assertions.assertEquals(reloaded.getLastKnownUsername(kept), rewritten.getLastKnownUsername(kept));
+        Assertions.assertEquals(8 + 1 + 16 + 2 + reloaded.getLastKnownUsername(kept).length(), Files.size(this.journal()));
+    }
+
+    @Test
+    public void testMigratesLegacyCache() throws IOException {
+        final Path legacy = this.directory.resolve("usernamecache.json");
+        Files.writeString(legacy, "{\"" + UsernameCacheTest.FIRST + "\":\"Notch\",\"not-a-uuid\":\"jeb_\"}");
+
+        final UsernameCache cache = this.reload();
+        Assertions.assertEquals("Notch", cache.getLastKnownUsername(UsernameCacheTest.FIRST));
+        Assertions.assertEquals(1, cache.getAll().size());
+        Assertions.assertFalse(Files.exists(legacy));
+        Assertions.assertTrue(Files.exists(this.directory.resolve("usernamecache.json.old")));
+
+        Assertions.assertEquals("Notch", this.reload().getLastKnownUsername(UsernameCacheTest.FIRST));
+    }
+
+    @Test
+    public void testLookupFollowsRenames() {
+        final UsernameCache cache = this.reload();
+        cache.setUsername(UsernameCacheTest.FIRST, "Steve");
+        Assertions.assertEquals(UsernameCacheTest.FIRST, cache.getLastKnownUUID("STEVE"));
+
+        cache.setUsername(UsernameCacheTest.SECOND, "steve");
+        Assertions.assertEquals(UsernameCacheTest.SECOND, cache.getLastKnownUUID("Steve"));
+
+        // The name falls back to the other player still known by it
+        cache.setUsername(UsernameCacheTest.SECOND, "Alex");
+        Assertions.assertEquals(UsernameCacheTest.FIRST, cache.getLastKnownUUID("steve"));
+        Assertions.assertEquals(UsernameCacheTest.SECOND, cache.getLastKnownUUID("alex"));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.level.chunk;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.common.util.Constants;
+
+public class TrackedBlockPositionsTest {
+
+    @Test
+    public void testSetAndGet() {
+        final TrackedBlockPositions positions = new TrackedBlockPositions();
+        final BlockPos pos = new BlockPos(17, -40, 35);
+        Assertions.assertFalse(positions.contains(pos));
+        Assertions.assertEquals(-1, positions.creator(pos));
+        Assertions.assertEquals(-1, positions.notifier(pos));
+
+        positions.setCreator(pos, 3);
+        Assertions.assertTrue(positions.contains(pos));
+        Assertions.assertEquals(3, positions.creator(pos));
+        Assertions.assertEquals(-1, positions.notifier(pos));
+
+        positions.setNotifier(pos, 7);
+        Assertions.assertEquals(3, positions.creator(pos));
+        Assertions.assertEquals(7, positions.notifier(pos));
+
+        // Positions are chunk local, so the same offset in another chunk is the same entry
+        Assertions.assertEquals(3, positions.creator(new BlockPos(1, -40, 3)));
+        Assertions.assertFalse(positions.contains(new BlockPos(1, -39, 3)));
+    }
+
+    @Test
+    public void testClearingBothTrackersRemovesTheEntry() {
+        final TrackedBlockPositions positions = new TrackedBlockPositions();
+        final BlockPos pos = new BlockPos(0, 64, 0);
+        positions.set(pos, 1, 2);
+        positions.setCreator(pos, -1);
+        Assertions.assertTrue(positions.contains(pos));
+        positions.setNotifier(pos, -1);
+        Assertions.assertFalse(positions.contains(pos));
+        Assertions.assertTrue(positions.isEmpty());
+    }
+
+    @Test
+    public void testWriteReadRoundTrip() {
+        final TrackedBlockPositions positions = new TrackedBlockPositions();
+        final BlockPos low = new BlockPos(15, -64, 0);
+        final BlockPos high = new BlockPos(0, 319, 15);
+        final BlockPos creatorOnly = new BlockPos(8, 70, 8);
+        positions.set(low, 0, 1);
+        positions.set(high, Integer.MAX_VALUE, 2);
+        positions.setCreator(creatorOnly, 5);
+
+        final CompoundTag spongeData = new CompoundTag();
+        positions.write(spongeData);
+        final TrackedBlockPositions read = TrackedBlockPositions.read(spongeData);
+
+        Assertions.assertEquals(3, read.size());
+        Assertions.assertEquals(0, read.creator(low));
+        Assertions.assertEquals(1, read.notifier(low));
+        Assertions.assertEquals(Integer.MAX_VALUE, read.creator(high));
+        Assertions.assertEquals(2, read.notifier(high));
+        Assertions.assertEquals(5, read.creator(creatorOnly));
+        Assertions.assertEquals(-1, read.notifier(creatorOnly));
+    }
+
+    @Test
+    public void testReadEmpty() {
+        Assertions.assertTrue(TrackedBlockPositions.read(new CompoundTag()).isEmpty());
+    }
+
+    @Test
+    public void testMigratesLegacyTable() {
+        final BlockPos shortPos = new BlockPos(3, 64, 12);
+        final BlockPos intPos = new BlockPos(9, 300, 4);
+        final BlockPos notifierOnly = new BlockPos(0, 10, 0);
+
+        final ListTag legacy = new ListTag();
+        final CompoundTag shortEntry = new CompoundTag();
+        shortEntry.putShort("pos", Constants.Sponge.blockPosToShort(shortPos));
+        shortEntry.putInt("owner", 4);
+        shortEntry.putInt("notifier", 6);
+        legacy.add(shortEntry);
+        final CompoundTag intEntry = new CompoundTag();
+        intEntry.putInt("ipos", Constants.Sponge.blockPosToInt(intPos));
+        intEntry.putInt("owner", 8);
+        legacy.add(intEntry);
+        final CompoundTag notifierEntry = new CompoundTag();
+        notifierEntry.putShort("pos", Constants.Sponge.blockPosToShort(notifierOnly));
+        notifierEntry.putInt("notifier", 2);
+        legacy.add(notifierEntry);
+        final CompoundTag spongeData = new CompoundTag();
+        spongeData.put(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, legacy);
+
+        final TrackedBlockPositions read = TrackedBlockPositions.read(spongeData);
+        Assertions.assertEquals(3, read.size());
+        Assertions.assertEquals(4, read.creator(shortPos));
+        Assertions.assertEquals(6, read.notifier(shortPos));
+        Assertions.assertEquals(8, read.creator(intPos));
+        Assertions.assertEquals(-1, read.notifier(intPos));
+        Assertions.assertEquals(-1, read.creator(notifierOnly));
+        Assertions.assertEquals(2, read.notifier(notifierOnly));
+
+        // Once migrated, the new format is written
+        final CompoundTag rewritten = new CompoundTag();
+        read.write(rewritten);
+        Assertions.assertTrue(rewritten.contains(Constants.Sponge.TrackedBlocks.TAG));
+        Assertions.assertEquals(3, TrackedBlockPositions.read(rewritten).size());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.server;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.spongepowered.api.ResourceKey;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class WorldFileOperationsTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(final String name, final int size) throws IOException {
+        final Path file = this.directory.resolve("world").resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, new byte[size]);
+    }
+
+    @Test
+    public void testBeginRefusesBusyWorlds() {
+        final WorldFileOperations operations = new WorldFileOperations();
+        final ResourceKey key = Mockito.mock(ResourceKey.class);
+        final ResourceKey copyKey = Mockito.mock(ResourceKey.class);
+
+        final WorldFileOperations.Operation operation = operations.begin(WorldFileOperations.Kind.COPY, key, copyKey);
+        Assertions.assertNotNull(operation);
+        Assertions.assertTrue(operations.isBusy(key));
+        Assertions.assertTrue(operations.isBusy(copyKey));
+        Assertions.assertNull(operations.begin(WorldFileOperations.Kind.DELETE, copyKey));
+
+        operations.end(operation);
+        Assertions.assertFalse(operations.isBusy(key));
+        Assertions.assertNotNull(operations.begin(WorldFileOperations.Kind.DELETE, copyKey));
+    }
+
+    @Test
+    public void testCopyDirectoryRunsOffThread() throws Exception {
+        this.write("level.dat", 100);
+        this.write("region/r.0.0.mca", 4096);
+        this.write("region/r.0.1.mca", 8192);
+        this.write("level.dat_old", 100);
+        this.write("dimensions/nested/level.dat", 100);
+
+        final WorldFileOperations operations = new WorldFileOperations();
+        final WorldFileOperations.Operation operation = operations.begin(WorldFileOperations.Kind.COPY,
+            Mockito.mock(ResourceKey.class), Mockito.mock(ResourceKey.class));
+        final Path target = this.directory.resolve("copy");
+
+        final Thread caller = Thread.currentThread();
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> copy = operations.copyDirectory(operation, this.directory.resolve("world"), target,
+            dir -> {
+                threads.add(Thread.currentThread());
+                return !dir.getFileName().toString().equals("dimensions");
+            },
+            file -> {
+                threads.add(Thread.currentThread());
+                try {
+                    // Keeps the copy running until the caller had the chance to look at it
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return !file.getFileName().toString().equals("level.dat_old");
+            });
+
+        // The call returns before any file was looked at
+        Assertions.assertFalse(copy.isDone());
+        Assertions.assertEquals(0, operation.processedBytes());
+        release.countDown();
+        copy.get(10, TimeUnit.SECONDS);
+
+        Assertions.assertFalse(threads.isEmpty());
+        Assertions.assertFalse(threads.contains(caller));
+        Assertions.assertEquals(100 + 4096 + 8192, operation.totalBytes());
+        Assertions.assertEquals(operation.totalBytes(), operation.processedBytes());
+        Assertions.assertEquals(8192, Files.size(target.resolve("region/r.0.1.mca")));
+        Assertions.assertTrue(Files.exists(target.resolve("level.dat")));
+        Assertions.assertFalse(Files.exists(target.resolve("level.dat_old")));
+        Assertions.assertFalse(Files.exists(target.resolve("dimensions")));
+    }
+
+    @Test
+    public void testCopyDirectoryReportsFailure() {
+        final WorldFileOperations operations = new WorldFileOperations();
+        final WorldFileOperations.Operation operation = operations.begin(WorldFileOperations.Kind.COPY,
+            Mockito.mock(ResourceKey.class), Mockito.mock(ResourceKey.class));
+
+        final CompletableFuture<Void> copy = operations.copyDirectory(operation, this.directory.resolve("missing"),
+            this.directory.resolve("copy"), dir -> true, file -> true);
+
+        Assertions.assertThrows(Exception.class, () -> copy.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, operation.processedBytes());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import com.mojang.serialization.Dynamic;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.common.util.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class PlayerUniqueIdTableTest {
+
+    private static Dynamic<Tag> dynamic(final CompoundTag data) {
+        return new Dynamic<>(NbtOps.INSTANCE, data);
+    }
+
+    private static List<UUID> uniqueIds(final int count) {
+        final List<UUID> uniqueIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            uniqueIds.add(UUID.randomUUID());
+        }
+        return uniqueIds;
+    }
+
+    @Test
+    public void testIndicesAreDenseAndStable() {
+        final PlayerUniqueIdTable table = new PlayerUniqueIdTable();
+        final List<UUID> uniqueIds = PlayerUniqueIdTableTest.uniqueIds(1000);
+        for (int i = 0; i < uniqueIds.size(); i++) {
+            Assertions.assertEquals(i, table.indexOf(uniqueIds.get(i)));
+        }
+        for (int i = 0; i < uniqueIds.size(); i++) {
+            Assertions.assertEquals(i, table.indexOf(uniqueIds.get(i)));
+            Assertions.assertEquals(uniqueIds.get(i), table.get(i));
+        }
+        Assertions.assertEquals(1000, table.size());
+        Assertions.assertNull(table.get(-1));
+        Assertions.assertNull(table.get(1000));
+    }
+
+    @Test
+    public void testIndexRoundTrip() {
+        final PlayerUniqueIdTable table = new PlayerUniqueIdTable();
+        final List<UUID> uniqueIds = PlayerUniqueIdTableTest.uniqueIds(100);
+        uniqueIds.forEach(table::indexOf);
+
+        final CompoundTag data = new CompoundTag();
+        table.write(data);
+        Assertions.assertTrue(data.contains(Constants.Sponge.SPONGE_PLAYER_UUID_INDEX, Constants.NBT.TAG_LONG_ARRAY));
+
+        final PlayerUniqueIdTable read = new PlayerUniqueIdTable();
+        read.read(PlayerUniqueIdTableTest.dynamic(data));
+        Assertions.assertEquals(100, read.size());
+        for (int i = 0; i < uniqueIds.size(); i++) {
+            Assertions.assertEquals(uniqueIds.get(i), read.get(i));
+            Assertions.assertEquals(i, read.indexOf(uniqueIds.get(i)));
+        }
+    }
+
+    @Test
+    public void testMigratesUniqueIdList() {
+        final List<UUID> uniqueIds = PlayerUniqueIdTableTest.uniqueIds(10);
+        final ListTag list = new ListTag();
+        uniqueIds.forEach(uniqueId -> list.add(NbtUtils.createUUID(uniqueId)));
+        final CompoundTag data = new CompoundTag();
+        data.put("player-uuid-table", list);
+
+        final PlayerUniqueIdTable table = new PlayerUniqueIdTable();
+        table.read(PlayerUniqueIdTableTest.dynamic(data));
+        Assertions.assertEquals(10, table.size());
+        for (int i = 0; i < uniqueIds.size(); i++) {
+            Assertions.assertEquals(uniqueIds.get(i), table.get(i));
+        }
+
+        final CompoundTag written = new CompoundTag();
+        table.write(written);
+        Assertions.assertFalse(written.contains("player-uuid-table"));
+        Assertions.assertEquals(20, written.getLongArray(Constants.Sponge.SPONGE_PLAYER_UUID_INDEX).length);
+    }
+
+    @Test
+    public void testMigratesLegacyCompoundTable() {
+        final List<UUID> uniqueIds = PlayerUniqueIdTableTest.uniqueIds(10);
+        final ListTag list = new ListTag();
+        for (final UUID uniqueId : uniqueIds) {
+            final CompoundTag entry = new CompoundTag();
+            entry.putLong(Constants.UUID_MOST, uniqueId.getMostSignificantBits());
+            entry.putLong(Constants.UUID_LEAST, uniqueId.getLeastSignificantBits());
+            list.add(entry);
+        }
+        final CompoundTag data = new CompoundTag();
+        data.put(Constants.Sponge.LEGACY_SPONGE_PLAYER_UUID_TABLE, list);
+
+        final PlayerUniqueIdTable table = new PlayerUniqueIdTable();
+        table.read(PlayerUniqueIdTableTest.dynamic(data));
+        Assertions.assertEquals(10, table.size());
+        for (int i = 0; i < uniqueIds.size(); i++) {
+            Assertions.assertEquals(uniqueIds.get(i), table.get(i));
+        }
+    }
+
+    @Test
+    public void testIndexTakesPrecedenceOverLegacyList() {
+        final PlayerUniqueIdTable source = new PlayerUniqueIdTable();
+        final UUID indexed = UUID.randomUUID();
+        source.indexOf(indexed);
+        final CompoundTag data = new CompoundTag();
+        source.write(data);
+        final ListTag list = new ListTag();
+        list.add(NbtUtils.createUUID(UUID.randomUUID()));
+        data.put("player-uuid-table", list);
+
+        final PlayerUniqueIdTable table = new PlayerUniqueIdTable();
+        table.read(PlayerUniqueIdTableTest.dynamic(data));
+        Assertions.assertEquals(1, table.size());
+        Assertions.assertEquals(indexed, table.get(0));
+    }
+
+    @Test
+    public void testConcurrentIndexOf() throws Exception {
+        final PlayerUniqueIdTable table = new PlayerUniqueIdTable();
+        final List<UUID> uniqueIds = PlayerUniqueIdTableTest.uniqueIds(2000);
+        final ConcurrentHashMap<UUID, Integer> assigned = new ConcurrentHashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (final UUID uniqueId : uniqueIds) {
+                        final int index = table.indexOf(uniqueId);
+                        final Integer previous = assigned.putIfAbsent(uniqueId, index);
+                        Assertions.assertTrue(previous == null || previous == index, "Unique id got two indices");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(2000, table.size());
+        assigned.forEach((uniqueId, index) -> Assertions.assertEquals(uniqueId, table.get(index)));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.volume;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.spongepowered.math.vector.Vector3i;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ChunkSectionWalkerTest {
+
+    @SuppressWarnings("unchecked")
+    private static LevelChunkSection section(final int bottomY, final BlockState state) {
+        final PalettedContainer<BlockState> states = Mockito.mock(PalettedContainer.class);
+        Mockito.when(states.get(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt())).thenReturn(state);
+        final LevelChunkSection section = Mockito.mock(LevelChunkSection.class);
+        Mockito.when(section.bottomBlockY()).thenReturn(bottomY);
+        Mockito.when(section.getStates()).thenReturn(states);
+        return section;
+    }
+
+    private static ChunkAccess chunk(final int chunkX, final int chunkZ, final LevelChunkSection... sections) {
+        final ChunkAccess chunk = Mockito.mock(ChunkAccess.class);
+        Mockito.when(chunk.getPos()).thenReturn(new ChunkPos(chunkX, chunkZ));
+        Mockito.when(chunk.getSections()).thenReturn(sections);
+        return chunk;
+    }
+
+    @Test
+    public void testStreamedPositionsAreDistinct() {
+        final BlockState state = Mockito.mock(BlockState.class);
+        final ChunkAccess chunk = ChunkSectionWalkerTest.chunk(1, -1,
+            ChunkSectionWalkerTest.section(0, state), ChunkSectionWalkerTest.section(16, state));
+        final ChunkSectionWalker walker = new ChunkSectionWalker(new Vector3i(16, 0, -16), new Vector3i(31, 31, -1));
+
+        final List<BlockPos> positions = walker.streamBlocks(chunk).map(Map.Entry::getKey).collect(Collectors.toList());
+        Assertions.assertEquals(16 * 16 * 32, positions.size());
+        Assertions.assertEquals(positions.size(), new HashSet<>(positions).size(), "Every streamed position is distinct");
+        positions.forEach(pos -> Assertions.assertFalse(pos instanceof BlockPos.MutableBlockPos));
+        Assertions.assertEquals(new BlockPos(16, 0, -16), positions.get(0));
+        Assertions.assertEquals(new BlockPos(31, 31, -1), positions.get(positions.size() - 1));
+    }
+
+    @Test
+    public void testStreamMatchesWalk() {
+        final BlockState state = Mockito.mock(BlockState.class);
+        final ChunkAccess chunk = ChunkSectionWalkerTest.chunk(0, 0,
+            ChunkSectionWalkerTest.section(-16, state), ChunkSectionWalkerTest.section(0, state), ChunkSectionWalkerTest.section(16, state));
+        final ChunkSectionWalker walker = new ChunkSectionWalker(new Vector3i(3, -5, 2), new Vector3i(9, 20, 4));
+
+        final Set<BlockPos> walked = new HashSet<>();
+        walker.walkBlocks(chunk, null, (x, y, z, visited) -> walked.add(new BlockPos(x, y, z)));
+        final Set<BlockPos> streamed = walker.streamBlocks(chunk).map(Map.Entry::getKey).collect(Collectors.toSet());
+        Assertions.assertEquals(7 * 26 * 3, walked.size());
+        Assertions.assertEquals(walked, streamed);
+    }
+}
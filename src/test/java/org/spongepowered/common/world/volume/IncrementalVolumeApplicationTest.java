@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.volume;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.entity.EntityArchetype;
+import org.spongepowered.api.world.volume.MutableVolume;
+import org.spongepowered.api.world.volume.stream.VolumeCollector;
+import org.spongepowered.api.world.volume.stream.VolumeCollectors;
+import org.spongepowered.api.world.volume.stream.VolumeElement;
+import org.spongepowered.api.world.volume.stream.VolumePositionTranslators;
+import org.spongepowered.math.vector.Vector3d;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class IncrementalVolumeApplicationTest {
+
+    private final MutableVolume volume = Mockito.mock(MutableVolume.class);
+
+    private static List<EntityArchetype> archetypes(final int count) {
+        return Stream.generate(() -> Mockito.mock(EntityArchetype.class)).limit(count).collect(Collectors.toList());
+    }
+
+    private IncrementalVolumeApplication<MutableVolume, MutableVolume, EntityArchetype> application(
+        final List<EntityArchetype> archetypes, final Predicate<EntityArchetype> spawns
+    ) {
+        final Stream<VolumeElement<MutableVolume, EntityArchetype>> elements = archetypes.stream()
+            .map(archetype -> VolumeElement.<MutableVolume, EntityArchetype>of(() -> this.volume, () -> archetype, Vector3d.ZERO));
+        final SpongeVolumeStream<MutableVolume, EntityArchetype> stream = new SpongeVolumeStream<>(elements, () -> this.volume);
+        // Stands in for spawning the archetype into a world, reporting the spawned entity if any
+        final VolumeCollector<MutableVolume, EntityArchetype, Optional<EntityArchetype>> collector = VolumeCollectors.of(
+            this.volume,
+            VolumePositionTranslators.identity(),
+            (target, element) -> spawns.test(element.type()) ? Optional.of(element.type()) : Optional.empty()
+        );
+        return new IncrementalVolumeApplication<>(stream, stream.toStream().iterator(), collector, Duration.ofMillis(50), 2, true, null);
+    }
+
+    @Test
+    public void testUnspawnedEntitiesAreCountedAsFailed() {
+        final List<EntityArchetype> archetypes = IncrementalVolumeApplicationTest.archetypes(5);
+        final EntityArchetype rejected = archetypes.get(3);
+        final IncrementalVolumeApplication<?, ?, ?> application = this.application(archetypes, archetype -> archetype != rejected);
+
+        application.step(Long.MAX_VALUE);
+        Assertions.assertEquals(2, application.applied());
+        Assertions.assertFalse(application.isDone());
+
+        application.step(Long.MAX_VALUE);
+        application.step(Long.MAX_VALUE);
+        Assertions.assertTrue(application.isDone());
+        Assertions.assertEquals(4, application.applied());
+        Assertions.assertEquals(1, application.failed());
+        Assertions.assertEquals(4L, application.future().join());
+    }
+
+    @Test
+    public void testSequenceRunsStagesInOrder() {
+        final List<IncrementalVolumeApplication<?, ?, ?>> stages = new ArrayList<>();
+        final List<Supplier<? extends IncrementalVolumeApplication<?, ?, ?>>> suppliers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            suppliers.add(() -> {
+                final IncrementalVolumeApplication<?, ?, ?> stage = this.application(IncrementalVolumeApplicationTest.archetypes(2), archetype -> true);
+                stages.add(stage);
+                return stage;
+            });
+        }
+        final SequentialVolumeApplication sequence = SequentialVolumeApplication.start(suppliers, 4);
+        Assertions.assertEquals(1, stages.size());
+        Assertions.assertEquals(4, sequence.total());
+
+        stages.get(0).step(Long.MAX_VALUE);
+        Assertions.assertEquals(2, sequence.applied());
+        stages.get(0).step(Long.MAX_VALUE);
+        Assertions.assertEquals(2, stages.size(), "The next stage starts once the previous one completed");
+
+        stages.get(1).step(Long.MAX_VALUE);
+        stages.get(1).step(Long.MAX_VALUE);
+        Assertions.assertTrue(sequence.isDone());
+        Assertions.assertEquals(4L, sequence.future().join());
+        Assertions.assertEquals(4, sequence.applied());
+    }
+
+    @Test
+    public void testCancellingSequenceCancelsCurrentStage() {
+        final List<IncrementalVolumeApplication<?, ?, ?>> stages = new ArrayList<>();
+        final Supplier<? extends IncrementalVolumeApplication<?, ?, ?>> supplier = () -> {
+            final IncrementalVolumeApplication<?, ?, ?> stage = this.application(IncrementalVolumeApplicationTest.archetypes(4), archetype -> true);
+            stages.add(stage);
+            return stage;
+        };
+        final SequentialVolumeApplication sequence = SequentialVolumeApplication.start(List.of(supplier, supplier), 8);
+        stages.get(0).step(Long.MAX_VALUE);
+
+        sequence.future().cancel(false);
+        Assertions.assertTrue(stages.get(0).future().isCancelled());
+        Assertions.assertEquals(1, stages.size(), "No stage starts after cancellation");
+        Assertions.assertThrows(CancellationException.class, () -> sequence.future().join());
+        Assertions.assertEquals(2, sequence.applied());
+    }
+}